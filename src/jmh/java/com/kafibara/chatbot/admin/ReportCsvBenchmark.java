@@ -0,0 +1,78 @@
+package com.kafibara.chatbot.admin;
+
+import com.kafibara.chatbot.chat.entity.Chat;
+import com.kafibara.chatbot.chat.entity.Thread;
+import com.kafibara.chatbot.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리자 CSV 보고서 행 생성: formatCsvRow(String.format) 와 escapeCsv
+ * 질문/답변은 실제 대화처럼 따옴표와 줄바꿈이 섞인 한글 텍스트, answerLength 는 답변 글자 수
+ * 실행: ./gradlew jmh -Pjmh.includes=ReportCsvBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ReportCsvBenchmark {
+
+    private static final int ROWS = 100;
+
+    @Param({"200", "2000", "8000"})
+    private int answerLength;
+
+    private final ReportService reportService = new ReportService(null);
+
+    private List<Chat> chats;
+    private String answer;
+
+    @Setup
+    public void setUp() {
+        String paragraph = "Spring 에서 \"트랜잭션 전파\"는 REQUIRED 가 기본값입니다.\n"
+            + "예: @Transactional(propagation = Propagation.REQUIRES_NEW), 별도 트랜잭션으로 실행됩니다.\n";
+        StringBuilder builder = new StringBuilder(answerLength + paragraph.length());
+        while (builder.length() < answerLength) {
+            builder.append(paragraph);
+        }
+        answer = builder.substring(0, answerLength);
+
+        chats = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            User user = User.builder()
+                .id((long) i % 10)
+                .email("user" + i % 10 + "@kafibara.com")
+                .name("사용자 \"" + i % 10 + "\"")
+                .build();
+            Thread thread = Thread.builder()
+                .id((long) i / 5)
+                .user(user)
+                .build();
+            chats.add(Chat.builder()
+                .id((long) i)
+                .thread(thread)
+                .question("질문 " + i + ": \"@Transactional\" 을 private 메서드에 붙이면 왜 동작하지 않나요?\n코드도 보여주세요.")
+                .answer(answer)
+                .model("gpt-4o")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i))
+                .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void formatCsvRow(Blackhole blackhole) {
+        for (Chat chat : chats) {
+            blackhole.consume(reportService.formatCsvRow(chat));
+        }
+    }
+
+    @Benchmark
+    public String escapeCsv() {
+        return ReportService.escapeCsv(answer);
+    }
+}
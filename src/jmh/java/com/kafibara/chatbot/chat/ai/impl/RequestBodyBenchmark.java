@@ -0,0 +1,173 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 제공자 요청 본문 직렬화: 기존 Map 트리 + ObjectMapper vs JsonGenerator 직접 작성
+ * 두 방식 모두 WebClient 와 같은 풀링 버퍼에 쓰고 해제하므로, gc.alloc.rate.norm 차이가 요청당 힙 할당 차이
+ * 실행: ./gradlew jmh -Pjmh.includes=RequestBodyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RequestBodyBenchmark {
+
+    private static final List<String> SAFETY_CATEGORIES = List.of(
+        "HARM_CATEGORY_HARASSMENT", "HARM_CATEGORY_HATE_SPEECH",
+        "HARM_CATEGORY_SEXUALLY_EXPLICIT", "HARM_CATEGORY_DANGEROUS_CONTENT");
+
+    @Param({"4", "20", "100"})
+    private int historySize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private List<ChatMessage> history;
+    private String question;
+
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            String content = ("대화 " + i + " 번째 메시지입니다. Spring WebFlux 에서 요청 본문 직렬화 비용을 측정합니다. ").repeat(4);
+            history.add(i % 2 == 0 ? ChatMessage.user(content) : ChatMessage.assistant(content));
+        }
+        question = "이전 대화를 요약하고 다음에 할 일을 알려주세요.";
+    }
+
+    @Benchmark
+    public void openaiMapTree(Blackhole blackhole) throws IOException {
+        consume(blackhole, writeWithMapper(legacyOpenAIBody()));
+    }
+
+    @Benchmark
+    public void openaiStreaming(Blackhole blackhole) throws IOException {
+        consume(blackhole, ProviderRequestWriter.write(bufferFactory, ProviderRequestWriter.sizeHint(question, history),
+            g -> ProviderRequestWriter.writeOpenAI(g, "gpt-4o", history, question, true, 1000)));
+    }
+
+    @Benchmark
+    public void claudeMapTree(Blackhole blackhole) throws IOException {
+        consume(blackhole, writeWithMapper(legacyClaudeBody()));
+    }
+
+    @Benchmark
+    public void claudeStreaming(Blackhole blackhole) throws IOException {
+        consume(blackhole, ProviderRequestWriter.write(bufferFactory, ProviderRequestWriter.sizeHint(question, history),
+            g -> ProviderRequestWriter.writeClaude(g, "claude-3-haiku-20240307", history, question, true, 1000, false)));
+    }
+
+    @Benchmark
+    public void geminiMapTree(Blackhole blackhole) throws IOException {
+        consume(blackhole, writeWithMapper(legacyGeminiBody()));
+    }
+
+    @Benchmark
+    public void geminiStreaming(Blackhole blackhole) throws IOException {
+        consume(blackhole, ProviderRequestWriter.write(bufferFactory, ProviderRequestWriter.sizeHint(question, history),
+            g -> ProviderRequestWriter.writeGemini(g, history, question, 2048, SAFETY_CATEGORIES, "BLOCK_MEDIUM_AND_ABOVE")));
+    }
+
+    // Jackson2JsonEncoder 와 같은 방식: 기본 크기 버퍼를 할당해 ObjectMapper 로 직렬화
+    private DataBuffer writeWithMapper(Object body) throws IOException {
+        DataBuffer buffer = bufferFactory.allocateBuffer(256);
+        try (OutputStream out = buffer.asOutputStream()) {
+            objectMapper.writeValue(out, body);
+        }
+        return buffer;
+    }
+
+    private static void consume(Blackhole blackhole, DataBuffer buffer) {
+        blackhole.consume(buffer.readableByteCount());
+        DataBufferUtils.release(buffer);
+    }
+
+    // 이하 변경 전 buildRequestBody / createGeminiRequest 구현
+
+    private Map<String, Object> legacyOpenAIBody() {
+        var messages = history.stream()
+            .map(msg -> Map.of("role", msg.role(), "content", msg.content()))
+            .collect(Collectors.toList());
+        messages.add(Map.of("role", "user", "content", question));
+
+        return Map.of(
+            "model", "gpt-4o",
+            "messages", messages,
+            "stream", true,
+            "max_tokens", 1000,
+            "temperature", 0.7
+        );
+    }
+
+    private Map<String, Object> legacyClaudeBody() {
+        var messages = history.stream()
+            .map(msg -> Map.of("role", msg.role(), "content", msg.content()))
+            .collect(Collectors.toList());
+        messages.add(Map.of("role", "user", "content", question));
+
+        return Map.of(
+            "model", "claude-3-haiku-20240307",
+            "messages", messages,
+            "stream", true,
+            "max_tokens", 1000
+        );
+    }
+
+    private Map<String, Object> legacyGeminiBody() {
+        Map<String, Object> requestBody = new HashMap<>();
+
+        List<Map<String, Object>> contents = history.stream()
+            .map(message -> {
+                Map<String, Object> geminiMessage = new HashMap<>();
+                geminiMessage.put("role", "user".equals(message.role()) ? "user" : "model");
+                Map<String, Object> parts = new HashMap<>();
+                parts.put("text", message.content());
+                geminiMessage.put("parts", List.of(parts));
+                return geminiMessage;
+            })
+            .collect(Collectors.toList());
+
+        Map<String, Object> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        Map<String, Object> userParts = new HashMap<>();
+        userParts.put("text", question);
+        userMessage.put("parts", List.of(userParts));
+        contents.add(userMessage);
+        requestBody.put("contents", contents);
+
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("temperature", 0.7);
+        generationConfig.put("topK", 40);
+        generationConfig.put("topP", 0.95);
+        generationConfig.put("maxOutputTokens", 2048);
+        requestBody.put("generationConfig", generationConfig);
+
+        List<Map<String, Object>> safetySettings = SAFETY_CATEGORIES.stream()
+            .map(category -> {
+                Map<String, Object> setting = new HashMap<>();
+                setting.put("category", category);
+                setting.put("threshold", "BLOCK_MEDIUM_AND_ABOVE");
+                return setting;
+            })
+            .collect(Collectors.toList());
+        requestBody.put("safetySettings", safetySettings);
+
+        return requestBody;
+    }
+}
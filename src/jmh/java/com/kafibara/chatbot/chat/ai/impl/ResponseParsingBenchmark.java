@@ -0,0 +1,200 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제공자 응답 파싱: 비스트리밍 본문(AsyncResponseParser vs 기존 전체 버퍼링 + Map/JsonNode)과 스트리밍 청크 파서
+ * 비스트리밍 본문은 Netty 수신처럼 8KB 풀링 버퍼로 나눠 전달하며, 버퍼 복사 비용은 두 방식에 같게 포함
+ * 실행: ./gradlew jmh -Pjmh.includes=ResponseParsingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ResponseParsingBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    // 응답 토큰 수 (짧은 답변, 일반 답변, max_tokens 에 가까운 긴 답변)
+    @Param({"100", "1000", "4000"})
+    private int outputTokens;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final OpenAIStreamParser openAIStreamParser = new OpenAIStreamParser();
+    private final ClaudeStreamParser claudeStreamParser = new ClaudeStreamParser();
+
+    private byte[] openAIBody;
+    private byte[] claudeBody;
+    private byte[] geminiBody;
+    private List<String> openAIChunks;
+    private List<String> claudeEvents;
+
+    @Setup
+    public void setUp() {
+        List<String> tokens = new ArrayList<>(outputTokens);
+        for (int i = 0; i < outputTokens; i++) {
+            tokens.add(i % 10 == 9 ? "\n" : (i % 3 == 0 ? " 응답" : " token" + i % 7));
+        }
+        String text = String.join("", tokens);
+
+        openAIBody = bytes(openAICompletion(text));
+        claudeBody = bytes(claudeMessage(text));
+        geminiBody = bytes(geminiResponse(text));
+
+        openAIChunks = new ArrayList<>(tokens.size());
+        claudeEvents = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            ObjectNode chunk = objectMapper.createObjectNode();
+            chunk.put("id", "chatcmpl-bench").put("object", "chat.completion.chunk").put("model", "gpt-4o");
+            ObjectNode choice = chunk.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("delta").put("content", token);
+            choice.putNull("finish_reason");
+            openAIChunks.add(chunk.toString());
+
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("type", "content_block_delta").put("index", 0);
+            event.putObject("delta").put("type", "text_delta").put("text", token);
+            claudeEvents.add(event.toString());
+        }
+    }
+
+    @Benchmark
+    public Object openaiAsync() {
+        return AsyncResponseParser.parse(chunks(openAIBody), OpenAIService.RESPONSE_FIELDS).block();
+    }
+
+    @Benchmark
+    public Object openaiMap() throws IOException {
+        Map<?, ?> response = objectMapper.readValue(join(chunks(openAIBody)), Map.class);
+        Map<?, ?> choice = (Map<?, ?>) ((List<?>) response.get("choices")).get(0);
+        return ((Map<?, ?>) choice.get("message")).get("content");
+    }
+
+    @Benchmark
+    public Object claudeAsync() {
+        return AsyncResponseParser.parse(chunks(claudeBody), ClaudeService.RESPONSE_FIELDS).block();
+    }
+
+    @Benchmark
+    public Object claudeMap() throws IOException {
+        Map<?, ?> response = objectMapper.readValue(join(chunks(claudeBody)), Map.class);
+        Map<?, ?> content = (Map<?, ?>) ((List<?>) response.get("content")).get(0);
+        return content.get("text");
+    }
+
+    @Benchmark
+    public Object geminiAsync() {
+        return AsyncResponseParser.parse(chunks(geminiBody), GeminiService.RESPONSE_FIELDS).block();
+    }
+
+    @Benchmark
+    public Object geminiTree() throws IOException {
+        JsonNode response = objectMapper.readTree(join(chunks(geminiBody)));
+        return response.path("candidates").path(0).path("content").path("parts").path(0).path("text").asText();
+    }
+
+    @Benchmark
+    public void openaiStreamChunks(Blackhole blackhole) {
+        for (String data : openAIChunks) {
+            blackhole.consume(openAIStreamParser.parse(data));
+        }
+    }
+
+    @Benchmark
+    public void claudeStreamEvents(Blackhole blackhole) {
+        for (String data : claudeEvents) {
+            blackhole.consume(claudeStreamParser.parse(data));
+        }
+    }
+
+    // Netty 수신 버퍼처럼 CHUNK_SIZE 단위로 나눈 풀링 버퍼 (구독 시점에 할당)
+    private Flux<DataBuffer> chunks(byte[] body) {
+        return Flux.range(0, (body.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+            .map(index -> {
+                int offset = index * CHUNK_SIZE;
+                int length = Math.min(CHUNK_SIZE, body.length - offset);
+                DataBuffer buffer = bufferFactory.allocateBuffer(length);
+                buffer.write(body, offset, length);
+                return buffer;
+            });
+    }
+
+    // 변경 전 bodyToMono(Map.class) 와 같이 전체 본문을 하나로 모은 뒤 파싱
+    private static byte[] join(Flux<DataBuffer> chunks) {
+        DataBuffer joined = DataBufferUtils.join(chunks).block();
+        try {
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(joined);
+        }
+    }
+
+    private String openAICompletion(String text) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", "chatcmpl-bench").put("object", "chat.completion").put("created", 1_700_000_000L)
+            .put("model", "gpt-4o");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", text);
+        choice.put("finish_reason", "stop");
+        ObjectNode usage = root.putObject("usage");
+        usage.put("prompt_tokens", 1200).put("completion_tokens", outputTokens).put("total_tokens", 1200 + outputTokens);
+        usage.putObject("prompt_tokens_details").put("cached_tokens", 1024);
+        return root.toString();
+    }
+
+    private String claudeMessage(String text) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", "msg_bench").put("type", "message").put("role", "assistant")
+            .put("model", "claude-3-haiku-20240307");
+        root.putArray("content").addObject().put("type", "text").put("text", text);
+        root.put("stop_reason", "end_turn");
+        root.putNull("stop_sequence");
+        ObjectNode usage = root.putObject("usage");
+        usage.put("input_tokens", 176).put("cache_creation_input_tokens", 0).put("cache_read_input_tokens", 1024)
+            .put("output_tokens", outputTokens);
+        return root.toString();
+    }
+
+    private String geminiResponse(String text) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode candidate = root.putArray("candidates").addObject();
+        ObjectNode content = candidate.putObject("content");
+        content.putArray("parts").addObject().put("text", text);
+        content.put("role", "model");
+        candidate.put("finishReason", "STOP").put("index", 0);
+        ArrayNode safetyRatings = candidate.putArray("safetyRatings");
+        for (String category : List.of("HARM_CATEGORY_HARASSMENT", "HARM_CATEGORY_HATE_SPEECH",
+            "HARM_CATEGORY_SEXUALLY_EXPLICIT", "HARM_CATEGORY_DANGEROUS_CONTENT")) {
+            safetyRatings.addObject().put("category", category).put("probability", "NEGLIGIBLE");
+        }
+        root.putObject("usageMetadata").put("promptTokenCount", 1200).put("candidatesTokenCount", outputTokens)
+            .put("totalTokenCount", 1200 + outputTokens);
+        root.put("modelVersion", "gemini-1.5-flash");
+        return root.toString();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kafibara.chatbot.chat.service;
+
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.ai.context.ContextWindowManager;
+import com.kafibara.chatbot.chat.ai.context.TokenCounter;
+import com.kafibara.chatbot.chat.entity.Chat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 히스토리 조립 단계
+ * - toConversationHistory: DB 에서 읽은 Chat 목록을 ChatMessage 로 변환 (캐시 미스)
+ * - cachedHistory: ConversationHistoryCache 적중
+ * - fitContextWindow: 토큰 예산에 맞춰 히스토리 자르기 (저장된 토큰 수 사용)
+ * 실행: ./gradlew jmh -Pjmh.includes=ConversationHistoryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ConversationHistoryBenchmark {
+
+    private static final long THREAD_ID = 1L;
+
+    // 스레드의 저장된 턴 수
+    @Param({"10", "50", "200"})
+    private int turns;
+
+    private final TokenCounter tokenCounter = new TokenCounter();
+    private final ContextWindowManager contextWindowManager = new ContextWindowManager(tokenCounter, 8000, 256, 256, 6);
+
+    private List<Chat> chats;
+    private List<ChatMessage> history;
+    private ConversationHistoryCache cache;
+    private String question;
+
+    @Setup
+    public void setUp() {
+        String questionText = "WebFlux 에서 블로킹 JPA 호출을 boundedElastic 으로 옮기면 어떤 점이 좋아지나요? 예시 코드도 부탁합니다.";
+        String answerText = ("boundedElastic 스케줄러는 블로킹 작업 전용 스레드 풀로, 이벤트 루프 스레드를 막지 않습니다. "
+            + "Mono.fromCallable(() -> repository.findById(id)).subscribeOn(Schedulers.boundedElastic()) 처럼 사용합니다.\n").repeat(6);
+        int questionTokens = tokenCounter.count("gpt-4o", questionText);
+        int answerTokens = tokenCounter.count("gpt-4o", answerText);
+
+        chats = new ArrayList<>(turns);
+        for (int i = 0; i < turns; i++) {
+            chats.add(Chat.builder()
+                .id((long) i)
+                .question(questionText)
+                .answer(answerText)
+                .model("gpt-4o")
+                .questionTokens(questionTokens)
+                .answerTokens(answerTokens)
+                .build());
+        }
+        history = ChatService.toConversationHistory(chats);
+        question = "지금까지 내용을 세 줄로 정리해 주세요.";
+
+        cache = new ConversationHistoryCache(new SimpleMeterRegistry(), 20_000_000L, 5_000_000, Duration.ofMinutes(30));
+        cache.get(THREAD_ID, () -> chats);
+    }
+
+    @Benchmark
+    public List<ChatMessage> toConversationHistory() {
+        return ChatService.toConversationHistory(chats);
+    }
+
+    @Benchmark
+    public List<ChatMessage> cachedHistory() {
+        return cache.get(THREAD_ID, () -> chats);
+    }
+
+    @Benchmark
+    public Object fitContextWindow() {
+        return contextWindowManager.fit("gpt-4o", question, history);
+    }
+}
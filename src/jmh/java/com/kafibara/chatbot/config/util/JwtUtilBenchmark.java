@@ -0,0 +1,46 @@
+package com.kafibara.chatbot.config.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 검증 비용: 요청마다 JwtAuthenticationFilter 가 validateToken 후 getEmailFromToken 으로 두 번 파싱
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtUtilBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JwtUtilBenchmark {
+
+    // application.yml 의 개발용 기본값과 같은 길이의 HS512 키
+    private static final String SECRET =
+        "your-very-long-secret-key-here-make-it-at-least-64-characters-long-for-hs512-algorithm-security-requirements-development-only";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L);
+        token = jwtUtil.generateToken("benchmark.user@kafibara.com", "MEMBER");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public void filterPath(Blackhole blackhole) {
+        if (jwtUtil.validateToken(token)) {
+            blackhole.consume(jwtUtil.getEmailFromToken(token));
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("benchmark.user@kafibara.com", "MEMBER");
+    }
+}
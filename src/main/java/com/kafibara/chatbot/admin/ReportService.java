@@ -68,36 +68,7 @@ public class ReportService {
             
             // 데이터 행
             for (Chat chat : chats) {
-                // LazyInitializationException 방지를 위해 안전하게 접근
-                String threadId = "N/A";
-                String userId = "N/A";
-                String userName = "N/A";
-                String userEmail = "N/A";
-                
-                try {
-                    if (chat.getThread() != null) {
-                        threadId = String.valueOf(chat.getThread().getId());
-                        if (chat.getThread().getUser() != null) {
-                            userId = String.valueOf(chat.getThread().getUser().getId());
-                            userName = chat.getThread().getUser().getName();
-                            userEmail = chat.getThread().getUser().getEmail();
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("LazyInitializationException 발생, 기본값 사용: {}", e.getMessage());
-                }
-                
-                writer.write(String.format("%d,%s,%s,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%s\n",
-                    chat.getId(),
-                    threadId,
-                    userId,
-                    escapeCsv(userName),
-                    escapeCsv(userEmail),
-                    escapeCsv(chat.getQuestion()),
-                    escapeCsv(chat.getAnswer()),
-                    escapeCsv(chat.getModel() != null ? chat.getModel() : ""),
-                    chat.getCreatedAt().format(DATE_FORMATTER)
-                ));
+                writer.write(formatCsvRow(chat));
             }
             
             writer.flush();
@@ -106,7 +77,43 @@ public class ReportService {
         return outputStream.toByteArray();
     }
     
-    private String escapeCsv(String value) {
+    /**
+     * 대화 한 건을 CSV 행으로 변환 (줄바꿈 포함)
+     */
+    String formatCsvRow(Chat chat) {
+        // LazyInitializationException 방지를 위해 안전하게 접근
+        String threadId = "N/A";
+        String userId = "N/A";
+        String userName = "N/A";
+        String userEmail = "N/A";
+        
+        try {
+            if (chat.getThread() != null) {
+                threadId = String.valueOf(chat.getThread().getId());
+                if (chat.getThread().getUser() != null) {
+                    userId = String.valueOf(chat.getThread().getUser().getId());
+                    userName = chat.getThread().getUser().getName();
+                    userEmail = chat.getThread().getUser().getEmail();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("LazyInitializationException 발생, 기본값 사용: {}", e.getMessage());
+        }
+        
+        return String.format("%d,%s,%s,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%s\n",
+            chat.getId(),
+            threadId,
+            userId,
+            escapeCsv(userName),
+            escapeCsv(userEmail),
+            escapeCsv(chat.getQuestion()),
+            escapeCsv(chat.getAnswer()),
+            escapeCsv(chat.getModel() != null ? chat.getModel() : ""),
+            chat.getCreatedAt().format(DATE_FORMATTER)
+        );
+    }
+    
+    static String escapeCsv(String value) {
         if (value == null) {
             return "";
         }
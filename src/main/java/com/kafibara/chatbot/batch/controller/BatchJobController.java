@@ -0,0 +1,77 @@
+package com.kafibara.chatbot.batch.controller;
+
+import com.kafibara.chatbot.batch.dto.BatchJobItemResponse;
+import com.kafibara.chatbot.batch.dto.BatchJobRequest;
+import com.kafibara.chatbot.batch.dto.BatchJobResponse;
+import com.kafibara.chatbot.batch.service.BatchJobService;
+import com.kafibara.chatbot.user.entity.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/batch-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Batch Job", description = "대량 질문 배치 작업 API")
+@SecurityRequirement(name = "bearerAuth")
+public class BatchJobController {
+    
+    private final BatchJobService batchJobService;
+    
+    @PostMapping
+    @Operation(summary = "배치 작업 생성", description = "여러 질문을 하나의 작업으로 등록하고 비동기로 실행합니다.")
+    public ResponseEntity<BatchJobResponse> createJob(
+            @Valid @RequestBody BatchJobRequest request,
+            @AuthenticationPrincipal User user) {
+        
+        BatchJobResponse response = batchJobService.createJob(request, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping
+    @Operation(summary = "배치 작업 목록 조회", description = "사용자의 배치 작업 목록을 조회합니다. 관리자는 모든 작업을 조회할 수 있습니다.")
+    public ResponseEntity<Page<BatchJobResponse>> getJobs(
+            @AuthenticationPrincipal User user,
+            Pageable pageable) {
+        
+        return ResponseEntity.ok(batchJobService.getJobs(user, pageable));
+    }
+    
+    @GetMapping("/{jobId}")
+    @Operation(summary = "배치 작업 진행률 조회", description = "작업 상태와 항목별 처리 현황을 조회합니다.")
+    public ResponseEntity<BatchJobResponse> getJob(
+            @PathVariable Long jobId,
+            @AuthenticationPrincipal User user) {
+        
+        return ResponseEntity.ok(batchJobService.getJob(jobId, user));
+    }
+    
+    @GetMapping(value = "/{jobId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "배치 작업 진행률 스트리밍", description = "작업이 완료될 때까지 진행률을 주기적으로 전달합니다.")
+    public Flux<BatchJobResponse> streamProgress(
+            @PathVariable Long jobId,
+            @AuthenticationPrincipal User user) {
+        
+        return batchJobService.streamProgress(jobId, user);
+    }
+    
+    @GetMapping("/{jobId}/items")
+    @Operation(summary = "배치 작업 결과 조회", description = "항목별 답변과 오류를 요청 순서대로 조회합니다.")
+    public ResponseEntity<Page<BatchJobItemResponse>> getItems(
+            @PathVariable Long jobId,
+            @AuthenticationPrincipal User user,
+            Pageable pageable) {
+        
+        return ResponseEntity.ok(batchJobService.getItems(jobId, user, pageable));
+    }
+}
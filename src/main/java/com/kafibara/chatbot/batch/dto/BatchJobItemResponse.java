@@ -0,0 +1,35 @@
+package com.kafibara.chatbot.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobItemResponse {
+    
+    private Long id;
+    
+    private Integer index;
+    
+    private String question;
+    
+    private String aiService;
+    
+    private String model;
+    
+    private String status;
+    
+    private String answer;
+    
+    private String errorMessage;
+    
+    private Integer attempts;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.kafibara.chatbot.batch.dto;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobRequest {
+    
+    @NotEmpty(message = "요청 목록은 필수입니다.")
+    @Size(max = 10000, message = "한 작업에 최대 10000개의 요청까지 등록할 수 있습니다.")
+    private List<@Valid ChatRequest> requests;
+}
@@ -0,0 +1,32 @@
+package com.kafibara.chatbot.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobResponse {
+    
+    private Long id;
+    
+    private String status;
+    
+    private Integer totalItems;
+    
+    // 대기 + 실행 중
+    private Long pendingItems;
+    
+    private Long succeededItems;
+    
+    private Long failedItems;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,87 @@
+package com.kafibara.chatbot.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "batch_job_items",
+       indexes = @Index(name = "idx_batch_job_items_job_status", columnList = "job_id, status"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    private BatchJob job;
+    
+    // 요청 목록 내 순서 (결과 조회 정렬용)
+    @Column(name = "item_index", nullable = false)
+    private Integer itemIndex;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String question;
+    
+    @Column(name = "ai_service", length = 50)
+    private String aiService;
+    
+    @Column(length = 50)
+    private String model;
+    
+    @Column(name = "max_tokens")
+    private Integer maxTokens;
+    
+    @Column(name = "no_cache", nullable = false)
+    @Builder.Default
+    private Boolean noCache = false;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    @Column(columnDefinition = "TEXT")
+    private String answer;
+    
+    // 실제 응답한 모델
+    @Column(name = "answer_model", length = 50)
+    private String answerModel;
+    
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
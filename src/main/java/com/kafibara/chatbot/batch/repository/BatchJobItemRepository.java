@@ -0,0 +1,25 @@
+package com.kafibara.chatbot.batch.repository;
+
+import com.kafibara.chatbot.batch.entity.BatchJobItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchJobItemRepository extends JpaRepository<BatchJobItem, Long> {
+    
+    Page<BatchJobItem> findByJobIdOrderByItemIndexAsc(Long jobId, Pageable pageable);
+    
+    // 실행/재개 대상 항목 ID (항목 본문은 처리 시점에 하나씩 조회)
+    @Query("SELECT i.id FROM BatchJobItem i WHERE i.job.id = :jobId AND i.status IN :statuses ORDER BY i.itemIndex")
+    List<Long> findIdsByJobIdAndStatusIn(Long jobId, Collection<BatchJobItem.Status> statuses);
+    
+    // 진행률 집계: [status, count]
+    @Query("SELECT i.status, COUNT(i) FROM BatchJobItem i WHERE i.job.id = :jobId GROUP BY i.status")
+    List<Object[]> countByStatus(Long jobId);
+}
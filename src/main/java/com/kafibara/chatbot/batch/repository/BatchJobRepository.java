@@ -0,0 +1,21 @@
+package com.kafibara.chatbot.batch.repository;
+
+import com.kafibara.chatbot.batch.entity.BatchJob;
+import com.kafibara.chatbot.user.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchJobRepository extends JpaRepository<BatchJob, Long> {
+    
+    Page<BatchJob> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    
+    Page<BatchJob> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    
+    List<BatchJob> findByStatusInOrderByCreatedAtAsc(Collection<BatchJob.Status> statuses);
+}
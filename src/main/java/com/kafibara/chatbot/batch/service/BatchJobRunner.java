@@ -0,0 +1,361 @@
+package com.kafibara.chatbot.batch.service;
+
+import com.kafibara.chatbot.batch.entity.BatchJob;
+import com.kafibara.chatbot.batch.entity.BatchJobItem;
+import com.kafibara.chatbot.batch.repository.BatchJobItemRepository;
+import com.kafibara.chatbot.batch.repository.BatchJobRepository;
+import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIServiceFactory;
+import com.kafibara.chatbot.chat.ai.AIServiceGateway;
+import com.kafibara.chatbot.chat.ai.context.ContextWindowManager;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.chat.ratelimit.ChatRateLimiter;
+import com.kafibara.chatbot.config.exception.AIServiceException;
+import com.kafibara.chatbot.config.exception.RateLimitExceededException;
+import com.kafibara.chatbot.user.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 배치 작업 실행기
+ * - 작업은 큐에 쌓아 batch.max-concurrent-jobs 개까지 동시에 실행
+ * - 작업 안에서는 제공자별로 묶어 batch.concurrency.{provider}(기본 batch.concurrency.default) 개까지 동시 호출
+ * - 항목마다 지수 백오프로 재시도하고, 결과는 항목 단위로 즉시 저장 (429 를 제외한 4xx 응답은 재시도하지 않음)
+ * - 항목마다 작업 소유자의 사용자 요청 한도를 한 번, 시도마다 제공자 요청 한도를 차감
+ * - 요청 한도 초과는 Retry-After 만큼 기다렸다가 다시 시도하며 재시도 횟수에 포함하지 않음
+ * - 실행 중 오류로 중단된 작업은 INTERRUPTED 로 저장
+ * - 애플리케이션 시작 시 PENDING/RUNNING/INTERRUPTED 작업을 다시 큐에 넣어 남은 항목부터 이어서 실행
+ */
+@Component
+@Slf4j
+public class BatchJobRunner {
+
+    private static final List<BatchJobItem.Status> UNFINISHED_ITEMS =
+        List.of(BatchJobItem.Status.PENDING, BatchJobItem.Status.RUNNING);
+
+    private static final List<BatchJob.Status> UNFINISHED_JOBS =
+        List.of(BatchJob.Status.PENDING, BatchJob.Status.RUNNING, BatchJob.Status.INTERRUPTED);
+
+    private final BatchJobRepository jobRepository;
+    private final BatchJobItemRepository itemRepository;
+    private final AIServiceFactory aiServiceFactory;
+    private final AIServiceGateway aiServiceGateway;
+    private final ContextWindowManager contextWindowManager;
+    private final ChatRateLimiter chatRateLimiter;
+    private final Scheduler chatPersistenceScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment environment;
+
+    private final int maxConcurrentJobs;
+    private final int defaultConcurrency;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final Duration itemTimeout;
+
+    private final Sinks.Many<Long> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+    private volatile Disposable worker;
+
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+
+    public BatchJobRunner(
+            BatchJobRepository jobRepository,
+            BatchJobItemRepository itemRepository,
+            AIServiceFactory aiServiceFactory,
+            AIServiceGateway aiServiceGateway,
+            ContextWindowManager contextWindowManager,
+            ChatRateLimiter chatRateLimiter,
+            @Qualifier("chatPersistenceScheduler") Scheduler chatPersistenceScheduler,
+            TransactionTemplate transactionTemplate,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.aiServiceFactory = aiServiceFactory;
+        this.aiServiceGateway = aiServiceGateway;
+        this.contextWindowManager = contextWindowManager;
+        this.chatRateLimiter = chatRateLimiter;
+        this.chatPersistenceScheduler = chatPersistenceScheduler;
+        this.transactionTemplate = transactionTemplate;
+        this.environment = environment;
+
+        this.maxConcurrentJobs = environment.getProperty("batch.max-concurrent-jobs", Integer.class, 2);
+        this.defaultConcurrency = environment.getProperty("batch.concurrency.default", Integer.class, 4);
+        this.maxRetries = environment.getProperty("batch.retry.max-attempts", Integer.class, 3);
+        this.minBackoff = environment.getProperty("batch.retry.min-backoff", Duration.class, Duration.ofSeconds(1));
+        this.maxBackoff = environment.getProperty("batch.retry.max-backoff", Duration.class, Duration.ofSeconds(30));
+        this.itemTimeout = environment.getProperty("batch.item-timeout", Duration.class, Duration.ofMinutes(2));
+
+        this.succeededCounter = itemCounter(meterRegistry, "succeeded");
+        this.failedCounter = itemCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * 작업 실행 예약 (이미 대기/실행 중인 작업은 무시)
+     */
+    public void submit(Long jobId) {
+        if (queuedJobs.add(jobId)) {
+            queue.emitNext(jobId, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        worker = queue.asFlux()
+            .flatMap(this::runJob, maxConcurrentJobs)
+            .subscribe();
+
+        List<Long> unfinished = transactionTemplate.execute(status ->
+            jobRepository.findByStatusInOrderByCreatedAtAsc(UNFINISHED_JOBS)
+                .stream()
+                .map(BatchJob::getId)
+                .toList());
+
+        if (unfinished != null && !unfinished.isEmpty()) {
+            log.info("미완료 배치 작업 {}개 재개: {}", unfinished.size(), unfinished);
+            unfinished.forEach(this::submit);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.dispose();
+        }
+    }
+
+    Mono<Void> runJob(Long jobId) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> startJob(jobId)))
+            .subscribeOn(chatPersistenceScheduler)
+            .flatMapMany(start -> Flux.fromIterable(start.itemIds())
+                .flatMap(itemId -> loadWork(itemId, start.owner()), defaultConcurrency))
+            .groupBy(work -> work.service().getServiceName())
+            .flatMap(group -> group.flatMap(this::process, concurrencyOf(group.key())))
+            .then(Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(status -> completeJob(jobId)))
+                .subscribeOn(chatPersistenceScheduler))
+            .onErrorResume(error -> {
+                // 남은 항목은 다음 재시작(또는 재제출) 때 이어서 실행됨
+                log.error("배치 작업 실행 중단 - Job ID: {}, 오류: {}", jobId, error.getMessage(), error);
+                return Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(status -> interruptJob(jobId)))
+                    .subscribeOn(chatPersistenceScheduler)
+                    .onErrorResume(saveError -> {
+                        log.error("배치 작업 중단 상태 저장 실패 - Job ID: {}", jobId, saveError);
+                        return Mono.empty();
+                    })
+                    .then();
+            })
+            .doFinally(signal -> queuedJobs.remove(jobId))
+            .then();
+    }
+
+    private JobStart startJob(Long jobId) {
+        BatchJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == BatchJob.Status.COMPLETED) {
+            return new JobStart(null, List.of());
+        }
+        job.setStatus(BatchJob.Status.RUNNING);
+        jobRepository.save(job);
+
+        List<Long> itemIds = itemRepository.findIdsByJobIdAndStatusIn(jobId, UNFINISHED_ITEMS);
+        log.info("배치 작업 실행 - Job ID: {}, 남은 항목: {}/{}", jobId, itemIds.size(), job.getTotalItems());
+        // 사용자 한도 차감용 (트랜잭션 밖에서 지연 로딩하지 않도록 ID 와 역할만 꺼내 둠)
+        User user = job.getUser();
+        return new JobStart(new Owner(user.getId(), user.getRole()), itemIds);
+    }
+
+    private void completeJob(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() != BatchJob.Status.COMPLETED) {
+                job.setStatus(BatchJob.Status.COMPLETED);
+                job.setCompletedAt(LocalDateTime.now());
+                jobRepository.save(job);
+                log.info("배치 작업 완료 - Job ID: {}", jobId);
+            }
+        });
+    }
+
+    private void interruptJob(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() != BatchJob.Status.COMPLETED) {
+                job.setStatus(BatchJob.Status.INTERRUPTED);
+                jobRepository.save(job);
+            }
+        });
+    }
+
+    /**
+     * 항목 조회 후 호출할 서비스를 결정 (상태 변경은 실제 호출 직전에 process 에서 수행)
+     */
+    private Mono<Work> loadWork(Long itemId, Owner owner) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> itemRepository.findById(itemId)
+                .map(item -> new Work(item, aiServiceFactory.getService(item.getAiService()), owner))
+                .orElse(null)))
+            .subscribeOn(chatPersistenceScheduler);
+    }
+
+    private Mono<Void> process(Work work) {
+        BatchJobItem item = work.item();
+        AIService service = work.service();
+        ChatRequest request = toChatRequest(item, service);
+        AtomicInteger tries = new AtomicInteger();
+
+        // 제공자 한도는 게이트웨이가 캐시/동일 요청 합치기에서 해결되지 않은 호출에만 차감
+        // 확인 뒤 다른 요청이 먼저 토큰을 가져가 게이트웨이에서 거절되면 제공자를 호출하지 않았으므로 시도로 세지 않음
+        Mono<ChatResponse> call = Mono.defer(() -> {
+                tries.incrementAndGet();
+                return aiServiceGateway.generateResponse(service, request, List.of());
+            })
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("AI 응답이 비어 있습니다.")))
+            .timeout(itemTimeout)
+            .doOnError(RateLimitExceededException.class, limited -> tries.decrementAndGet());
+
+        // 사용자 한도는 항목당 한 번, 제공자 한도는 시도마다 호출 전에 대기하고, 실패한 호출만 백오프 재시도 횟수에 포함
+        // 제공자 동시 호출 슬롯과 요청 한도를 얻은 뒤 첫 호출 직전에만 RUNNING 으로 표시
+        Owner owner = work.owner();
+        Mono<Void> userPermit = awaitPermit(item.getId(), "사용자",
+            () -> chatRateLimiter.checkUser(owner.id(), owner.role()));
+        String provider = service.getServiceName();
+        Mono<ChatResponse> attempt = Mono.<Void>fromRunnable(() -> chatRateLimiter.ensureProviderCapacity(provider))
+            .then(Mono.defer(() -> tries.get() == 0 ? markRunning(item.getId()) : Mono.<Void>empty()))
+            .then(call)
+            .retryWhen(rateLimitWait(item.getId(), provider));
+
+        return userPermit.then(attempt
+            .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .filter(BatchJobRunner::isRetryable)
+                .doBeforeRetry(signal -> log.debug("배치 항목 재시도 - Item ID: {}, 시도: {}, 오류: {}",
+                    item.getId(), signal.totalRetries() + 1, signal.failure().getMessage()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure())))
+            .flatMap(response -> saveResult(item.getId(), response, null, tries.get()))
+            .onErrorResume(error -> saveResult(item.getId(), null, error, tries.get()));
+    }
+
+    private Mono<Void> markRunning(Long itemId) {
+        return Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(status ->
+                itemRepository.findById(itemId).ifPresent(item -> {
+                    item.setStatus(BatchJobItem.Status.RUNNING);
+                    itemRepository.save(item);
+                })))
+            .subscribeOn(chatPersistenceScheduler)
+            .then();
+    }
+
+    /**
+     * 요청 한도를 얻을 때까지 Retry-After 만큼 기다리며 반복 (항목 재시도/타임아웃과 별개)
+     */
+    private Mono<Void> awaitPermit(Long itemId, String scope, Runnable check) {
+        return Mono.<Void>fromRunnable(check)
+            .retryWhen(rateLimitWait(itemId, scope));
+    }
+
+    /**
+     * 요청 한도 초과만 Retry-After 만큼 기다렸다가 다시 구독하고, 다른 오류는 그대로 전달
+     */
+    private static Retry rateLimitWait(Long itemId, String scope) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            if (signal.failure() instanceof RateLimitExceededException limited) {
+                log.debug("배치 항목 요청 한도 대기 - Item ID: {}, 한도: {}, 대기: {}",
+                    itemId, scope, limited.getRetryAfter());
+                return Mono.delay(limited.getRetryAfter());
+            }
+            return Mono.error(signal.failure());
+        }));
+    }
+
+    /**
+     * 제공자가 4xx(429 제외)로 거절했거나 요청 자체가 잘못된 경우는 다시 보내도 같은 결과이므로 재시도하지 않음
+     */
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof AIServiceException failure) {
+            return failure.isRetryable();
+        }
+        return !(error instanceof IllegalArgumentException);
+    }
+
+    private Mono<Void> saveResult(Long itemId, ChatResponse response, Throwable error, int tries) {
+        return Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(status ->
+                itemRepository.findById(itemId).ifPresent(item -> {
+                    item.setAttempts(item.getAttempts() + tries);
+                    if (response != null) {
+                        item.setStatus(BatchJobItem.Status.SUCCEEDED);
+                        item.setAnswer(response.getAnswer());
+                        item.setAnswerModel(response.getModel());
+                        item.setErrorMessage(null);
+                        succeededCounter.increment();
+                    } else {
+                        item.setStatus(BatchJobItem.Status.FAILED);
+                        item.setErrorMessage(truncate(error.getMessage()));
+                        failedCounter.increment();
+                        log.warn("배치 항목 실패 - Item ID: {}, 시도: {}, 오류: {}", itemId, tries, error.getMessage());
+                    }
+                    itemRepository.save(item);
+                })))
+            .subscribeOn(chatPersistenceScheduler)
+            .then();
+    }
+
+    private ChatRequest toChatRequest(BatchJobItem item, AIService service) {
+        String model = item.getModel() != null ? item.getModel() : service.getDefaultModel();
+        int maxOutputTokens = contextWindowManager.fit(model, item.getQuestion(), List.of()).maxOutputTokens();
+
+        return ChatRequest.builder()
+            .question(item.getQuestion())
+            .model(item.getModel())
+            .aiService(item.getAiService())
+            .maxTokens(item.getMaxTokens() != null ? Math.min(item.getMaxTokens(), maxOutputTokens) : maxOutputTokens)
+            .noCache(item.getNoCache())
+            .build();
+    }
+
+    private int concurrencyOf(String provider) {
+        return environment.getProperty("batch.concurrency." + provider, Integer.class, defaultConcurrency);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String status) {
+        return Counter.builder("chatbot.batch.items")
+            .description("Processed batch job items")
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+    private record Work(BatchJobItem item, AIService service, Owner owner) {
+    }
+
+    private record Owner(Long id, User.Role role) {
+    }
+
+    private record JobStart(Owner owner, List<Long> itemIds) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.kafibara.chatbot.batch.service;
+
+import com.kafibara.chatbot.batch.dto.BatchJobItemResponse;
+import com.kafibara.chatbot.batch.dto.BatchJobRequest;
+import com.kafibara.chatbot.batch.dto.BatchJobResponse;
+import com.kafibara.chatbot.batch.entity.BatchJob;
+import com.kafibara.chatbot.batch.entity.BatchJobItem;
+import com.kafibara.chatbot.batch.repository.BatchJobItemRepository;
+import com.kafibara.chatbot.batch.repository.BatchJobRepository;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchJobService {
+    
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(2);
+    
+    // 진행률 스트림을 끝내는 상태 (INTERRUPTED 는 재시작 시 이어서 실행되지만 그때까지 진행이 없음)
+    private static final Set<String> PROGRESS_END_STATUSES =
+        Set.of(BatchJob.Status.COMPLETED.name(), BatchJob.Status.INTERRUPTED.name());
+    
+    private final BatchJobRepository jobRepository;
+    private final BatchJobItemRepository itemRepository;
+    private final BatchJobRunner batchJobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler chatPersistenceScheduler;
+    
+    /**
+     * 작업과 항목을 저장한 뒤(커밋 이후) 실행 예약
+     * 사용자 요청 한도는 생성 시 한 번이 아니라 실행 중 항목마다 차감 (BatchJobRunner)
+     */
+    public BatchJobResponse createJob(BatchJobRequest request, User user) {
+        BatchJob saved = transactionTemplate.execute(status -> {
+            BatchJob job = jobRepository.save(BatchJob.builder()
+                .user(user)
+                .totalItems(request.getRequests().size())
+                .build());
+            
+            List<BatchJobItem> items = new ArrayList<>(request.getRequests().size());
+            for (int i = 0; i < request.getRequests().size(); i++) {
+                items.add(toItem(job, i, request.getRequests().get(i)));
+            }
+            itemRepository.saveAll(items);
+            return job;
+        });
+        
+        log.info("배치 작업 생성 - Job ID: {}, 사용자: {}, 항목: {}개", saved.getId(), user.getEmail(), saved.getTotalItems());
+        batchJobRunner.submit(saved.getId());
+        return toResponse(saved);
+    }
+    
+    public Page<BatchJobResponse> getJobs(User user, Pageable pageable) {
+        Page<BatchJob> jobs = user.getRole() == User.Role.ADMIN
+            ? jobRepository.findAllByOrderByCreatedAtDesc(pageable)
+            : jobRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+        
+        return jobs.map(this::toResponse);
+    }
+    
+    public BatchJobResponse getJob(Long jobId, User user) {
+        return toResponse(findAccessibleJob(jobId, user));
+    }
+    
+    public Page<BatchJobItemResponse> getItems(Long jobId, User user, Pageable pageable) {
+        findAccessibleJob(jobId, user);
+        return itemRepository.findByJobIdOrderByItemIndexAsc(jobId, pageable)
+            .map(this::toItemResponse);
+    }
+    
+    /**
+     * 진행률을 주기적으로 전달하고 작업이 완료되거나 중단되면 종료
+     * 권한 확인은 스트림 반환 전에 동기적으로 수행
+     */
+    public Flux<BatchJobResponse> streamProgress(Long jobId, User user) {
+        findAccessibleJob(jobId, user);
+        
+        return Flux.interval(Duration.ZERO, PROGRESS_INTERVAL)
+            .concatMap(tick -> Mono.fromCallable(() -> getJob(jobId, user)).subscribeOn(chatPersistenceScheduler))
+            .takeUntil(progress -> PROGRESS_END_STATUSES.contains(progress.getStatus()));
+    }
+    
+    private BatchJob findAccessibleJob(Long jobId, User user) {
+        BatchJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("배치 작업을 찾을 수 없습니다."));
+        
+        if (user.getRole() != User.Role.ADMIN && !job.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("해당 배치 작업에 접근할 권한이 없습니다.");
+        }
+        return job;
+    }
+    
+    private BatchJobItem toItem(BatchJob job, int index, ChatRequest request) {
+        return BatchJobItem.builder()
+            .job(job)
+            .itemIndex(index)
+            .question(request.getQuestion())
+            .aiService(request.getAiService())
+            .model(request.getModel())
+            .maxTokens(request.getMaxTokens())
+            .noCache(Boolean.TRUE.equals(request.getNoCache()))
+            .build();
+    }
+    
+    private BatchJobResponse toResponse(BatchJob job) {
+        Map<BatchJobItem.Status, Long> counts = new EnumMap<>(BatchJobItem.Status.class);
+        for (Object[] row : itemRepository.countByStatus(job.getId())) {
+            counts.put((BatchJobItem.Status) row[0], (Long) row[1]);
+        }
+        
+        return BatchJobResponse.builder()
+            .id(job.getId())
+            .status(job.getStatus().name())
+            .totalItems(job.getTotalItems())
+            .pendingItems(counts.getOrDefault(BatchJobItem.Status.PENDING, 0L)
+                + counts.getOrDefault(BatchJobItem.Status.RUNNING, 0L))
+            .succeededItems(counts.getOrDefault(BatchJobItem.Status.SUCCEEDED, 0L))
+            .failedItems(counts.getOrDefault(BatchJobItem.Status.FAILED, 0L))
+            .createdAt(job.getCreatedAt())
+            .completedAt(job.getCompletedAt())
+            .build();
+    }
+    
+    private BatchJobItemResponse toItemResponse(BatchJobItem item) {
+        return BatchJobItemResponse.builder()
+            .id(item.getId())
+            .index(item.getItemIndex())
+            .question(item.getQuestion())
+            .aiService(item.getAiService())
+            .model(item.getAnswerModel() != null ? item.getAnswerModel() : item.getModel())
+            .status(item.getStatus().name())
+            .answer(item.getAnswer())
+            .errorMessage(item.getErrorMessage())
+            .attempts(item.getAttempts())
+            .updatedAt(item.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * AI 응답 정확 일치 캐시
+ * 키: 제공자, 모델, 생성 파라미터, 정규화된 질문, 히스토리의 SHA-256
+ */
+@Component
+public class AIResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, CachedAnswer> cache;
+    private final boolean enabled;
+
+    public AIResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${ai.response-cache.maximum-size:10000}") long maximumSize,
+            @Value("${ai.response-cache.ttl:1h}") Duration ttl) {
+        this.enabled = enabled;
+        // maximumSize 초과 시 Caffeine(W-TinyLFU)이 가장 가치가 낮은 항목부터 제거
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        // cache.gets{result=hit|miss} 로 적중률 확인
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ai-responses");
+    }
+
+    /**
+     * 캐시 조회 여부 (요청 단위 우회 플래그 반영)
+     */
+    public boolean isReadable(ChatRequest request) {
+        return enabled && !Boolean.TRUE.equals(request.getNoCache());
+    }
+
+    public CachedAnswer get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 정상 완료된 답변만 호출 (대체 문구/차단 안내를 저장하면 이후 동일 요청이 실패를 성공처럼 재생함)
+     */
+    public void put(String key, String answer, String model) {
+        if (enabled && answer != null && !answer.isEmpty()) {
+            cache.put(key, new CachedAnswer(answer, model));
+        }
+    }
+
+    public String key(AIService service, ChatRequest request, List<ChatMessage> history) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, service.getServiceName());
+            update(digest, request.getModel() != null ? request.getModel() : service.getDefaultModel());
+            update(digest, String.valueOf(request.getMaxTokens()));
+            update(digest, normalize(request.getQuestion()));
+            for (ChatMessage message : history) {
+                update(digest, message.role());
+                update(digest, normalize(message.content()));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 유니코드 정규화(NFC) 후 앞뒤 공백 제거, 연속 공백은 하나로
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(normalized.strip()).replaceAll(" ");
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // 필드 경계 구분자 (연결 결과가 같은 서로 다른 입력 방지)
+        digest.update((byte) 0);
+    }
+
+    /**
+     * 캐시에 보관하는 답변 (요청별 식별자는 제외)
+     */
+    public record CachedAnswer(String answer, String model) {
+
+        public ChatResponse toResponse() {
+            return ChatResponse.builder()
+                .answer(answer)
+                .model(model)
+                .completed(true)
+                .build();
+        }
+    }
+}
@@ -2,9 +2,13 @@ package com.kafibara.chatbot.chat.ai;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 @RequiredArgsConstructor
@@ -12,6 +16,18 @@ import java.util.Map;
 public class AIServiceFactory {
     
     private final Map<String, AIService> aiServices;
+
+    private final ProviderLatencyTracker latencyTracker;
+
+    private final AIServiceResilience resilience;
+
+    // 기본 서비스 우선순위이자 서킷이 열린 서비스의 대체 순서
+    @Value("${ai.fallback-chain:openai,gemini,mock}")
+    private List<String> fallbackChain;
+
+    // priority: 고정 우선순위, latency: 지연/오류율 기반 라우팅
+    @Value("${ai.routing.mode:priority}")
+    private String routingMode;
     
     /**
      * 서비스 이름으로 AI 서비스 반환
@@ -26,34 +42,133 @@ public class AIServiceFactory {
             log.warn("지원하지 않는 AI 서비스: {}. 기본 서비스를 사용합니다.", serviceName);
             return getDefaultService();
         }
+
+        if (!resilience.isCallPermitted(service.getServiceName())) {
+            AIService fallback = getFallbackService(service);
+            if (fallback != null) {
+                log.warn("AI 서비스 {} 의 서킷이 열려 있어 대체 서비스 {} 사용", serviceName, fallback.getServiceName());
+                return fallback;
+            }
+        }
         return service;
     }
     
     /**
-     * 기본 AI 서비스 반환 (우선순위: OpenAI > Gemini > Mock)
+     * 기본 AI 서비스 반환
+     * ai.routing.mode=latency 이면 점수 기반 선택, 아니면 ai.fallback-chain 순서
+     * 두 방식 모두 서킷이 열린 서비스는 건너뜀
      */
     public AIService getDefaultService() {
-        // OpenAI 서비스 우선
-        AIService openaiService = aiServices.get("openai");
-        if (openaiService != null) {
-            return openaiService;
+        if ("latency".equalsIgnoreCase(routingMode)) {
+            AIService routed = selectByLatency();
+            if (routed != null) {
+                return routed;
+            }
         }
-        
-        // Gemini 서비스 차선책
-        AIService geminiService = aiServices.get("gemini");
-        if (geminiService != null) {
-            return geminiService;
+        return getPriorityService();
+    }
+
+    private AIService getPriorityService() {
+        for (String name : fallbackChain) {
+            AIService service = aiServices.get(name);
+            if (service != null && resilience.isCallPermitted(service.getServiceName())) {
+                return service;
+            }
         }
-        
+
+        // 모든 서킷이 열려 있으면 체인의 첫 서비스 (호출 시 거부되어 503 응답)
+        for (String name : fallbackChain) {
+            AIService service = aiServices.get(name);
+            if (service != null) {
+                return service;
+            }
+        }
+
         // Mock 서비스 최후 수단
         AIService mockService = aiServices.get("mock");
         if (mockService != null) {
             return mockService;
         }
-        
+
         throw new IllegalStateException("사용 가능한 AI 서비스를 찾을 수 없습니다.");
     }
+
+    /**
+     * fallback-chain 에서 failed 다음 순서의 호출 가능한 서비스, 없으면 null
+     * failed 가 체인에 없으면 체인 처음부터 탐색
+     */
+    public AIService getFallbackService(AIService failed) {
+        int start = fallbackChain.indexOf(failed.getServiceName()) + 1;
+        for (String name : fallbackChain.subList(start, fallbackChain.size())) {
+            AIService service = aiServices.get(name);
+            if (service != null && service != failed && resilience.isCallPermitted(service.getServiceName())) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * power-of-two-choices: 정상 제공자 중 무작위 두 개를 골라 점수가 낮은 쪽 선택
+     * 항상 최저 점수만 고르면 한 제공자로 트래픽이 몰리므로 무작위 비교로 분산
+     * 정상 제공자가 없으면 null (우선순위 방식으로 대체)
+     */
+    private AIService selectByLatency() {
+        List<AIService> candidates = aiServices.entrySet().stream()
+            .filter(entry -> !"mock".equals(entry.getKey()))
+            .map(Map.Entry::getValue)
+            .filter(this::isAvailable)
+            .toList();
+
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        AIService a = candidates.get(first);
+        AIService b = candidates.get(second);
+        return score(a) <= score(b) ? a : b;
+    }
+
+    /**
+     * primary 를 제외한 정상 제공자 중 점수가 가장 낮은 서비스 (헤징 대상), 없으면 null
+     */
+    public AIService getAlternateService(AIService primary) {
+        return aiServices.entrySet().stream()
+            .filter(entry -> !"mock".equals(entry.getKey()))
+            .map(Map.Entry::getValue)
+            .filter(service -> service != primary)
+            .filter(this::isAvailable)
+            .min(Comparator.comparingDouble(this::score))
+            .orElse(null);
+    }
+
+    private boolean isAvailable(AIService service) {
+        return resilience.isCallPermitted(service.getServiceName())
+            && latencyTracker.isHealthy(service.getServiceName(), service.getDefaultModel());
+    }
+
+    private double score(AIService service) {
+        return latencyTracker.score(service.getServiceName(), service.getDefaultModel());
+    }
     
+    /**
+     * 서비스의 현재 서킷 상태 (CLOSED, OPEN, HALF_OPEN 등)
+     */
+    public String getCircuitState(String serviceName) {
+        AIService service = aiServices.get(serviceName);
+        return service != null ? resilience.getState(service.getServiceName()).name() : null;
+    }
+
     /**
      * 사용 가능한 모든 AI 서비스 목록 반환
      */
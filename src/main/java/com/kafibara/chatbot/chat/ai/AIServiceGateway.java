@@ -0,0 +1,203 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.chat.ratelimit.ChatRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * AIService 호출 진입점
+ * 응답 캐시, 동일 요청 합치기, 제공자 요청 한도, 지연 추적, 헤징, 서킷 브레이커 등 제공자 공통 정책을 AIService 구현체 앞단에서 적용
+ * 제공자 요청 한도는 캐시와 동일 요청 합치기로 해결되지 않아 실제로 제공자를 호출할 때만 차감
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AIServiceGateway {
+
+    // 캐시된 답변을 공백을 유지한 채 단어 단위로 재생
+    private static final Pattern REPLAY_SPLIT = Pattern.compile("(?<=\\s)");
+
+    private final AIResponseCache responseCache;
+    private final InFlightRequestCoalescer coalescer;
+    private final ProviderLatencyTracker latencyTracker;
+    private final HedgingPolicy hedgingPolicy;
+    private final AIServiceResilience resilience;
+    private final AIServiceFactory aiServiceFactory;
+    private final ChatRateLimiter chatRateLimiter;
+
+    public Mono<ChatResponse> generateResponse(AIService service, ChatRequest request, List<ChatMessage> history) {
+        String key = responseCache.key(service, request, history);
+        if (responseCache.isReadable(request)) {
+            var cached = responseCache.get(key);
+            if (cached != null) {
+                log.debug("응답 캐시 적중 - 서비스: {}", service.getServiceName());
+                return Mono.just(cached.toResponse());
+            }
+        }
+
+        String provider = service.getServiceName();
+        String model = modelOf(service, request);
+
+        // 첫 응답이 늦으면 헤지 요청과 경쟁
+        // 정상 완료된 답변만 실제로 응답한 제공자(헤지 대상/대체 서비스일 수 있음)의 키로 캐시
+        Supplier<Mono<ChatResponse>> providerCall = () -> {
+            AtomicReference<AIService> answeredBy = new AtomicReference<>();
+            return Mono.fromRunnable(() -> chatRateLimiter.checkProvider(provider))
+                .then(hedgingPolicy
+                .hedge(provider, model, false,
+                    call(service, request, history, answeredBy).flux(),
+                    () -> call(hedgingPolicy.hedgeTarget(service, request), request, history, answeredBy).flux())
+                .singleOrEmpty()
+                .doOnNext(response -> {
+                    if (response.isCompleted()) {
+                        responseCache.put(keyOf(answeredBy.get(), service, key, request, history),
+                            response.getAnswer(), response.getModel());
+                    }
+                }));
+        };
+
+        // 같은 키의 동시 요청은 하나의 제공자 호출을 공유 (noCache 요청은 단독 호출)
+        return coalescer.isApplicable(request)
+            ? coalescer.coalesce(key, providerCall)
+            : Mono.defer(providerCall);
+    }
+
+    public Flux<String> generateStreamingResponse(AIService service, ChatRequest request, List<ChatMessage> history) {
+        String key = responseCache.key(service, request, history);
+        if (responseCache.isReadable(request)) {
+            var cached = responseCache.get(key);
+            if (cached != null) {
+                log.debug("응답 캐시 적중(스트리밍 재생) - 서비스: {}", service.getServiceName());
+                return Flux.fromArray(REPLAY_SPLIT.split(cached.answer()));
+            }
+        }
+
+        String provider = service.getServiceName();
+        String model = modelOf(service, request);
+
+        // 정상 완료된 스트림만 캐시 (취소/오류 시 부분 응답, 제공자가 미완료로 표시한 안내 문구는 저장하지 않음)
+        // 키와 모델은 첫 토큰을 보낸 제공자 기준 (헤지 대상/대체 서비스가 응답했을 수 있음)
+        Supplier<Flux<String>> providerStream = () -> {
+            StringBuilder answer = new StringBuilder();
+            AtomicReference<AIService> answeredBy = new AtomicReference<>();
+            StreamCompletion completion = new StreamCompletion();
+            return Mono.fromRunnable(() -> chatRateLimiter.checkProvider(provider))
+                .thenMany(hedgingPolicy
+                .hedge(provider, model, true,
+                    stream(service, request, history, answeredBy),
+                    () -> stream(hedgingPolicy.hedgeTarget(service, request), request, history, answeredBy))
+                .doOnNext(answer::append)
+                .doOnComplete(() -> {
+                    AIService answered = answeredBy.get();
+                    if (answered == null || !completion.isCompleted()) {
+                        log.debug("미완료 스트리밍 응답은 캐시하지 않음 - 서비스: {}, 사유: {}",
+                            provider, completion.getIncompleteReason());
+                        return;
+                    }
+                    responseCache.put(keyOf(answered, service, key, request, history),
+                        answer.toString(), modelOf(answered, request));
+                })
+                .contextWrite(context -> StreamCompletion.attach(context, completion)));
+        };
+
+        return coalescer.isApplicable(request)
+            ? coalescer.coalesceStream(key, providerStream)
+            : Flux.defer(providerStream);
+    }
+
+    /**
+     * 제공자 호출 한 건을 서킷 브레이커/격벽으로 감싸고 지연/오류를 기록
+     * 헤지 경쟁에서 취소된 호출은 기록하지 않고, 거부된 호출은 fallback-chain 의 다음 서비스로 넘김
+     */
+    private Mono<ChatResponse> call(AIService service, ChatRequest request, List<ChatMessage> history,
+                                    AtomicReference<AIService> answeredBy) {
+        String provider = service.getServiceName();
+        String model = modelOf(service, request);
+
+        Mono<ChatResponse> tracked = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return service.generateResponse(request, history)
+                .doOnNext(response -> {
+                    latencyTracker.recordSuccess(provider, model, System.nanoTime() - start);
+                    answeredBy.compareAndSet(null, service);
+                })
+                .doOnError(error -> latencyTracker.recordFailure(provider, model));
+        });
+
+        return resilience.protect(provider, tracked)
+            .onErrorResume(AIServiceGateway::isRejected, error -> {
+                AIService fallback = aiServiceFactory.getFallbackService(service);
+                if (fallback == null) {
+                    return Mono.error(error);
+                }
+                log.warn("AI 서비스 {} 호출 거부({}), 대체 서비스 {} 사용",
+                    provider, error.getClass().getSimpleName(), fallback.getServiceName());
+                return call(fallback, request, history, answeredBy);
+            });
+    }
+
+    private Flux<String> stream(AIService service, ChatRequest request, List<ChatMessage> history,
+                                AtomicReference<AIService> answeredBy) {
+        String provider = service.getServiceName();
+        String model = modelOf(service, request);
+
+        Flux<String> tracked = Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean firstToken = new AtomicBoolean(true);
+            return service.generateStreamingResponse(request, history)
+                .doOnNext(token -> {
+                    if (firstToken.compareAndSet(true, false)) {
+                        latencyTracker.recordFirstToken(provider, model, System.nanoTime() - start);
+                        answeredBy.compareAndSet(null, service);
+                    }
+                })
+                .doOnComplete(() -> latencyTracker.recordSuccess(provider, model, System.nanoTime() - start))
+                .doOnError(error -> latencyTracker.recordFailure(provider, model));
+        });
+
+        // 거부는 구독 시점에 일어나므로 토큰이 섞이지 않음
+        return resilience.protect(provider, tracked)
+            .onErrorResume(AIServiceGateway::isRejected, error -> {
+                AIService fallback = aiServiceFactory.getFallbackService(service);
+                if (fallback == null) {
+                    return Flux.error(error);
+                }
+                log.warn("AI 서비스 {} 스트리밍 호출 거부({}), 대체 서비스 {} 사용",
+                    provider, error.getClass().getSimpleName(), fallback.getServiceName());
+                return stream(fallback, request, history, answeredBy);
+            });
+    }
+
+    // 서킷 OPEN 또는 격벽 포화로 제공자를 호출하지 않은 경우 (대체 서비스로 넘겨도 안전)
+    private static boolean isRejected(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof BulkheadFullException;
+    }
+
+    /**
+     * 실제로 응답한 제공자의 캐시 키 (요청한 서비스가 응답했으면 조회에 쓴 키 그대로)
+     */
+    private String keyOf(AIService answered, AIService requested, String requestedKey,
+                         ChatRequest request, List<ChatMessage> history) {
+        if (answered == null || answered == requested) {
+            return requestedKey;
+        }
+        return responseCache.key(answered, request, history);
+    }
+
+    private static String modelOf(AIService service, ChatRequest request) {
+        return request.getModel() != null ? request.getModel() : service.getDefaultModel();
+    }
+}
@@ -0,0 +1,89 @@
+package com.kafibara.chatbot.chat.ai;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * AI 제공자별 서킷 브레이커와 동시 호출 격벽(bulkhead)
+ * 설정은 resilience4j.circuitbreaker / resilience4j.bulkhead 의 default(또는 제공자 이름 instance)를 따름
+ * 상태/호출 메트릭은 resilience4j.circuitbreaker.*, 상태 전이는 chatbot.ai.circuit.transition 으로 노출
+ */
+@Component
+@Slf4j
+public class AIServiceResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public AIServiceResilience(
+            Map<String, AIService> aiServices,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+
+        aiServices.values().forEach(service -> {
+            String provider = service.getServiceName();
+            circuitBreakerRegistry.circuitBreaker(provider).getEventPublisher()
+                .onStateTransition(event -> {
+                    var transition = event.getStateTransition();
+                    log.warn("AI 서비스 서킷 상태 전이 - 제공자: {}, {} -> {}",
+                        provider, transition.getFromState(), transition.getToState());
+                    Counter.builder("chatbot.ai.circuit.transition")
+                        .description("AI provider circuit breaker state transitions")
+                        .tag("provider", provider)
+                        .tag("from", transition.getFromState().name())
+                        .tag("to", transition.getToState().name())
+                        .register(meterRegistry)
+                        .increment();
+                });
+            bulkheadRegistry.bulkhead(provider);
+        });
+    }
+
+    public <T> Mono<T> protect(String provider, Mono<T> call) {
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkhead(provider)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(provider)));
+    }
+
+    public <T> Flux<T> protect(String provider, Flux<T> call) {
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkhead(provider)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(provider)));
+    }
+
+    /**
+     * 현재 호출을 받을 수 있는 상태인지 (OPEN/FORCED_OPEN 이 아니고 격벽 여유가 있음)
+     */
+    public boolean isCallPermitted(String provider) {
+        CircuitBreaker.State state = circuitBreaker(provider).getState();
+        boolean open = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+        return !open && bulkhead(provider).getMetrics().getAvailableConcurrentCalls() > 0;
+    }
+
+    public CircuitBreaker.State getState(String provider) {
+        return circuitBreaker(provider).getState();
+    }
+
+    private CircuitBreaker circuitBreaker(String provider) {
+        return circuitBreakerRegistry.circuitBreaker(provider);
+    }
+
+    private Bulkhead bulkhead(String provider) {
+        return bulkheadRegistry.bulkhead(provider);
+    }
+}
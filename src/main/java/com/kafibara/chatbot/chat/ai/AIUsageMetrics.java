@@ -0,0 +1,82 @@
+package com.kafibara.chatbot.chat.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 제공자별 토큰 사용량 및 종료 사유 메트릭
+ */
+@Component
+@RequiredArgsConstructor
+public class AIUsageMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 응답 한 건의 토큰 사용량과 종료 사유 기록
+     */
+    public void recordUsage(String provider, String model, Integer inputTokens, Integer outputTokens, String stopReason) {
+        String modelTag = model != null ? model : "unknown";
+
+        if (inputTokens != null) {
+            tokenCounter(provider, modelTag, "input").increment(inputTokens);
+        }
+        if (outputTokens != null) {
+            tokenCounter(provider, modelTag, "output").increment(outputTokens);
+        }
+
+        Counter.builder("chatbot.ai.stop.reason")
+            .description("AI response stop reasons")
+            .tag("provider", provider)
+            .tag("reason", stopReason != null ? stopReason : "unknown")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * 제공자 프롬프트 캐시 사용량 기록
+     * promptTokens 는 캐시 적중분을 포함한 전체 입력 토큰 (토큰 적중률 = read / prompt)
+     * 요청 단위 적중률은 chatbot.ai.prompt.cache.requests 의 hit / (hit + miss)
+     */
+    public void recordPromptCache(String provider, String model, Integer promptTokens,
+                                  Integer cacheReadTokens, Integer cacheWriteTokens) {
+        if (promptTokens == null) {
+            return;
+        }
+        String modelTag = model != null ? model : "unknown";
+        int read = cacheReadTokens != null ? cacheReadTokens : 0;
+
+        cacheTokenCounter(provider, modelTag, "prompt").increment(promptTokens);
+        cacheTokenCounter(provider, modelTag, "read").increment(read);
+        if (cacheWriteTokens != null) {
+            cacheTokenCounter(provider, modelTag, "write").increment(cacheWriteTokens);
+        }
+
+        Counter.builder("chatbot.ai.prompt.cache.requests")
+            .description("AI requests by provider prompt cache result")
+            .tag("provider", provider)
+            .tag("result", read > 0 ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Counter cacheTokenCounter(String provider, String model, String type) {
+        return Counter.builder("chatbot.ai.prompt.cache.tokens")
+            .description("AI prompt tokens by provider cache usage")
+            .tag("provider", provider)
+            .tag("model", model)
+            .tag("type", type)
+            .register(meterRegistry);
+    }
+
+    private Counter tokenCounter(String provider, String model, String type) {
+        return Counter.builder("chatbot.ai.tokens")
+            .description("AI tokens consumed")
+            .tag("provider", provider)
+            .tag("model", model)
+            .tag("type", type)
+            .register(meterRegistry);
+    }
+}
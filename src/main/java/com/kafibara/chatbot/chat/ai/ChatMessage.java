@@ -2,17 +2,43 @@ package com.kafibara.chatbot.chat.ai;
 
 /**
  * 대화 메시지 DTO
+ * tokens 는 저장 시 계산해 둔 토큰 수 (없으면 null, 필요 시 다시 계산)
+ * tokenModel 은 tokens 를 계산한 모델 (다른 계열 모델로 보낼 때 다시 세거나 보정하는 데 사용, 모르면 null)
  */
-public record ChatMessage(String role, String content) {
+public record ChatMessage(String role, String content, Integer tokens, String tokenModel) {
+    
+    public ChatMessage(String role, String content, Integer tokens) {
+        this(role, content, tokens, null);
+    }
+    
+    public ChatMessage(String role, String content) {
+        this(role, content, null, null);
+    }
     
     public static ChatMessage user(String content) {
         return new ChatMessage("user", content);
     }
     
+    public static ChatMessage user(String content, Integer tokens) {
+        return new ChatMessage("user", content, tokens);
+    }
+    
+    public static ChatMessage user(String content, Integer tokens, String tokenModel) {
+        return new ChatMessage("user", content, tokens, tokenModel);
+    }
+    
     public static ChatMessage assistant(String content) {
         return new ChatMessage("assistant", content);
     }
     
+    public static ChatMessage assistant(String content, Integer tokens) {
+        return new ChatMessage("assistant", content, tokens);
+    }
+    
+    public static ChatMessage assistant(String content, Integer tokens, String tokenModel) {
+        return new ChatMessage("assistant", content, tokens, tokenModel);
+    }
+    
     public static ChatMessage system(String content) {
         return new ChatMessage("system", content);
     }
@@ -0,0 +1,166 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 헤징(hedged request) 정책
+ * 첫 응답이 최근 지연 백분위 임계값 안에 오지 않으면 같은(또는 다른) 제공자로 보조 요청을 보내고
+ * 먼저 신호를 낸 쪽을 사용, 나머지는 취소
+ * 전역 예산(요청 대비 비율)으로 추가 요청 수를 제한
+ */
+@Component
+@Slf4j
+public class HedgingPolicy {
+
+    // 예산은 1/1000 토큰 단위로 관리 (CAS)
+    private static final long UNIT = 1000;
+
+    private final ProviderLatencyTracker latencyTracker;
+    private final AIServiceFactory aiServiceFactory;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final int minSamples;
+    private final Duration minDelay;
+    private final Duration defaultDelay;
+    private final boolean alternateProvider;
+    private final long budgetPerRequest;
+    private final long maxBudget;
+
+    private final AtomicLong budget = new AtomicLong();
+
+    private final Counter firedCounter;
+    private final Counter rejectedCounter;
+    private final Counter wonCounter;
+
+    public HedgingPolicy(
+            ProviderLatencyTracker latencyTracker,
+            AIServiceFactory aiServiceFactory,
+            MeterRegistry meterRegistry,
+            @Value("${ai.hedging.enabled:false}") boolean enabled,
+            @Value("${ai.hedging.percentile:0.95}") double percentile,
+            @Value("${ai.hedging.min-samples:20}") int minSamples,
+            @Value("${ai.hedging.min-delay:500ms}") Duration minDelay,
+            @Value("${ai.hedging.default-delay:3s}") Duration defaultDelay,
+            @Value("${ai.hedging.alternate-provider:false}") boolean alternateProvider,
+            @Value("${ai.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${ai.hedging.budget-burst:10}") int budgetBurst) {
+        this.latencyTracker = latencyTracker;
+        this.aiServiceFactory = aiServiceFactory;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.minDelay = minDelay;
+        this.defaultDelay = defaultDelay;
+        this.alternateProvider = alternateProvider;
+        this.budgetPerRequest = Math.round(budgetRatio * UNIT);
+        this.maxBudget = budgetBurst * UNIT;
+
+        this.firedCounter = hedgeCounter(meterRegistry, "fired");
+        this.rejectedCounter = hedgeCounter(meterRegistry, "budget_exhausted");
+        this.wonCounter = hedgeCounter(meterRegistry, "won");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 보조 요청 대상 서비스
+     * alternate-provider 가 켜져 있고 요청에 모델 지정이 없으면 다른 정상 제공자, 아니면 같은 서비스
+     */
+    public AIService hedgeTarget(AIService primary, ChatRequest request) {
+        if (!alternateProvider || request.getModel() != null) {
+            return primary;
+        }
+        AIService alternate = aiServiceFactory.getAlternateService(primary);
+        return alternate != null ? alternate : primary;
+    }
+
+    /**
+     * primary 가 임계값 안에 첫 신호를 내지 않으면 secondary 를 구독해 경쟁시킴
+     * 먼저 신호(토큰/완료/오류)를 낸 쪽만 전달되고 나머지는 취소됨
+     */
+    public <T> Flux<T> hedge(String provider, String model, boolean streaming,
+                             Flux<T> primary, Supplier<Flux<T>> secondary) {
+        if (!enabled) {
+            return primary;
+        }
+
+        return Flux.defer(() -> {
+            earnBudget();
+            Duration delay = delay(provider, model, streaming);
+
+            Flux<T> hedged = Mono.delay(delay).flatMapMany(tick -> {
+                if (!tryAcquireBudget()) {
+                    rejectedCounter.increment();
+                    log.debug("헤지 예산 소진으로 보조 요청 생략 - 제공자: {}", provider);
+                    return Flux.<T>never();
+                }
+                firedCounter.increment();
+                log.info("첫 응답 지연으로 보조 요청 시작 - 제공자: {}, 모델: {}, 임계값: {}ms",
+                    provider, model, delay.toMillis());
+                return secondary.get().transform(this::countWin);
+            });
+
+            return Flux.firstWithSignal(primary, hedged);
+        });
+    }
+
+    /**
+     * 최근 지연 백분위 기반 임계값 (샘플이 부족하면 기본값, 하한은 min-delay)
+     */
+    private Duration delay(String provider, String model, boolean streaming) {
+        long nanos = latencyTracker.percentile(provider, model, streaming, percentile, minSamples);
+        if (nanos < 0) {
+            return defaultDelay;
+        }
+        Duration threshold = Duration.ofNanos(nanos);
+        return threshold.compareTo(minDelay) < 0 ? minDelay : threshold;
+    }
+
+    // 보조 요청이 먼저 신호를 내면 승리로 집계 (지면 신호 전에 취소됨)
+    private <T> Flux<T> countWin(Flux<T> secondary) {
+        AtomicLong signals = new AtomicLong();
+        return secondary.doOnEach(signal -> {
+            if (!signal.isOnSubscribe() && signals.getAndIncrement() == 0) {
+                wonCounter.increment();
+            }
+        });
+    }
+
+    // 요청 한 건마다 budget-ratio 만큼 적립 (burst 상한)
+    private void earnBudget() {
+        budget.updateAndGet(current -> Math.min(maxBudget, current + budgetPerRequest));
+    }
+
+    private boolean tryAcquireBudget() {
+        while (true) {
+            long current = budget.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("chatbot.ai.hedge")
+            .description("Hedged AI requests")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 키(응답 캐시 키)로 동시에 들어온 요청을 하나의 제공자 호출로 합침 (single-flight)
+ * replay().refCount(1) 로 공유하므로
+ * - 뒤늦게 합류한 스트리밍 구독자는 이미 나온 토큰을 먼저 받고 이후 실시간 토큰을 받음
+ * - 구독자는 각자 취소할 수 있고, 마지막 구독자가 취소할 때만 제공자 호출이 취소됨
+ * noCache 요청은 새 응답을 원하므로 합치지 않음 (ai.coalescing.enabled=false 면 전체 비활성화)
+ */
+@Component
+@Slf4j
+public class InFlightRequestCoalescer {
+
+    private final ConcurrentMap<String, Flux<ChatResponse>> responses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Flux<String>> streams = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final Counter coalescedResponses;
+    private final Counter coalescedStreams;
+
+    public InFlightRequestCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${ai.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.coalescedResponses = Counter.builder("chatbot.ai.coalesced")
+            .description("Requests served by an already in-flight provider call")
+            .tag("type", "response")
+            .register(meterRegistry);
+        this.coalescedStreams = Counter.builder("chatbot.ai.coalesced")
+            .description("Requests served by an already in-flight provider call")
+            .tag("type", "stream")
+            .register(meterRegistry);
+
+        Gauge.builder("chatbot.ai.inflight.shared", this, coalescer -> coalescer.responses.size() + coalescer.streams.size())
+            .description("Distinct in-flight provider calls eligible for coalescing")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 진행 중인 호출에 합류해도 되는 요청인지 (noCache 요청은 항상 단독 호출)
+     */
+    public boolean isApplicable(ChatRequest request) {
+        return enabled && !Boolean.TRUE.equals(request.getNoCache());
+    }
+
+    public Mono<ChatResponse> coalesce(String key, Supplier<Mono<ChatResponse>> call) {
+        return Mono.defer(() -> join(responses, key, () -> call.get().flux(), coalescedResponses))
+            .singleOrEmpty();
+    }
+
+    public Flux<String> coalesceStream(String key, Supplier<Flux<String>> call) {
+        return Flux.defer(() -> join(streams, key, call, coalescedStreams));
+    }
+
+    private <T> Flux<T> join(ConcurrentMap<String, Flux<T>> inFlight, String key,
+                             Supplier<Flux<T>> call, Counter coalescedCounter) {
+        AtomicReference<Flux<T>> created = new AtomicReference<>();
+
+        Flux<T> shared = inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Flux<T>> self = new AtomicReference<>();
+            // 완료/오류/마지막 구독자 취소 시 맵에서 제거 (같은 호출일 때만)
+            Flux<T> flux = Flux.defer(call)
+                .doFinally(signal -> inFlight.remove(k, self.get()))
+                .replay()
+                .refCount(1);
+            self.set(flux);
+            created.set(flux);
+            return flux;
+        });
+
+        if (created.get() == null) {
+            coalescedCounter.increment();
+            log.debug("진행 중인 동일 요청에 합류 - key: {}", key);
+        }
+        return shared;
+    }
+}
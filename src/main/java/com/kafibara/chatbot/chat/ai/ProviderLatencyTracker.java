@@ -0,0 +1,179 @@
+package com.kafibara.chatbot.chat.ai;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 제공자/모델별 응답 지연(EWMA), 첫 토큰 지연(TTFT), 오류율 추적
+ * AIServiceGateway 가 실제 제공자 호출 결과를 기록하고, AIServiceFactory 가 라우팅 점수로 사용
+ */
+@Component
+public class ProviderLatencyTracker {
+
+    // 백분위 계산용 최근 샘플 수 (제공자/모델별 링 버퍼)
+    private static final int RECENT_SAMPLES = 256;
+
+    private final MeterRegistry meterRegistry;
+    private final double alpha;
+    private final double errorPenalty;
+    private final double unhealthyErrorRate;
+    private final long halfLifeNanos;
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public ProviderLatencyTracker(
+            MeterRegistry meterRegistry,
+            @Value("${ai.routing.ewma-alpha:0.2}") double alpha,
+            @Value("${ai.routing.error-penalty:5}") double errorPenalty,
+            @Value("${ai.routing.unhealthy-error-rate:0.5}") double unhealthyErrorRate,
+            @Value("${ai.routing.stale-half-life:30s}") Duration staleHalfLife) {
+        this.meterRegistry = meterRegistry;
+        this.alpha = alpha;
+        this.errorPenalty = errorPenalty;
+        this.unhealthyErrorRate = unhealthyErrorRate;
+        this.halfLifeNanos = staleHalfLife.toNanos();
+    }
+
+    public void recordFirstToken(String provider, String model, long nanos) {
+        stats(provider, model).firstToken(nanos);
+    }
+
+    public void recordSuccess(String provider, String model, long nanos) {
+        stats(provider, model).success(nanos);
+    }
+
+    public void recordFailure(String provider, String model) {
+        stats(provider, model).failure();
+    }
+
+    /**
+     * 라우팅 점수 (낮을수록 우선)
+     * 사용자가 첫 응답을 받기까지의 지연(TTFT, 없으면 전체 지연)에 오류율 가중치를 곱함
+     * 샘플이 오래될수록 점수가 반감되어, 트래픽이 끊긴 제공자도 주기적으로 다시 시도됨
+     */
+    public double score(String provider, String model) {
+        Stats s = stats.get(key(provider, model));
+        return s != null ? s.score() : 0;
+    }
+
+    /**
+     * 최근 오류율이 임계값 미만이면 정상으로 판단 (오래된 오류는 반감기에 따라 잊힘)
+     */
+    public boolean isHealthy(String provider, String model) {
+        Stats s = stats.get(key(provider, model));
+        return s == null || s.errorRate() < unhealthyErrorRate;
+    }
+
+    /**
+     * 최근 샘플의 백분위 지연(나노초)
+     * firstToken=true 면 스트리밍 첫 토큰 지연, 아니면 전체 응답 지연 기준
+     * 샘플이 minSamples 보다 적으면 -1
+     */
+    public long percentile(String provider, String model, boolean firstToken, double percentile, int minSamples) {
+        Stats s = stats.get(key(provider, model));
+        return s != null ? s.percentile(firstToken, percentile, minSamples) : -1;
+    }
+
+    private Stats stats(String provider, String model) {
+        return stats.computeIfAbsent(key(provider, model), k -> {
+            Stats created = new Stats();
+            String modelTag = model != null ? model : "unknown";
+            Gauge.builder("chatbot.ai.routing.latency", created, s -> s.latencyMillis())
+                .description("EWMA of AI provider response latency (ms)")
+                .tag("provider", provider).tag("model", modelTag).tag("type", "total")
+                .register(meterRegistry);
+            Gauge.builder("chatbot.ai.routing.latency", created, s -> s.ttftMillis())
+                .description("EWMA of AI provider response latency (ms)")
+                .tag("provider", provider).tag("model", modelTag).tag("type", "ttft")
+                .register(meterRegistry);
+            Gauge.builder("chatbot.ai.routing.error.rate", created, Stats::errorRate)
+                .description("EWMA of AI provider error rate")
+                .tag("provider", provider).tag("model", modelTag)
+                .register(meterRegistry);
+            return created;
+        });
+    }
+
+    private static String key(String provider, String model) {
+        return provider + "/" + model;
+    }
+
+    private final class Stats {
+
+        private double latencyNanos = -1;
+        private double ttftNanos = -1;
+        private double errorRate;
+        private long lastUpdate = System.nanoTime();
+
+        private final long[] recentTtft = new long[RECENT_SAMPLES];
+        private final long[] recentLatency = new long[RECENT_SAMPLES];
+        private long ttftCount;
+        private long latencyCount;
+
+        synchronized void firstToken(long nanos) {
+            ttftNanos = ewma(ttftNanos, nanos);
+            recentTtft[(int) (ttftCount++ % RECENT_SAMPLES)] = nanos;
+            lastUpdate = System.nanoTime();
+        }
+
+        synchronized void success(long nanos) {
+            latencyNanos = ewma(latencyNanos, nanos);
+            recentLatency[(int) (latencyCount++ % RECENT_SAMPLES)] = nanos;
+            errorRate = decay() * errorRate * (1 - alpha);
+            lastUpdate = System.nanoTime();
+        }
+
+        synchronized void failure() {
+            errorRate = decay() * errorRate * (1 - alpha) + alpha;
+            lastUpdate = System.nanoTime();
+        }
+
+        synchronized double score() {
+            double latency = ttftNanos >= 0 ? ttftNanos : Math.max(latencyNanos, 0);
+            return decay() * latency * (1 + errorPenalty * errorRate);
+        }
+
+        synchronized double errorRate() {
+            return decay() * errorRate;
+        }
+
+        synchronized double latencyMillis() {
+            return Math.max(latencyNanos, 0) / 1_000_000d;
+        }
+
+        synchronized double ttftMillis() {
+            return Math.max(ttftNanos, 0) / 1_000_000d;
+        }
+
+        synchronized long percentile(boolean firstToken, double percentile, int minSamples) {
+            long count = firstToken ? ttftCount : latencyCount;
+            if (count < minSamples) {
+                return -1;
+            }
+            int size = (int) Math.min(count, RECENT_SAMPLES);
+            long[] sorted = Arrays.copyOf(firstToken ? recentTtft : recentLatency, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(index, size - 1))];
+        }
+
+        private double ewma(double current, long sample) {
+            return current < 0 ? sample : current + alpha * (sample - current);
+        }
+
+        // 마지막 샘플 이후 경과 시간에 따른 감쇠 계수 (반감기 기준)
+        private double decay() {
+            if (halfLifeNanos <= 0) {
+                return 1;
+            }
+            return Math.pow(0.5, (double) (System.nanoTime() - lastUpdate) / halfLifeNanos);
+        }
+    }
+}
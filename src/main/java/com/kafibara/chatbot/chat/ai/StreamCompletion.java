@@ -0,0 +1,34 @@
+package com.kafibara.chatbot.chat.ai;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 스트리밍 응답이 정상 답변으로 끝났는지 제공자가 게이트웨이에 알리는 표시
+ * 스트림 원소는 토큰 문자열뿐이므로 Reactor Context 로 전달하며,
+ * 차단 안내처럼 답변 대신 보낸 문구는 markIncomplete 로 표시해 응답 캐시에 저장하지 않음
+ */
+public final class StreamCompletion {
+
+    private volatile String incompleteReason;
+
+    public static Context attach(Context context, StreamCompletion completion) {
+        return context.put(StreamCompletion.class, completion);
+    }
+
+    /**
+     * 현재 구독의 표시에 미완료 사유 기록 (게이트웨이를 거치지 않은 호출이면 무시)
+     */
+    public static void markIncomplete(ContextView context, String reason) {
+        context.<StreamCompletion>getOrEmpty(StreamCompletion.class)
+            .ifPresent(completion -> completion.incompleteReason = reason);
+    }
+
+    public boolean isCompleted() {
+        return incompleteReason == null;
+    }
+
+    public String getIncompleteReason() {
+        return incompleteReason;
+    }
+}
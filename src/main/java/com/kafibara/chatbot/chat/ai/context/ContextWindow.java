@@ -0,0 +1,15 @@
+package com.kafibara.chatbot.chat.ai.context;
+
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+
+import java.util.List;
+
+/**
+ * 예산에 맞게 잘라낸 히스토리와 남은 윈도우로 산정한 출력 토큰 한도
+ */
+public record ContextWindow(List<ChatMessage> history,
+                            int questionTokens,
+                            int inputTokens,
+                            int maxOutputTokens,
+                            int droppedMessages) {
+}
@@ -0,0 +1,115 @@
+package com.kafibara.chatbot.chat.ai.context;
+
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 모델별 토큰 예산에 맞춰 대화 히스토리를 자르고 출력 토큰 한도를 산정
+ * 최신 턴부터 거꾸로 담아 예산을 넘기 직전까지만 유지
+ * 오래된 메시지는 trimStep 단위로만 제외해 여러 턴 동안 같은 접두사가 유지되도록 함 (제공자 프롬프트 캐시 적중용)
+ * 저장된 토큰 수가 다른 계열 모델 기준이면 대상 모델 기준으로 보정하거나 다시 계산
+ */
+@Component
+@Slf4j
+public class ContextWindowManager {
+
+    private final TokenCounter tokenCounter;
+    private final int maxHistoryTokens;
+    private final int minOutputTokens;
+    private final int safetyMarginTokens;
+    private final int trimStep;
+
+    public ContextWindowManager(
+            TokenCounter tokenCounter,
+            @Value("${chat.context.max-history-tokens:8000}") int maxHistoryTokens,
+            @Value("${chat.context.min-output-tokens:256}") int minOutputTokens,
+            @Value("${chat.context.safety-margin-tokens:256}") int safetyMarginTokens,
+            @Value("${chat.context.trim-step:6}") int trimStep) {
+        this.tokenCounter = tokenCounter;
+        this.maxHistoryTokens = maxHistoryTokens;
+        this.minOutputTokens = minOutputTokens;
+        this.safetyMarginTokens = safetyMarginTokens;
+        this.trimStep = Math.max(1, trimStep);
+    }
+
+    public ContextWindow fit(String model, String question, List<ChatMessage> history) {
+        ModelSpec spec = ModelSpec.forModel(model);
+        int questionTokens = tokenCounter.count(model, question);
+
+        // 히스토리 예산: 설정 상한과 (윈도우 - 질문 - 최소 출력 - 여유분) 중 작은 값
+        // 질문만으로 윈도우를 채우면 음수가 되므로 0 으로 두고 히스토리 없이 보냄
+        int budget = Math.max(0, Math.min(maxHistoryTokens, spec.contextWindow()
+            - (questionTokens + TokenCounter.MESSAGE_OVERHEAD_TOKENS) - minOutputTokens - safetyMarginTokens));
+        if (budget == 0 && !history.isEmpty()) {
+            log.warn("질문이 컨텍스트 윈도우를 대부분 차지해 히스토리를 모두 제외 - 모델: {}, 질문 토큰: {}",
+                model, questionTokens);
+        }
+
+        int used = 0;
+        int start = history.size();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            int tokens = tokensOf(model, spec, history.get(i));
+            if (used + tokens > budget) {
+                break;
+            }
+            used += tokens;
+            start = i;
+        }
+
+        // 한 턴씩 밀어내면 매 요청마다 접두사가 바뀌어 캐시가 무효화되므로 시작 위치를 trimStep 배수로 올림
+        if (start > 0 && trimStep > 1) {
+            int stepped = Math.min(history.size(), (start + trimStep - 1) / trimStep * trimStep);
+            while (start < stepped) {
+                used -= tokensOf(model, spec, history.get(start));
+                start++;
+            }
+        }
+
+        // 잘린 히스토리가 assistant 메시지로 시작하지 않도록 정렬
+        while (start < history.size() && !"user".equals(history.get(start).role())) {
+            used -= tokensOf(model, spec, history.get(start));
+            start++;
+        }
+
+        List<ChatMessage> kept = start == 0 ? history : history.subList(start, history.size());
+        int inputTokens = questionTokens + TokenCounter.MESSAGE_OVERHEAD_TOKENS + used;
+        int remaining = spec.contextWindow() - inputTokens - safetyMarginTokens;
+        int maxOutputTokens = Math.max(minOutputTokens, Math.min(spec.maxOutputTokens(), remaining));
+
+        if (start > 0) {
+            log.debug("컨텍스트 예산 초과로 오래된 메시지 {}개 제외 - 모델: {}, 입력 토큰: {}, 출력 한도: {}",
+                start, model, inputTokens, maxOutputTokens);
+        }
+
+        return new ContextWindow(kept, questionTokens, inputTokens, maxOutputTokens, start);
+    }
+
+    private int tokensOf(String model, ModelSpec spec, ChatMessage message) {
+        return storedOrCounted(model, spec, message) + TokenCounter.MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    /**
+     * 저장된 토큰 수를 대상 모델 기준으로 환산
+     * 토크나이저가 같고 보정 계수만 다르면 비율로 보정, 토크나이저가 다르면 다시 계산
+     */
+    private int storedOrCounted(String model, ModelSpec spec, ChatMessage message) {
+        if (message.tokens() == null) {
+            return tokenCounter.count(model, message.content());
+        }
+        if (message.tokenModel() == null) {
+            return message.tokens();
+        }
+        ModelSpec counted = ModelSpec.forModel(message.tokenModel());
+        if (counted.encoding() != spec.encoding()) {
+            return tokenCounter.count(model, message.content());
+        }
+        if (counted.tokenScale() != spec.tokenScale()) {
+            return (int) Math.round(message.tokens() * spec.tokenScale() / counted.tokenScale());
+        }
+        return message.tokens();
+    }
+}
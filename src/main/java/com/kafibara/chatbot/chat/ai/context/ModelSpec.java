@@ -0,0 +1,43 @@
+package com.kafibara.chatbot.chat.ai.context;
+
+import com.knuddels.jtokkit.api.EncodingType;
+
+import java.util.List;
+
+/**
+ * 모델 계열별 컨텍스트 윈도우, 요청할 최대 출력 토큰, 토크나이저 정보
+ * Claude/Gemini 는 공개 토크나이저가 없으므로 cl100k 결과에 보정 계수를 곱한 근사치를 사용
+ */
+public record ModelSpec(String prefix,
+                        int contextWindow,
+                        int maxOutputTokens,
+                        EncodingType encoding,
+                        double tokenScale) {
+
+    // 접두사가 긴 항목부터 매칭되도록 정렬
+    private static final List<ModelSpec> SPECS = List.of(
+        new ModelSpec("gpt-4o-mini", 128_000, 1_000, EncodingType.O200K_BASE, 1.0),
+        new ModelSpec("gpt-4o", 128_000, 1_000, EncodingType.O200K_BASE, 1.0),
+        new ModelSpec("gpt-4-turbo", 128_000, 1_000, EncodingType.CL100K_BASE, 1.0),
+        new ModelSpec("gpt-4", 8_192, 1_000, EncodingType.CL100K_BASE, 1.0),
+        new ModelSpec("gpt-3.5-turbo", 16_385, 1_000, EncodingType.CL100K_BASE, 1.0),
+        new ModelSpec("claude-3", 200_000, 1_000, EncodingType.CL100K_BASE, 1.2),
+        new ModelSpec("gemini-2.5", 1_048_576, 2_048, EncodingType.CL100K_BASE, 1.1),
+        new ModelSpec("gemini-1.5", 1_048_576, 2_048, EncodingType.CL100K_BASE, 1.1),
+        new ModelSpec("gemini", 32_760, 2_048, EncodingType.CL100K_BASE, 1.1)
+    );
+
+    private static final ModelSpec DEFAULT = new ModelSpec("", 8_192, 1_000, EncodingType.CL100K_BASE, 1.2);
+
+    public static ModelSpec forModel(String model) {
+        if (model == null) {
+            return DEFAULT;
+        }
+        for (ModelSpec spec : SPECS) {
+            if (model.startsWith(spec.prefix())) {
+                return spec;
+            }
+        }
+        return DEFAULT;
+    }
+}
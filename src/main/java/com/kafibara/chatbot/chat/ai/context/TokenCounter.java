@@ -0,0 +1,28 @@
+package com.kafibara.chatbot.chat.ai.context;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 BPE 토크나이저(jtokkit) 기반 토큰 수 계산
+ */
+@Component
+public class TokenCounter {
+
+    /**
+     * 메시지마다 role/구분자로 추가되는 토큰 (OpenAI 기준 근사치)
+     */
+    public static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+
+    public int count(String model, String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        ModelSpec spec = ModelSpec.forModel(model);
+        int tokens = registry.getEncoding(spec.encoding()).countTokens(text);
+        return (int) Math.ceil(tokens * spec.tokenScale());
+    }
+}
@@ -0,0 +1,165 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 비스트리밍 응답 본문을 전체 버퍼링 없이 파싱
+ * 도착한 DataBuffer 를 Jackson 논블로킹 파서에 바로 밀어 넣고 즉시 해제하며,
+ * 필요한 필드(본문 텍스트, 모델, 사용량, 종료 사유)만 JSON Pointer 경로로 골라 냄
+ */
+final class AsyncResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private AsyncResponseParser() {
+    }
+
+    /**
+     * 제공자별 추출 경로
+     * text 는 정규식(여러 블록이면 순서대로 이어 붙임), 나머지는 정확한 JSON Pointer, 없으면 null
+     */
+    record Fields(Pattern text, String model, String finishReason,
+                  String inputTokens, String outputTokens, String blockReason,
+                  String cacheReadTokens, String cacheWriteTokens) {
+
+        // 값 토큰마다 경로 문자열을 만들지 않도록 마지막 필드 이름으로 먼저 거름
+        Set<String> leafNames() {
+            Set<String> names = new HashSet<>();
+            String textPattern = text.pattern();
+            names.add(textPattern.substring(textPattern.lastIndexOf('/') + 1));
+            for (String pointer : new String[]{model, finishReason, inputTokens, outputTokens, blockReason,
+                cacheReadTokens, cacheWriteTokens}) {
+                if (pointer != null) {
+                    names.add(pointer.substring(pointer.lastIndexOf('/') + 1));
+                }
+            }
+            return names;
+        }
+    }
+
+    /**
+     * 추출 결과 (본문에 없던 필드는 null)
+     */
+    record Result(String text, String model, String finishReason,
+                  Integer inputTokens, Integer outputTokens, String blockReason,
+                  Integer cacheReadTokens, Integer cacheWriteTokens) {
+    }
+
+    static Mono<Result> parse(Flux<DataBuffer> body, Fields fields) {
+        return Mono.using(
+            () -> new Extraction(fields),
+            extraction -> body
+                .doOnNext(buffer -> {
+                    try {
+                        extraction.feed(buffer);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .then(Mono.fromCallable(extraction::finish)),
+            Extraction::close);
+    }
+
+    private static final class Extraction {
+
+        private final Fields fields;
+        private final Set<String> leafNames;
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+
+        private StringBuilder text;
+        private String model;
+        private String finishReason;
+        private Integer inputTokens;
+        private Integer outputTokens;
+        private String blockReason;
+        private Integer cacheReadTokens;
+        private Integer cacheWriteTokens;
+
+        Extraction(Fields fields) throws IOException {
+            this.fields = fields;
+            this.leafNames = fields.leafNames();
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        void feed(DataBuffer buffer) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    feeder.feedInput(chunk);
+                    drain();
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("AI 응답 JSON 파싱 실패: " + e.getMessage(), e);
+            }
+        }
+
+        Result finish() throws IOException {
+            feeder.endOfInput();
+            drain();
+            return new Result(text != null ? text.toString() : null, model, finishReason,
+                inputTokens, outputTokens, blockReason, cacheReadTokens, cacheWriteTokens);
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // 파서는 외부 자원을 잡고 있지 않음
+            }
+        }
+
+        // 현재 입력에서 만들 수 있는 토큰을 모두 소비 (다음 입력 전까지 NOT_AVAILABLE)
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (token.isScalarValue()) {
+                    onValue(token);
+                }
+            }
+        }
+
+        private void onValue(JsonToken token) throws IOException {
+            String name = parser.currentName();
+            if (name == null || !leafNames.contains(name) || token == JsonToken.VALUE_NULL) {
+                return;
+            }
+
+            String pointer = parser.getParsingContext().pathAsPointer().toString();
+            if (fields.text().matcher(pointer).matches()) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(parser.getText());
+            } else if (pointer.equals(fields.model())) {
+                model = parser.getText();
+            } else if (pointer.equals(fields.finishReason())) {
+                finishReason = parser.getText();
+            } else if (pointer.equals(fields.inputTokens()) && token == JsonToken.VALUE_NUMBER_INT) {
+                inputTokens = parser.getIntValue();
+            } else if (pointer.equals(fields.outputTokens()) && token == JsonToken.VALUE_NUMBER_INT) {
+                outputTokens = parser.getIntValue();
+            } else if (pointer.equals(fields.blockReason())) {
+                blockReason = parser.getText();
+            } else if (pointer.equals(fields.cacheReadTokens()) && token == JsonToken.VALUE_NUMBER_INT) {
+                cacheReadTokens = parser.getIntValue();
+            } else if (pointer.equals(fields.cacheWriteTokens()) && token == JsonToken.VALUE_NUMBER_INT) {
+                cacheWriteTokens = parser.getIntValue();
+            }
+        }
+    }
+}
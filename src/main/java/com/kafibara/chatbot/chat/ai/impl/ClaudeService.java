@@ -1,22 +1,29 @@
 package com.kafibara.chatbot.ai.impl;
 
 import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
 import com.kafibara.chatbot.chat.ai.ChatMessage;
 import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.config.exception.AIServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 @Service("claude")
 @ConditionalOnProperty(name = "ai.claude.enabled", havingValue = "true")
@@ -24,49 +31,104 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ClaudeService implements AIService {
     
+    @Qualifier("claudeWebClient")
     private final WebClient webClient;
     
+    private final AIUsageMetrics usageMetrics;
+    
+    private final ClaudeStreamParser streamParser = new ClaudeStreamParser();
+    
     @Value("${ai.claude.api-key}")
     private String apiKey;
     
     @Value("${ai.claude.base-url:https://api.anthropic.com}")
     private String baseUrl;
     
+    @Value("${ai.claude.prompt-cache.enabled:true}")
+    private boolean promptCacheEnabled;
+    
     private static final List<String> SUPPORTED_MODELS = List.of(
         "claude-3-opus-20240229", "claude-3-sonnet-20240229", "claude-3-haiku-20240307"
     );
     
+    private static final int DEFAULT_MAX_TOKENS = 1000;
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+        new ParameterizedTypeReference<>() {};
+    
+    // content 블록이 여러 개면 text 를 순서대로 이어 붙임
+    static final AsyncResponseParser.Fields RESPONSE_FIELDS = new AsyncResponseParser.Fields(
+        Pattern.compile("/content/\\d+/text"), "/model", "/stop_reason",
+        "/usage/input_tokens", "/usage/output_tokens", null,
+        "/usage/cache_read_input_tokens", "/usage/cache_creation_input_tokens");
+    
     @Override
     public Mono<ChatResponse> generateResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
         if (!isApiKeyConfigured()) {
             return Mono.error(new IllegalStateException("Claude API 키가 설정되지 않았습니다."));
         }
         
-        var requestBody = buildRequestBody(request, conversationHistory);
+        var requestBody = requestBody(request, conversationHistory, false);
         
         return webClient.post()
             .uri(baseUrl + "/v1/messages")
-            .header("Authorization", "Bearer " + apiKey)
+            .header("x-api-key", apiKey)
             .header("anthropic-version", "2023-06-01")
             .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(requestBody)
+            .body(requestBody)
             .retrieve()
-            .bodyToMono(Map.class)
-            .map(this::extractResponse)
+            .bodyToFlux(DataBuffer.class)
+            .as(body -> AsyncResponseParser.parse(body, RESPONSE_FIELDS))
+            .map(this::toChatResponse)
             .doOnError(error -> log.error("Claude API 호출 실패", error))
             .onErrorMap(this::handleApiError);
     }
     
     @Override
     public Flux<String> generateStreamingResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
-        // Claude 스트리밍은 현재 간단한 구현으로 대체
-        return generateResponse(request, conversationHistory)
-            .flatMapMany(response -> {
-                String[] words = response.getAnswer().split(" ");
-                return Flux.fromArray(words)
-                    .delayElements(java.time.Duration.ofMillis(100))
-                    .map(word -> word + " ");
-            });
+        if (!isApiKeyConfigured()) {
+            return Flux.error(new IllegalStateException("Claude API 키가 설정되지 않았습니다."));
+        }
+        
+        var requestBody = requestBody(request, conversationHistory, true);
+        
+        // 구독마다 사용량/종료 사유를 모으는 상태를 새로 생성
+        return Flux.defer(() -> {
+            var summary = new StreamSummary();
+            
+            return webClient.post()
+                .uri(baseUrl + "/v1/messages")
+                .header("x-api-key", apiKey)
+                .header("anthropic-version", "2023-06-01")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(requestBody)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .mapNotNull(ServerSentEvent::data)
+                .map(streamParser::parse)
+                .takeUntil(ClaudeStreamParser.Event::isMessageStop)
+                .<String>handle((event, sink) -> {
+                    if (event.isError()) {
+                        sink.error(new IllegalStateException("Claude 스트리밍 오류 이벤트: " + event.errorMessage()));
+                        return;
+                    }
+                    summary.apply(event);
+                    if (event.hasText()) {
+                        sink.next(event.text());
+                    }
+                })
+                .doOnComplete(() -> {
+                    log.info("Claude 스트리밍 완료 - 모델: {}, 종료 사유: {}, 입력 토큰: {}, 출력 토큰: {}",
+                        summary.model, summary.stopReason, summary.inputTokens, summary.outputTokens);
+                    usageMetrics.recordUsage(getServiceName(), summary.model,
+                        summary.inputTokens, summary.outputTokens, summary.stopReason);
+                    recordPromptCache(summary.model, summary.inputTokens,
+                        summary.cacheReadTokens, summary.cacheWriteTokens);
+                });
+        })
+        .doOnError(error -> log.error("Claude 스트리밍 API 호출 실패", error))
+        .onErrorMap(this::handleApiError);
     }
     
     @Override
@@ -93,45 +155,80 @@ public class ClaudeService implements AIService {
         return apiKey != null && !apiKey.trim().isEmpty() && !apiKey.startsWith("your-");
     }
     
-    private Map<String, Object> buildRequestBody(ChatRequest request, List<ChatMessage> history) {
-        var messages = history.stream()
-            .map(msg -> Map.of("role", msg.role(), "content", msg.content()))
-            .collect(Collectors.toList());
+    /**
+     * 요청 본문을 중간 Map 없이 풀링된 버퍼에 바로 직렬화
+     */
+    private BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(ChatRequest request, List<ChatMessage> history, boolean stream) {
+        String model = request.getModel() != null ? request.getModel() : getDefaultModel();
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS;
         
-        messages.add(Map.of("role", "user", "content", request.getQuestion()));
+        return ProviderRequestWriter.json(ProviderRequestWriter.sizeHint(request.getQuestion(), history),
+            generator -> ProviderRequestWriter.writeClaude(generator, model, history, request.getQuestion(), stream, maxTokens,
+                promptCacheEnabled));
+    }
+    
+    private ChatResponse toChatResponse(AsyncResponseParser.Result result) {
+        usageMetrics.recordUsage(getServiceName(), result.model(),
+            result.inputTokens(), result.outputTokens(), result.finishReason());
+        recordPromptCache(result.model(), result.inputTokens(),
+            result.cacheReadTokens(), result.cacheWriteTokens());
         
-        return Map.of(
-            "model", request.getModel() != null ? request.getModel() : getDefaultModel(),
-            "messages", messages,
-            "max_tokens", 1000
-        );
+        return ChatResponse.builder()
+            .answer(result.text() != null ? result.text() : "응답을 생성할 수 없습니다.")
+            .model(result.model() != null ? result.model() : getDefaultModel())
+            .completed(result.text() != null)
+            .build();
+    }
+    
+    /**
+     * Claude 의 input_tokens 는 캐시 읽기/쓰기분을 제외한 값이므로 합산해 전체 프롬프트 토큰으로 기록
+     */
+    private void recordPromptCache(String model, Integer inputTokens, Integer cacheReadTokens, Integer cacheWriteTokens) {
+        if (inputTokens == null) {
+            return;
+        }
+        int promptTokens = inputTokens
+            + (cacheReadTokens != null ? cacheReadTokens : 0)
+            + (cacheWriteTokens != null ? cacheWriteTokens : 0);
+        usageMetrics.recordPromptCache(getServiceName(), model, promptTokens, cacheReadTokens, cacheWriteTokens);
     }
     
-    private ChatResponse extractResponse(Map<String, Object> response) {
-        try {
-            var content = (List<Map<String, Object>>) response.get("content");
-            if (content == null || content.isEmpty()) {
-                throw new RuntimeException("Claude 응답에서 content를 찾을 수 없습니다.");
+    /**
+     * 스트림 종료 시 노출할 사용량 및 종료 사유
+     * message_start 의 입력 토큰과 message_delta 의 누적 출력 토큰을 반영
+     */
+    private static class StreamSummary {
+        private String model;
+        private String stopReason;
+        private Integer inputTokens;
+        private Integer outputTokens;
+        private Integer cacheReadTokens;
+        private Integer cacheWriteTokens;
+        
+        void apply(ClaudeStreamParser.Event event) {
+            if (event.model() != null) {
+                model = event.model();
+            }
+            if (event.stopReason() != null) {
+                stopReason = event.stopReason();
+            }
+            if (event.inputTokens() != null) {
+                inputTokens = event.inputTokens();
+            }
+            if (event.outputTokens() != null) {
+                outputTokens = event.outputTokens();
+            }
+            if (event.cacheReadTokens() != null) {
+                cacheReadTokens = event.cacheReadTokens();
+            }
+            if (event.cacheWriteTokens() != null) {
+                cacheWriteTokens = event.cacheWriteTokens();
             }
-            
-            var text = (String) content.get(0).get("text");
-            var model = (String) response.get("model");
-            
-            return ChatResponse.builder()
-                .answer(text != null ? text : "응답을 생성할 수 없습니다.")
-                .model(model)
-                .build();
-        } catch (Exception e) {
-            log.error("Claude 응답 파싱 실패", e);
-            return ChatResponse.builder()
-                .answer("응답 처리 중 오류가 발생했습니다.")
-                .model(getDefaultModel())
-                .build();
         }
     }
     
     private Throwable handleApiError(Throwable error) {
         log.error("Claude API 오류: {}", error.getMessage());
-        return new RuntimeException("Claude AI 서비스 호출 중 오류가 발생했습니다: " + error.getMessage());
+        return AIServiceException.of("Claude AI 서비스 호출 중 오류가 발생했습니다: " + error.getMessage(), error);
     }
 }
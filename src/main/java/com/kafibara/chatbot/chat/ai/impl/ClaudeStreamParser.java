@@ -0,0 +1,129 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Anthropic Messages 스트리밍 이벤트 파서
+ * message_start / content_block_delta / message_delta / message_stop / error 이벤트에서 필요한 필드만 추출
+ */
+public class ClaudeStreamParser {
+
+    private final JsonFactory jsonFactory;
+
+    public ClaudeStreamParser() {
+        this(new JsonFactory());
+    }
+
+    public ClaudeStreamParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * SSE data 필드(JSON 한 덩어리)를 이벤트로 변환
+     */
+    public Event parse(String data) {
+        String type = null;
+        String text = null;
+        String model = null;
+        String stopReason = null;
+        String errorMessage = null;
+        Integer inputTokens = null;
+        Integer outputTokens = null;
+        Integer cacheReadTokens = null;
+        Integer cacheWriteTokens = null;
+
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (!token.isScalarValue()) {
+                    continue;
+                }
+                JsonStreamContext context = parser.getParsingContext();
+                String field = context.getCurrentName();
+                String parent = parentName(context);
+
+                if (field == null) {
+                    continue;
+                }
+                if (parent == null) {
+                    // 최상위 필드
+                    if ("type".equals(field)) {
+                        type = parser.getText();
+                    }
+                } else if ("delta".equals(parent)) {
+                    if ("text".equals(field)) {
+                        text = parser.getText();
+                    } else if ("stop_reason".equals(field) && token == JsonToken.VALUE_STRING) {
+                        stopReason = parser.getText();
+                    }
+                } else if ("usage".equals(parent)) {
+                    // message_start 는 message.usage, message_delta 는 최상위 usage
+                    if ("input_tokens".equals(field)) {
+                        inputTokens = parser.getIntValue();
+                    } else if ("output_tokens".equals(field)) {
+                        outputTokens = parser.getIntValue();
+                    } else if ("cache_read_input_tokens".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                        cacheReadTokens = parser.getIntValue();
+                    } else if ("cache_creation_input_tokens".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                        cacheWriteTokens = parser.getIntValue();
+                    }
+                } else if ("message".equals(parent)) {
+                    if ("model".equals(field)) {
+                        model = parser.getText();
+                    } else if ("stop_reason".equals(field) && token == JsonToken.VALUE_STRING) {
+                        stopReason = parser.getText();
+                    }
+                } else if ("error".equals(parent) && "message".equals(field)) {
+                    errorMessage = parser.getText();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Claude 스트리밍 이벤트 파싱 실패: " + e.getMessage(), e);
+        }
+
+        return new Event(type, text, model, stopReason, inputTokens, outputTokens,
+            cacheReadTokens, cacheWriteTokens, errorMessage);
+    }
+
+    /**
+     * 현재 객체를 담고 있는 필드명 (최상위 객체면 null)
+     */
+    private String parentName(JsonStreamContext context) {
+        JsonStreamContext parent = context.getParent();
+        if (parent == null || parent.inRoot()) {
+            return null;
+        }
+        return parent.getCurrentName();
+    }
+
+    /**
+     * 스트리밍 이벤트 한 개에서 추출한 값
+     */
+    public record Event(String type,
+                        String text,
+                        String model,
+                        String stopReason,
+                        Integer inputTokens,
+                        Integer outputTokens,
+                        Integer cacheReadTokens,
+                        Integer cacheWriteTokens,
+                        String errorMessage) {
+
+        public boolean hasText() {
+            return "content_block_delta".equals(type) && text != null && !text.isEmpty();
+        }
+
+        public boolean isMessageStop() {
+            return "message_stop".equals(type);
+        }
+
+        public boolean isError() {
+            return "error".equals(type);
+        }
+    }
+}
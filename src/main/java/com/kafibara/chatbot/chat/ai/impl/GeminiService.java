@@ -1,29 +1,34 @@
 package com.kafibara.chatbot.ai.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
 import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.ai.StreamCompletion;
 import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.config.exception.AIServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service("gemini")
 @RequiredArgsConstructor
@@ -34,11 +39,13 @@ public class GeminiService implements AIService {
     @Value("${ai.gemini.api-key}")
     private String apiKey;
 
-    @Value("${ai.gemini.base-url:https://generativelanguage.googleapis.com}")
-    private String baseUrl;
+    // base-url 은 geminiWebClient 에 설정됨 (AIHttpClientConfig)
+    @Qualifier("geminiWebClient")
+    private final WebClient webClient;
 
-    private final WebClient.Builder webClientBuilder;
-    private final ObjectMapper objectMapper;
+    private final AIUsageMetrics usageMetrics;
+
+    private final GeminiStreamParser streamParser = new GeminiStreamParser();
 
     private static final List<String> SUPPORTED_MODELS = Arrays.asList(
             "gemini-2.5-pro",
@@ -50,6 +57,32 @@ public class GeminiService implements AIService {
 
     private static final String DEFAULT_MODEL = "gemini-2.5-pro";
 
+    private static final int DEFAULT_MAX_OUTPUT_TOKENS = 2048;
+
+    private static final Set<String> BLOCKED_FINISH_REASONS = Set.of(
+            "SAFETY", "RECITATION", "BLOCKLIST", "PROHIBITED_CONTENT", "SPII"
+    );
+
+    private static final List<String> SAFETY_CATEGORIES = List.of(
+            "HARM_CATEGORY_HARASSMENT",
+            "HARM_CATEGORY_HATE_SPEECH",
+            "HARM_CATEGORY_SEXUALLY_EXPLICIT",
+            "HARM_CATEGORY_DANGEROUS_CONTENT"
+    );
+
+    private static final String SAFETY_THRESHOLD = "BLOCK_MEDIUM_AND_ABOVE";
+
+    private static final String BLOCKED_MESSAGE = "죄송합니다. 안전 정책에 따라 이 요청에 대한 응답을 제공할 수 없습니다.";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    // 첫 번째 후보의 text part 를 모두 이어 붙임, 프롬프트 차단 시 promptFeedback.blockReason 만 내려옴
+    static final AsyncResponseParser.Fields RESPONSE_FIELDS = new AsyncResponseParser.Fields(
+            Pattern.compile("/candidates/0/content/parts/\\d+/text"), "/modelVersion", "/candidates/0/finishReason",
+            "/usageMetadata/promptTokenCount", "/usageMetadata/candidatesTokenCount", "/promptFeedback/blockReason",
+            "/usageMetadata/cachedContentTokenCount", null);
+
     @Override
     public Mono<ChatResponse> generateResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
         log.info("Gemini AI 응답 생성 시작 - 모델: {}, 질문: {}", request.getModel(), request.getQuestion());
@@ -63,17 +96,18 @@ public class GeminiService implements AIService {
 
         final String finalModel = model; // final 변수로 선언
 
-        return createWebClient()
+        return webClient
                 .post()
                 .uri("/v1beta/models/{model}:generateContent?key={apiKey}", finalModel, apiKey)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .bodyValue(createGeminiRequest(request, conversationHistory))
+                .body(createGeminiRequest(request, conversationHistory))
                 .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> parseGeminiResponse(response, request, finalModel))
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> AsyncResponseParser.parse(body, RESPONSE_FIELDS))
+                .map(result -> toChatResponse(result, request, finalModel))
                 .doOnSuccess(response -> log.info("Gemini AI 응답 생성 완료 - 응답 길이: {}", response.getAnswer().length()))
                 .doOnError(error -> log.error("Gemini AI 응답 생성 실패", error))
-                .onErrorReturn(createErrorResponse(request, finalModel));
+                .onErrorMap(this::handleApiError);
     }
 
     @Override
@@ -88,23 +122,45 @@ public class GeminiService implements AIService {
 
         final String finalModel = model;
 
-        // 일반 응답을 받아서 단어별로 스트리밍하는 방식으로 변경
-        return generateResponse(request, conversationHistory)
-                .flatMapMany(response -> {
-                    String answer = response.getAnswer();
-                    if (answer == null || answer.isEmpty()) {
-                        return Flux.just("응답을 생성할 수 없습니다.");
-                    }
-                    
-                    // 단어별로 나누어서 스트리밍 효과 생성
-                    String[] words = answer.split(" ");
-                    return Flux.fromArray(words)
-                            .delayElements(Duration.ofMillis(50)) // 50ms 간격으로 단어 전송
-                            .map(word -> word + " ");
+        // alt=sse 로 요청하면 GenerateContentResponse 청크가 SSE data 로 하나씩 전달됨
+        // usageMetadata 는 청크마다 누적값으로 오고 마지막 청크가 최종값이므로 구독마다 요약 상태를 새로 생성
+        return Flux.deferContextual(context -> {
+                    var summary = new StreamSummary(finalModel);
+
+                    return webClient
+                            .post()
+                            .uri("/v1beta/models/{model}:streamGenerateContent?alt=sse&key={apiKey}", finalModel, apiKey)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .body(createGeminiRequest(request, conversationHistory))
+                            .retrieve()
+                            .bodyToFlux(SSE_TYPE)
+                            .mapNotNull(ServerSentEvent::data)
+                            .map(streamParser::parse)
+                            .doOnNext(summary::apply)
+                            .takeUntil(GeminiStreamParser.Chunk::isBlocked)
+                            .<String>handle((chunk, sink) -> {
+                                if (chunk.isBlocked()) {
+                                    log.warn("Gemini 응답이 안전 정책으로 차단됨 - 사유: {}", chunk.blockReason());
+                                    // 차단 안내는 답변이 아니므로 게이트웨이가 캐시하지 않도록 표시
+                                    StreamCompletion.markIncomplete(context, chunk.blockReason());
+                                    sink.next(BLOCKED_MESSAGE);
+                                } else if (chunk.hasText()) {
+                                    sink.next(chunk.text());
+                                }
+                            })
+                            .doOnComplete(() -> {
+                                log.info("Gemini AI 스트리밍 응답 완료 - 모델: {}, 종료 사유: {}, 입력 토큰: {}, 출력 토큰: {}, 캐시 토큰: {}",
+                                        summary.model, summary.finishReason, summary.promptTokens,
+                                        summary.outputTokens, summary.cachedTokens);
+                                usageMetrics.recordUsage(getServiceName(), summary.model,
+                                        summary.promptTokens, summary.outputTokens, summary.finishReason);
+                                usageMetrics.recordPromptCache(getServiceName(), summary.model,
+                                        summary.promptTokens, summary.cachedTokens, null);
+                            });
                 })
-                .doOnComplete(() -> log.info("Gemini AI 스트리밍 응답 완료"))
                 .doOnError(error -> log.error("Gemini AI 스트리밍 응답 실패", error))
-                .onErrorReturn("죄송합니다. Gemini AI 서비스에 일시적인 문제가 발생했습니다.");
+                .onErrorMap(this::handleApiError);
     }
 
     @Override
@@ -127,151 +183,82 @@ public class GeminiService implements AIService {
         return DEFAULT_MODEL;
     }
 
-    private WebClient createWebClient() {
-        return webClientBuilder
-                .baseUrl(baseUrl)
-                .build();
-    }
-
-    private Map<String, Object> createGeminiRequest(ChatRequest request, List<ChatMessage> conversationHistory) {
-        Map<String, Object> requestBody = new HashMap<>();
-        
-        // Gemini API 형식에 맞게 contents 구성
-        List<Map<String, Object>> contents = conversationHistory.stream()
-                .map(this::convertToGeminiMessage)
-                .collect(Collectors.toList());
-        
-        // 현재 사용자 질문 추가
-        Map<String, Object> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-        Map<String, Object> userParts = new HashMap<>();
-        userParts.put("text", request.getQuestion());
-        userMessage.put("parts", List.of(userParts));
-        contents.add(userMessage);
-        
-        requestBody.put("contents", contents);
-        
-        // 생성 설정
-        Map<String, Object> generationConfig = new HashMap<>();
-        generationConfig.put("temperature", 0.7);
-        generationConfig.put("topK", 40);
-        generationConfig.put("topP", 0.95);
-        generationConfig.put("maxOutputTokens", 2048);
-        requestBody.put("generationConfig", generationConfig);
-        
-        // 안전 설정
-        List<Map<String, Object>> safetySettings = Arrays.asList(
-                createSafetySetting("HARM_CATEGORY_HARASSMENT", "BLOCK_MEDIUM_AND_ABOVE"),
-                createSafetySetting("HARM_CATEGORY_HATE_SPEECH", "BLOCK_MEDIUM_AND_ABOVE"),
-                createSafetySetting("HARM_CATEGORY_SEXUALLY_EXPLICIT", "BLOCK_MEDIUM_AND_ABOVE"),
-                createSafetySetting("HARM_CATEGORY_DANGEROUS_CONTENT", "BLOCK_MEDIUM_AND_ABOVE")
-        );
-        requestBody.put("safetySettings", safetySettings);
+    /**
+     * 요청 본문을 중간 Map 없이 풀링된 버퍼에 바로 직렬화
+     */
+    private BodyInserter<Object, ReactiveHttpOutputMessage> createGeminiRequest(ChatRequest request, List<ChatMessage> conversationHistory) {
+        int maxOutputTokens = request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_OUTPUT_TOKENS;
         
-        return requestBody;
+        return ProviderRequestWriter.json(ProviderRequestWriter.sizeHint(request.getQuestion(), conversationHistory),
+                generator -> ProviderRequestWriter.writeGemini(generator, conversationHistory, request.getQuestion(),
+                        maxOutputTokens, SAFETY_CATEGORIES, SAFETY_THRESHOLD));
     }
 
-    private Map<String, Object> convertToGeminiMessage(ChatMessage message) {
-        Map<String, Object> geminiMessage = new HashMap<>();
-        
-        // ChatMessage의 role을 Gemini 형식으로 변환
-        String role = "user".equals(message.role()) ? "user" : "model";
-        geminiMessage.put("role", role);
-        
-        Map<String, Object> parts = new HashMap<>();
-        parts.put("text", message.content());
-        geminiMessage.put("parts", List.of(parts));
-        
-        return geminiMessage;
-    }
+    private ChatResponse toChatResponse(AsyncResponseParser.Result result, ChatRequest request, String model) {
+        String usageModel = result.model() != null ? result.model() : model;
+        usageMetrics.recordUsage(getServiceName(), usageModel,
+                result.inputTokens(), result.outputTokens(), result.finishReason());
+        usageMetrics.recordPromptCache(getServiceName(), usageModel,
+                result.inputTokens(), result.cacheReadTokens(), result.cacheWriteTokens());
 
-    private Map<String, Object> createSafetySetting(String category, String threshold) {
-        Map<String, Object> setting = new HashMap<>();
-        setting.put("category", category);
-        setting.put("threshold", threshold);
-        return setting;
-    }
+        String answer;
+        boolean completed = false;
+        if (result.blockReason() != null || (result.text() == null && result.finishReason() != null
+                && BLOCKED_FINISH_REASONS.contains(result.finishReason()))) {
+            log.warn("Gemini 응답이 안전 정책으로 차단됨 - 사유: {}",
+                    result.blockReason() != null ? result.blockReason() : result.finishReason());
+            answer = BLOCKED_MESSAGE;
+        } else {
+            answer = result.text() != null ? result.text() : "죄송합니다. 응답을 생성할 수 없습니다.";
+            completed = result.text() != null;
+        }
 
-    private ChatResponse parseGeminiResponse(String responseBody, ChatRequest request, String model) {
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            
-            String answer = "죄송합니다. 응답을 생성할 수 없습니다.";
-            
-            if (root.has("candidates") && root.get("candidates").isArray() && root.get("candidates").size() > 0) {
-                JsonNode candidate = root.get("candidates").get(0);
-                if (candidate.has("content") && candidate.get("content").has("parts")) {
-                    JsonNode parts = candidate.get("content").get("parts");
-                    if (parts.isArray() && parts.size() > 0 && parts.get(0).has("text")) {
-                        answer = parts.get(0).get("text").asText();
-                    }
-                }
-            }
+        return ChatResponse.builder()
+                .question(request.getQuestion())
+                .answer(answer)
+                .model(model)
+                .completed(completed)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 
-            return ChatResponse.builder()
-                    .question(request.getQuestion())
-                    .answer(answer)
-                    .model(model)
-                    .createdAt(LocalDateTime.now())
-                    .build();
+    /**
+     * 스트림 종료 시 기록할 모델, 종료 사유, 사용량 (사용량은 마지막 청크 값이 최종값)
+     */
+    private static class StreamSummary {
+        private String model;
+        private String finishReason;
+        private Integer promptTokens;
+        private Integer outputTokens;
+        private Integer cachedTokens;
 
-        } catch (Exception e) {
-            log.error("Gemini 응답 파싱 실패", e);
-            return createErrorResponse(request, model);
+        StreamSummary(String model) {
+            this.model = model;
         }
-    }
 
-    private String parseStreamingResponse(String chunk) {
-        try {
-            // 빈 줄이나 data: 접두사 제거
-            String cleanChunk = chunk.trim();
-            if (cleanChunk.isEmpty() || cleanChunk.startsWith("data: ")) {
-                cleanChunk = cleanChunk.replace("data: ", "").trim();
+        void apply(GeminiStreamParser.Chunk chunk) {
+            if (chunk.model() != null) {
+                model = chunk.model();
             }
-            
-            if (cleanChunk.isEmpty()) {
-                return "";
+            if (chunk.blockReason() != null) {
+                finishReason = chunk.blockReason();
+            } else if (chunk.finishReason() != null) {
+                finishReason = chunk.finishReason();
             }
-            
-            log.debug("파싱할 청크: {}", cleanChunk);
-            
-            JsonNode root = objectMapper.readTree(cleanChunk);
-            
-            // Gemini 스트리밍 응답 구조 확인
-            if (root.has("candidates") && root.get("candidates").isArray() && root.get("candidates").size() > 0) {
-                JsonNode candidate = root.get("candidates").get(0);
-                if (candidate.has("content") && candidate.get("content").has("parts")) {
-                    JsonNode parts = candidate.get("content").get("parts");
-                    if (parts.isArray() && parts.size() > 0 && parts.get(0).has("text")) {
-                        String text = parts.get(0).get("text").asText();
-                        log.debug("파싱된 텍스트: {}", text);
-                        return text;
-                    }
-                }
+            if (chunk.promptTokens() != null) {
+                promptTokens = chunk.promptTokens();
             }
-            
-            // 다른 형식도 시도
-            if (root.has("text")) {
-                return root.get("text").asText();
+            if (chunk.outputTokens() != null) {
+                outputTokens = chunk.outputTokens();
             }
-            
-            if (root.isTextual()) {
-                return root.asText();
+            if (chunk.cachedTokens() != null) {
+                cachedTokens = chunk.cachedTokens();
             }
-            
-            return "";
-        } catch (Exception e) {
-            log.debug("스트리밍 청크 파싱 실패 - 청크: {}, 오류: {}", chunk, e.getMessage());
-            return "";
         }
     }
 
-    private ChatResponse createErrorResponse(ChatRequest request, String model) {
-        return ChatResponse.builder()
-                .question(request.getQuestion())
-                .answer("죄송합니다. Gemini AI 서비스에 일시적인 문제가 발생했습니다. 잠시 후 다시 시도해주세요.")
-                .model(model)
-                .createdAt(LocalDateTime.now())
-                .build();
+    private Throwable handleApiError(Throwable error) {
+        log.error("Gemini API 오류: {}", error.getMessage());
+        return AIServiceException.of("Gemini AI 서비스 호출 중 오류가 발생했습니다: " + error.getMessage(), error);
     }
 }
@@ -0,0 +1,154 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Gemini 스트리밍(alt=sse GenerateContentResponse) 파서
+ * JsonNode 트리를 만들지 않고 토큰 단위로 candidates[0] 의 text part, finishReason,
+ * promptFeedback.blockReason, modelVersion, usageMetadata 만 추출
+ */
+public class GeminiStreamParser {
+
+    private static final Set<String> BLOCKED_FINISH_REASONS = Set.of(
+        "SAFETY", "RECITATION", "BLOCKLIST", "PROHIBITED_CONTENT", "SPII"
+    );
+
+    private final JsonFactory jsonFactory;
+
+    public GeminiStreamParser() {
+        this(new JsonFactory());
+    }
+
+    public GeminiStreamParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * SSE data 필드(JSON 한 덩어리)를 파싱
+     * 후보의 모든 text part 를 이어 붙이고, 프롬프트 차단 또는 텍스트 없는 안전 정책 종료를 차단 사유로 반환
+     */
+    public Chunk parse(String data) {
+        StringBuilder text = new StringBuilder();
+        String finishReason = null;
+        String promptBlockReason = null;
+        String model = null;
+        Integer promptTokens = null;
+        Integer outputTokens = null;
+        Integer cachedTokens = null;
+
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                JsonStreamContext context = parser.getParsingContext();
+                String field = context.getCurrentName();
+
+                if (token == JsonToken.VALUE_STRING) {
+                    if ("text".equals(field) && isFirstCandidatePart(context)) {
+                        text.append(parser.getText());
+                    } else if ("finishReason".equals(field) && isFirstCandidate(context)) {
+                        finishReason = parser.getText();
+                    } else if ("blockReason".equals(field) && isTopLevelChild(context, "promptFeedback")) {
+                        promptBlockReason = parser.getText();
+                    } else if ("modelVersion".equals(field) && isTopLevel(context)) {
+                        model = parser.getText();
+                    }
+                } else if (token == JsonToken.VALUE_NUMBER_INT && isTopLevelChild(context, "usageMetadata")) {
+                    if ("promptTokenCount".equals(field)) {
+                        promptTokens = parser.getIntValue();
+                    } else if ("candidatesTokenCount".equals(field)) {
+                        outputTokens = parser.getIntValue();
+                    } else if ("cachedContentTokenCount".equals(field)) {
+                        cachedTokens = parser.getIntValue();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Gemini 스트리밍 청크 파싱 실패: " + e.getMessage(), e);
+        }
+
+        // 프롬프트 자체가 차단되면 candidates 없이 promptFeedback.blockReason 만 내려옴
+        String blockReason = promptBlockReason;
+        if (blockReason == null && text.isEmpty() && finishReason != null
+            && BLOCKED_FINISH_REASONS.contains(finishReason)) {
+            blockReason = finishReason;
+        }
+        return new Chunk(text.toString(), blockReason, promptBlockReason != null ? null : finishReason,
+            model, promptTokens, outputTokens, cachedTokens);
+    }
+
+    /**
+     * 최상위 객체의 필드인지 확인
+     */
+    private boolean isTopLevel(JsonStreamContext context) {
+        return context.inObject() && context.getParent() != null && context.getParent().inRoot();
+    }
+
+    /**
+     * 최상위 {field} 객체 내부인지 확인
+     */
+    private boolean isTopLevelChild(JsonStreamContext context, String field) {
+        JsonStreamContext parent = context.getParent();
+        return context.inObject() && parent != null && field.equals(parent.getCurrentName()) && isTopLevel(parent);
+    }
+
+    /**
+     * candidates[0] 객체 컨텍스트인지 확인
+     */
+    private boolean isFirstCandidate(JsonStreamContext context) {
+        if (context == null || !context.inObject()) {
+            return false;
+        }
+        JsonStreamContext array = context.getParent();
+        if (array == null || !array.inArray() || array.getCurrentIndex() != 0) {
+            return false;
+        }
+        JsonStreamContext root = array.getParent();
+        return root != null && "candidates".equals(root.getCurrentName()) && isTopLevel(root);
+    }
+
+    /**
+     * candidates[0].content.parts[i] 객체 컨텍스트인지 확인
+     */
+    private boolean isFirstCandidatePart(JsonStreamContext part) {
+        if (!part.inObject()) {
+            return false;
+        }
+        JsonStreamContext parts = part.getParent();
+        if (parts == null || !parts.inArray()) {
+            return false;
+        }
+        JsonStreamContext content = parts.getParent();
+        if (content == null || !content.inObject() || !"parts".equals(content.getCurrentName())) {
+            return false;
+        }
+        JsonStreamContext candidate = content.getParent();
+        return candidate != null && "content".equals(candidate.getCurrentName()) && isFirstCandidate(candidate);
+    }
+
+    /**
+     * 스트리밍 청크 한 개에서 추출한 텍스트, 차단 사유, 종료 사유와 사용량
+     * (usageMetadata 는 청크마다 누적값이므로 마지막 청크 값이 최종값)
+     */
+    public record Chunk(String text,
+                        String blockReason,
+                        String finishReason,
+                        String model,
+                        Integer promptTokens,
+                        Integer outputTokens,
+                        Integer cachedTokens) {
+
+        public boolean hasText() {
+            return !text.isEmpty();
+        }
+
+        public boolean isBlocked() {
+            return blockReason != null;
+        }
+    }
+}
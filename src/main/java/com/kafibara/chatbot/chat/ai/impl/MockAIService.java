@@ -6,20 +6,29 @@ import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.random.RandomGenerator;
 
+/**
+ * 부하 테스트용 Mock AI 시뮬레이터
+ * 첫 토큰 지연(TTFT), 토큰 간 지연, 출력 길이를 분포(ai.mock.simulation.*)로 설정하고 오류/타임아웃을 비율로 주입
+ * seed 를 지정하면 요청 순번마다 같은 난수열을 사용하므로 같은 순서의 요청은 같은 지연과 응답을 재현함
+ */
 @Service("mock")
 @ConditionalOnProperty(name = "ai.mock.enabled", havingValue = "true", matchIfMissing = true)
 @Slf4j
 public class MockAIService implements AIService {
     
-    private final Random random = new Random();
+    private static final String PREFIX = "ai.mock.simulation";
     
     private static final List<String> MOCK_RESPONSES = List.of(
         "안녕하세요! 저는 AI 어시스턴트입니다. 어떻게 도와드릴까요?",
@@ -34,31 +43,69 @@ public class MockAIService implements AIService {
         "mock-gpt-3.5", "mock-gpt-4", "mock-claude", "mock-gemini"
     );
     
+    private final SimulatedDistribution firstTokenLatency;
+    private final SimulatedDistribution interTokenLatency;
+    // 미설정 시 응답 문장의 단어 수 그대로 사용
+    private final SimulatedDistribution outputTokens;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final Duration timeout;
+    
+    // 요청마다 split 해서 독립적인 난수열을 얻음 (SplittableRandom 은 스레드 안전하지 않으므로 동기화)
+    private final SplittableRandom seedSource;
+    
+    public MockAIService(Environment environment) {
+        this.firstTokenLatency = SimulatedDistribution.from(environment, PREFIX + ".ttft",
+            SimulatedDistribution.uniform(200, 600));
+        this.interTokenLatency = SimulatedDistribution.from(environment, PREFIX + ".inter-token",
+            SimulatedDistribution.uniform(30, 120));
+        this.outputTokens = SimulatedDistribution.from(environment, PREFIX + ".output-tokens", null);
+        this.errorRate = environment.getProperty(PREFIX + ".error-rate", Double.class, 0.0);
+        this.timeoutRate = environment.getProperty(PREFIX + ".timeout-rate", Double.class, 0.0);
+        this.timeout = environment.getProperty(PREFIX + ".timeout", Duration.class, Duration.ofSeconds(30));
+        
+        Long seed = environment.getProperty(PREFIX + ".seed", Long.class);
+        this.seedSource = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        
+        log.info("Mock AI 시뮬레이션 - TTFT: {}, 토큰 간격: {}, 출력 토큰: {}, 오류율: {}, 타임아웃율: {}, seed: {}",
+            firstTokenLatency, interTokenLatency, outputTokens != null ? outputTokens : "응답 문장 길이",
+            errorRate, timeoutRate, seed != null ? seed : "없음");
+    }
+    
     @Override
     public Mono<ChatResponse> generateResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
         log.info("Mock AI 서비스 호출 - 질문: {}", request.getQuestion());
         
-        // 실제 AI 서비스 호출을 시뮬레이션하기 위한 지연
-        return Mono.delay(Duration.ofMillis(500 + random.nextInt(1000)))
-            .map(delay -> {
-                String response = generateMockResponse(request.getQuestion(), conversationHistory);
-                return ChatResponse.builder()
-                    .answer(response)
-                    .model(request.getModel() != null ? request.getModel() : getDefaultModel())
-                    .build();
-            });
+        // 비스트리밍은 마지막 토큰까지 생성된 뒤 한 번에 응답하는 것으로 시뮬레이션
+        return Mono.defer(() -> {
+            Plan plan = plan(request, conversationHistory);
+            return switch (plan.outcome()) {
+                case ERROR -> injectedError(plan.firstTokenMillis());
+                case TIMEOUT -> injectedTimeout();
+                case SUCCESS -> Mono.delay(Duration.ofMillis(plan.totalMillis()))
+                    .map(delay -> ChatResponse.builder()
+                        .answer(String.join(" ", plan.tokens()))
+                        .model(request.getModel() != null ? request.getModel() : getDefaultModel())
+                        .completed(true)
+                        .build());
+            };
+        });
     }
     
     @Override
     public Flux<String> generateStreamingResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
         log.info("Mock AI 스트리밍 서비스 호출 - 질문: {}", request.getQuestion());
         
-        String fullResponse = generateMockResponse(request.getQuestion(), conversationHistory);
-        String[] words = fullResponse.split(" ");
-        
-        return Flux.fromArray(words)
-            .delayElements(Duration.ofMillis(100 + random.nextInt(200)))
-            .map(word -> word + " ");
+        return Flux.defer(() -> {
+            Plan plan = plan(request, conversationHistory);
+            return switch (plan.outcome()) {
+                case ERROR -> injectedError(plan.firstTokenMillis()).flux();
+                case TIMEOUT -> injectedTimeout().flux();
+                case SUCCESS -> Flux.range(0, plan.tokens().size())
+                    .concatMap(i -> Mono.delay(Duration.ofMillis(plan.delayBefore(i)))
+                        .thenReturn(plan.tokens().get(i) + " "));
+            };
+        });
     }
     
     @Override
@@ -81,7 +128,7 @@ public class MockAIService implements AIService {
         return "mock-gpt-3.5";
     }
     
-    private String generateMockResponse(String question, List<ChatMessage> history) {
+    private String generateMockResponse(String question, List<ChatMessage> history, RandomGenerator random) {
         // 질문에 따른 간단한 응답 생성 로직
         String lowerQuestion = question.toLowerCase();
         
@@ -103,13 +150,75 @@ public class MockAIService implements AIService {
         
         // 대화 히스토리가 있으면 참고
         if (!history.isEmpty()) {
-            return "이전 대화를 참고하여 답변드리면, " + getRandomResponse() + " 추가로 궁금한 점이 있으시면 언제든 물어보세요!";
+            return "이전 대화를 참고하여 답변드리면, " + getRandomResponse(random) + " 추가로 궁금한 점이 있으시면 언제든 물어보세요!";
         }
         
-        return getRandomResponse();
+        return getRandomResponse(random);
     }
     
-    private String getRandomResponse() {
+    private String getRandomResponse(RandomGenerator random) {
         return MOCK_RESPONSES.get(random.nextInt(MOCK_RESPONSES.size()));
     }
+    
+    /**
+     * 요청 한 건의 결과, 지연, 토큰을 미리 결정 (같은 난수열이면 같은 계획)
+     */
+    private Plan plan(ChatRequest request, List<ChatMessage> history) {
+        RandomGenerator random;
+        synchronized (seedSource) {
+            random = seedSource.split();
+        }
+        
+        double roll = random.nextDouble();
+        Outcome outcome = roll < errorRate ? Outcome.ERROR
+            : roll < errorRate + timeoutRate ? Outcome.TIMEOUT
+            : Outcome.SUCCESS;
+        
+        String[] words = generateMockResponse(request.getQuestion(), history, random).split(" ");
+        int length = outputTokens != null ? (int) Math.max(1, outputTokens.sample(random)) : words.length;
+        List<String> tokens = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            tokens.add(words[i % words.length]);
+        }
+        
+        long[] delays = new long[length];
+        delays[0] = firstTokenLatency.sample(random);
+        for (int i = 1; i < length; i++) {
+            delays[i] = interTokenLatency.sample(random);
+        }
+        return new Plan(outcome, tokens, delays);
+    }
+    
+    private <T> Mono<T> injectedError(long afterMillis) {
+        return Mono.delay(Duration.ofMillis(afterMillis))
+            .then(Mono.error(new IllegalStateException("Mock AI 시뮬레이션 오류")));
+    }
+    
+    private <T> Mono<T> injectedTimeout() {
+        return Mono.delay(timeout)
+            .then(Mono.error(new TimeoutException("Mock AI 시뮬레이션 타임아웃")));
+    }
+    
+    private enum Outcome {
+        SUCCESS, ERROR, TIMEOUT
+    }
+    
+    private record Plan(Outcome outcome, List<String> tokens, long[] delays) {
+        
+        long firstTokenMillis() {
+            return delays[0];
+        }
+        
+        long delayBefore(int index) {
+            return delays[index];
+        }
+        
+        long totalMillis() {
+            long total = 0;
+            for (long delay : delays) {
+                total += delay;
+            }
+            return total;
+        }
+    }
 }
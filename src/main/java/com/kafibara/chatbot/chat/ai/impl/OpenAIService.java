@@ -1,22 +1,29 @@
 package com.kafibara.chatbot.ai.impl;
 
 import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
 import com.kafibara.chatbot.chat.ai.ChatMessage;
 import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.config.exception.AIServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 @Service("openai")
 @ConditionalOnProperty(name = "ai.openai.enabled", havingValue = "true", matchIfMissing = true)
@@ -24,8 +31,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OpenAIService implements AIService {
     
+    @Qualifier("openaiWebClient")
     private final WebClient webClient;
     
+    private final AIUsageMetrics usageMetrics;
+    
+    private final OpenAIStreamParser streamParser = new OpenAIStreamParser();
+    
     @Value("${ai.openai.api-key}")
     private String apiKey;
     
@@ -36,22 +48,34 @@ public class OpenAIService implements AIService {
         "gpt-4", "gpt-4-turbo", "gpt-3.5-turbo", "gpt-4o", "gpt-4o-mini"
     );
     
+    private static final int DEFAULT_MAX_TOKENS = 1000;
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+        new ParameterizedTypeReference<>() {};
+    
+    // OpenAI 는 1024 토큰 이상 동일 접두사를 자동 캐시하며 prompt_tokens 에 캐시 적중분이 포함됨
+    static final AsyncResponseParser.Fields RESPONSE_FIELDS = new AsyncResponseParser.Fields(
+        Pattern.compile("/choices/0/message/content"), "/model", "/choices/0/finish_reason",
+        "/usage/prompt_tokens", "/usage/completion_tokens", null,
+        "/usage/prompt_tokens_details/cached_tokens", null);
+    
     @Override
     public Mono<ChatResponse> generateResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
         if (!isApiKeyConfigured()) {
             return Mono.error(new IllegalStateException("OpenAI API 키가 설정되지 않았습니다."));
         }
         
-        var requestBody = buildRequestBody(request, conversationHistory, false);
+        var requestBody = requestBody(request, conversationHistory, false);
         
         return webClient.post()
             .uri(baseUrl + "/chat/completions")
             .header("Authorization", "Bearer " + apiKey)
             .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(requestBody)
+            .body(requestBody)
             .retrieve()
-            .bodyToMono(Map.class)
-            .map(this::extractResponse)
+            .bodyToFlux(DataBuffer.class)
+            .as(body -> AsyncResponseParser.parse(body, RESPONSE_FIELDS))
+            .map(this::toChatResponse)
             .doOnError(error -> log.error("OpenAI API 호출 실패", error))
             .onErrorMap(this::handleApiError);
     }
@@ -62,19 +86,39 @@ public class OpenAIService implements AIService {
             return Flux.error(new IllegalStateException("OpenAI API 키가 설정되지 않았습니다."));
         }
         
-        var requestBody = buildRequestBody(request, conversationHistory, true);
+        var requestBody = requestBody(request, conversationHistory, true);
         
-        return webClient.post()
-            .uri(baseUrl + "/chat/completions")
-            .header("Authorization", "Bearer " + apiKey)
-            .contentType(MediaType.APPLICATION_JSON)
-            .bodyValue(requestBody)
-            .retrieve()
-            .bodyToFlux(String.class)
-            .map(this::extractStreamingContent)
-            .filter(content -> !content.isEmpty())
-            .doOnError(error -> log.error("OpenAI 스트리밍 API 호출 실패", error))
-            .onErrorResume(error -> Flux.just("죄송합니다. 응답 생성 중 오류가 발생했습니다."));
+        // SSE 프레임 디코딩(여러 줄 data 병합 포함)은 ServerSentEvent 리더에 맡기고 data만 파싱
+        // finish_reason 청크 뒤에 사용량 청크가 오므로 [DONE] 까지 읽고, 구독마다 요약 상태를 새로 생성
+        return Flux.defer(() -> {
+            var summary = new StreamSummary();
+            
+            return webClient.post()
+                .uri(baseUrl + "/chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(requestBody)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !OpenAIStreamParser.DONE_MARKER.equals(data.trim()))
+                .map(streamParser::parse)
+                .doOnNext(summary::apply)
+                .filter(OpenAIStreamParser.Chunk::hasContent)
+                .map(OpenAIStreamParser.Chunk::content)
+                .doOnComplete(() -> {
+                    log.debug("OpenAI 스트리밍 종료 - 모델: {}, finish_reason: {}, 입력 토큰: {}, 출력 토큰: {}, 캐시 토큰: {}",
+                        summary.model, summary.finishReason, summary.promptTokens, summary.completionTokens,
+                        summary.cachedTokens);
+                    usageMetrics.recordUsage(getServiceName(), summary.model,
+                        summary.promptTokens, summary.completionTokens, summary.finishReason);
+                    usageMetrics.recordPromptCache(getServiceName(), summary.model,
+                        summary.promptTokens, summary.cachedTokens, null);
+                });
+        })
+        .doOnError(error -> log.error("OpenAI 스트리밍 API 호출 실패", error))
+        .onErrorMap(this::handleApiError);
     }
     
     @Override
@@ -101,62 +145,57 @@ public class OpenAIService implements AIService {
         return apiKey != null && !apiKey.trim().isEmpty() && !apiKey.startsWith("your-");
     }
     
-    private Map<String, Object> buildRequestBody(ChatRequest request, List<ChatMessage> history, boolean stream) {
-        var messages = history.stream()
-            .map(msg -> Map.of("role", msg.role(), "content", msg.content()))
-            .collect(Collectors.toList());
-        
-        messages.add(Map.of("role", "user", "content", request.getQuestion()));
+    /**
+     * 요청 본문을 중간 Map 없이 풀링된 버퍼에 바로 직렬화
+     */
+    private BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(ChatRequest request, List<ChatMessage> history, boolean stream) {
+        String model = request.getModel() != null ? request.getModel() : getDefaultModel();
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS;
         
-        return Map.of(
-            "model", request.getModel() != null ? request.getModel() : getDefaultModel(),
-            "messages", messages,
-            "stream", stream,
-            "max_tokens", 1000,
-            "temperature", 0.7
-        );
+        return ProviderRequestWriter.json(ProviderRequestWriter.sizeHint(request.getQuestion(), history),
+            generator -> ProviderRequestWriter.writeOpenAI(generator, model, history, request.getQuestion(), stream, maxTokens));
     }
     
-    private ChatResponse extractResponse(Map<String, Object> response) {
-        try {
-            var choices = (List<Map<String, Object>>) response.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                throw new RuntimeException("OpenAI 응답에서 choices를 찾을 수 없습니다.");
-            }
-            
-            var message = (Map<String, Object>) choices.get(0).get("message");
-            var content = (String) message.get("content");
-            var model = (String) response.get("model");
-            
-            return ChatResponse.builder()
-                .answer(content != null ? content : "응답을 생성할 수 없습니다.")
-                .model(model)
-                .build();
-        } catch (Exception e) {
-            log.error("OpenAI 응답 파싱 실패", e);
-            return ChatResponse.builder()
-                .answer("응답 처리 중 오류가 발생했습니다.")
-                .model(getDefaultModel())
-                .build();
-        }
+    private ChatResponse toChatResponse(AsyncResponseParser.Result result) {
+        usageMetrics.recordUsage(getServiceName(), result.model(),
+            result.inputTokens(), result.outputTokens(), result.finishReason());
+        usageMetrics.recordPromptCache(getServiceName(), result.model(),
+            result.inputTokens(), result.cacheReadTokens(), result.cacheWriteTokens());
+        
+        return ChatResponse.builder()
+            .answer(result.text() != null ? result.text() : "응답을 생성할 수 없습니다.")
+            .model(result.model() != null ? result.model() : getDefaultModel())
+            .completed(result.text() != null)
+            .build();
     }
     
-    private String extractStreamingContent(String chunk) {
-        // SSE 형식의 스트리밍 데이터에서 content 추출
-        // 실제 구현에서는 더 정교한 JSON 파싱이 필요
-        if (chunk.startsWith("data: ")) {
-            String jsonData = chunk.substring(6).trim();
-            if ("[DONE]".equals(jsonData)) {
-                return "";
+    /**
+     * 스트림 종료 시 기록할 모델, 종료 사유, 사용량 (사용량은 include_usage 마지막 청크에서 채워짐)
+     */
+    private static class StreamSummary {
+        private String model;
+        private String finishReason;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private Integer cachedTokens;
+        
+        void apply(OpenAIStreamParser.Chunk chunk) {
+            if (chunk.model() != null) {
+                model = chunk.model();
+            }
+            if (chunk.isFinished()) {
+                finishReason = chunk.finishReason();
+            }
+            if (chunk.hasUsage()) {
+                promptTokens = chunk.promptTokens();
+                completionTokens = chunk.completionTokens();
+                cachedTokens = chunk.cachedTokens();
             }
-            // 간단한 구현 - 실제로는 JSON 파싱 필요
-            return jsonData;
         }
-        return "";
     }
     
     private Throwable handleApiError(Throwable error) {
         log.error("OpenAI API 오류: {}", error.getMessage());
-        return new RuntimeException("AI 서비스 호출 중 오류가 발생했습니다: " + error.getMessage());
+        return AIServiceException.of("AI 서비스 호출 중 오류가 발생했습니다: " + error.getMessage(), error);
     }
 }
@@ -0,0 +1,135 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * OpenAI 스트리밍(chat.completion.chunk) 파서
+ * JsonNode 트리를 만들지 않고 토큰 단위로 choices[0].delta.content 와 finish_reason 만 추출
+ * stream_options.include_usage 요청 시 [DONE] 직전 청크(choices 비어 있음)의 usage 와 캐시 적중 토큰도 추출
+ */
+public class OpenAIStreamParser {
+
+    public static final String DONE_MARKER = "[DONE]";
+
+    private final JsonFactory jsonFactory;
+
+    public OpenAIStreamParser() {
+        this(new JsonFactory());
+    }
+
+    public OpenAIStreamParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * SSE data 필드(JSON 한 덩어리)를 파싱
+     */
+    public Chunk parse(String data) {
+        String content = null;
+        String finishReason = null;
+        String model = null;
+        Integer promptTokens = null;
+        Integer completionTokens = null;
+        Integer cachedTokens = null;
+
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                JsonStreamContext context = parser.getParsingContext();
+                String field = context.getCurrentName();
+
+                if (token == JsonToken.VALUE_STRING) {
+                    if ("content".equals(field) && isFirstChoiceChild(context.getParent(), "delta")) {
+                        content = parser.getText();
+                    } else if ("finish_reason".equals(field) && isFirstChoice(context)) {
+                        finishReason = parser.getText();
+                    } else if ("model".equals(field) && isTopLevel(context)) {
+                        model = parser.getText();
+                    }
+                } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                    if (isTopLevelChild(context, "usage")) {
+                        if ("prompt_tokens".equals(field)) {
+                            promptTokens = parser.getIntValue();
+                        } else if ("completion_tokens".equals(field)) {
+                            completionTokens = parser.getIntValue();
+                        }
+                    } else if ("cached_tokens".equals(field)
+                        && "prompt_tokens_details".equals(context.getParent().getCurrentName())
+                        && isTopLevelChild(context.getParent(), "usage")) {
+                        cachedTokens = parser.getIntValue();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("OpenAI 스트리밍 청크 파싱 실패: " + e.getMessage(), e);
+        }
+
+        return new Chunk(content, finishReason, model, promptTokens, completionTokens, cachedTokens);
+    }
+
+    /**
+     * 최상위 객체의 필드인지 확인
+     */
+    private boolean isTopLevel(JsonStreamContext context) {
+        return context.inObject() && context.getParent() != null && context.getParent().inRoot();
+    }
+
+    /**
+     * 최상위 {field} 객체 내부인지 확인
+     */
+    private boolean isTopLevelChild(JsonStreamContext context, String field) {
+        JsonStreamContext parent = context.getParent();
+        return context.inObject() && parent != null && field.equals(parent.getCurrentName()) && isTopLevel(parent);
+    }
+
+    /**
+     * choices[0] 객체 컨텍스트인지 확인
+     */
+    private boolean isFirstChoice(JsonStreamContext context) {
+        if (context == null || !context.inObject()) {
+            return false;
+        }
+        JsonStreamContext array = context.getParent();
+        if (array == null || !array.inArray() || array.getCurrentIndex() != 0) {
+            return false;
+        }
+        JsonStreamContext root = array.getParent();
+        return root != null && root.inObject() && "choices".equals(root.getCurrentName())
+            && root.getParent() != null && root.getParent().inRoot();
+    }
+
+    /**
+     * choices[0].{field} 객체 내부인지 확인
+     */
+    private boolean isFirstChoiceChild(JsonStreamContext choice, String field) {
+        return choice != null && field.equals(choice.getCurrentName()) && isFirstChoice(choice);
+    }
+
+    /**
+     * 스트리밍 청크 한 개에서 추출한 값 (사용량은 include_usage 마지막 청크에만 있음)
+     */
+    public record Chunk(String content,
+                        String finishReason,
+                        String model,
+                        Integer promptTokens,
+                        Integer completionTokens,
+                        Integer cachedTokens) {
+
+        public boolean hasContent() {
+            return content != null && !content.isEmpty();
+        }
+
+        public boolean isFinished() {
+            return finishReason != null;
+        }
+
+        public boolean hasUsage() {
+            return promptTokens != null || completionTokens != null;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 제공자 요청 본문을 중간 Map 없이 JsonGenerator 로 바로 직렬화
+ * 출력 버퍼는 요청의 bufferFactory(Reactor Netty 에서는 풀링된 ByteBuf)에서 할당하고,
+ * 전송이 끝나면 코덱이 해제함
+ */
+final class ProviderRequestWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 메시지당 role/구분자 등 고정 오버헤드 추정치 (바이트)
+    private static final int MESSAGE_OVERHEAD_BYTES = 48;
+    private static final int BODY_OVERHEAD_BYTES = 256;
+
+    private ProviderRequestWriter() {
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * JsonGenerator 로 본문을 작성하는 BodyInserter (Content-Type/Length 포함)
+     */
+    static BodyInserter<Object, ReactiveHttpOutputMessage> json(int sizeHint, BodyWriter writer) {
+        return (outputMessage, context) -> {
+            DataBuffer buffer;
+            try {
+                buffer = write(outputMessage.bufferFactory(), sizeHint, writer);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            outputMessage.getHeaders().setContentLength(buffer.readableByteCount());
+            return outputMessage.writeWith(Mono.just(buffer));
+        };
+    }
+
+    /**
+     * 버퍼 하나에 본문 전체를 작성 (실패 시 버퍼 해제)
+     */
+    static DataBuffer write(DataBufferFactory bufferFactory, int sizeHint, BodyWriter writer) throws IOException {
+        DataBuffer buffer = bufferFactory.allocateBuffer(sizeHint);
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            writer.write(generator);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * 재할당을 줄이기 위한 초기 버퍼 크기 (한글은 UTF-8 로 3바이트이므로 문자 수의 3배로 추정)
+     */
+    static int sizeHint(String question, List<ChatMessage> history) {
+        long chars = question.length();
+        for (ChatMessage message : history) {
+            chars += message.content().length() + MESSAGE_OVERHEAD_BYTES;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, chars * 3 + BODY_OVERHEAD_BYTES);
+    }
+
+    /**
+     * OpenAI Chat Completions: {model, messages[{role, content}], stream, stream_options, max_tokens, temperature}
+     * 스트리밍이면 include_usage 로 [DONE] 직전에 사용량(캐시 적중 토큰 포함) 청크를 받음
+     */
+    static void writeOpenAI(JsonGenerator g, String model, List<ChatMessage> history, String question,
+                            boolean stream, int maxTokens) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("model", model);
+        writeMessages(g, history, question);
+        g.writeBooleanField("stream", stream);
+        if (stream) {
+            g.writeObjectFieldStart("stream_options");
+            g.writeBooleanField("include_usage", true);
+            g.writeEndObject();
+        }
+        g.writeNumberField("max_tokens", maxTokens);
+        g.writeNumberField("temperature", 0.7);
+        g.writeEndObject();
+    }
+
+    /**
+     * Claude Messages: {model, messages[{role, content}], stream, max_tokens}
+     * promptCache 면 마지막 히스토리 메시지에 ephemeral 캐시 브레이크포인트를 달아 이전 턴까지를 캐시 접두사로 사용
+     */
+    static void writeClaude(JsonGenerator g, String model, List<ChatMessage> history, String question,
+                            boolean stream, int maxTokens, boolean promptCache) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("model", model);
+        if (promptCache && !history.isEmpty()) {
+            g.writeArrayFieldStart("messages");
+            int last = history.size() - 1;
+            for (int i = 0; i < last; i++) {
+                writeMessage(g, history.get(i).role(), history.get(i).content());
+            }
+            writeCachedMessage(g, history.get(last).role(), history.get(last).content());
+            writeMessage(g, "user", question);
+            g.writeEndArray();
+        } else {
+            writeMessages(g, history, question);
+        }
+        g.writeBooleanField("stream", stream);
+        g.writeNumberField("max_tokens", maxTokens);
+        g.writeEndObject();
+    }
+
+    /**
+     * Gemini generateContent: {contents[{role, parts[{text}]}], generationConfig, safetySettings}
+     * assistant 역할은 Gemini 의 model 역할로 변환
+     */
+    static void writeGemini(JsonGenerator g, List<ChatMessage> history, String question,
+                            int maxOutputTokens, List<String> safetyCategories, String safetyThreshold) throws IOException {
+        g.writeStartObject();
+
+        g.writeArrayFieldStart("contents");
+        for (ChatMessage message : history) {
+            writeGeminiContent(g, "user".equals(message.role()) ? "user" : "model", message.content());
+        }
+        writeGeminiContent(g, "user", question);
+        g.writeEndArray();
+
+        g.writeObjectFieldStart("generationConfig");
+        g.writeNumberField("temperature", 0.7);
+        g.writeNumberField("topK", 40);
+        g.writeNumberField("topP", 0.95);
+        g.writeNumberField("maxOutputTokens", maxOutputTokens);
+        g.writeEndObject();
+
+        g.writeArrayFieldStart("safetySettings");
+        for (String category : safetyCategories) {
+            g.writeStartObject();
+            g.writeStringField("category", category);
+            g.writeStringField("threshold", safetyThreshold);
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+
+        g.writeEndObject();
+    }
+
+    private static void writeMessages(JsonGenerator g, List<ChatMessage> history, String question) throws IOException {
+        g.writeArrayFieldStart("messages");
+        for (ChatMessage message : history) {
+            writeMessage(g, message.role(), message.content());
+        }
+        writeMessage(g, "user", question);
+        g.writeEndArray();
+    }
+
+    private static void writeMessage(JsonGenerator g, String role, String content) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("role", role);
+        g.writeStringField("content", content);
+        g.writeEndObject();
+    }
+
+    // 캐시 브레이크포인트는 content 블록에만 붙일 수 있으므로 배열 형태로 작성
+    private static void writeCachedMessage(JsonGenerator g, String role, String content) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("role", role);
+        g.writeArrayFieldStart("content");
+        g.writeStartObject();
+        g.writeStringField("type", "text");
+        g.writeStringField("text", content);
+        g.writeObjectFieldStart("cache_control");
+        g.writeStringField("type", "ephemeral");
+        g.writeEndObject();
+        g.writeEndObject();
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+
+    private static void writeGeminiContent(JsonGenerator g, String role, String text) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("role", role);
+        g.writeArrayFieldStart("parts");
+        g.writeStartObject();
+        g.writeStringField("text", text);
+        g.writeEndObject();
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+}
@@ -0,0 +1,159 @@
+package com.kafibara.chatbot.ai.impl;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mock 시뮬레이터용 확률 분포 (지연 ms, 출력 토큰 수 등 0 이상의 정수 값)
+ * fixed / uniform / normal / log-normal / histogram(실측 분포 재생) 지원
+ *
+ * <pre>
+ * {prefix}.type: log-normal
+ * {prefix}.median: 400      # log-normal 중앙값
+ * {prefix}.sigma: 0.5       # log-normal 로그 표준편차
+ * {prefix}.histogram: 100:0.2,250:0.5,600:0.25,2000:0.05   # 상한값:가중치 (구간 안에서는 균등)
+ * </pre>
+ */
+final class SimulatedDistribution {
+
+    enum Type {
+        FIXED, UNIFORM, NORMAL, LOG_NORMAL, HISTOGRAM
+    }
+
+    private final Type type;
+    private final double a;
+    private final double b;
+    private final long[] bounds;
+    private final double[] cumulativeWeights;
+
+    private SimulatedDistribution(Type type, double a, double b, long[] bounds, double[] cumulativeWeights) {
+        this.type = type;
+        this.a = a;
+        this.b = b;
+        this.bounds = bounds;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static SimulatedDistribution fixed(long value) {
+        return new SimulatedDistribution(Type.FIXED, value, 0, null, null);
+    }
+
+    static SimulatedDistribution uniform(long min, long max) {
+        return new SimulatedDistribution(Type.UNIFORM, min, Math.max(min, max), null, null);
+    }
+
+    static SimulatedDistribution normal(double mean, double stddev) {
+        return new SimulatedDistribution(Type.NORMAL, mean, stddev, null, null);
+    }
+
+    static SimulatedDistribution logNormal(double median, double sigma) {
+        return new SimulatedDistribution(Type.LOG_NORMAL, Math.log(median), sigma, null, null);
+    }
+
+    /**
+     * "상한값:가중치" 목록으로 히스토그램 분포 생성 (상한값 오름차순 정렬, 가중치는 정규화)
+     */
+    static SimulatedDistribution histogram(String spec) {
+        String[] entries = spec.split(",");
+        long[][] pairs = new long[entries.length][];
+        double[] weights = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 히스토그램 항목입니다 (상한값:가중치): " + entries[i]);
+            }
+            pairs[i] = new long[]{Long.parseLong(parts[0].trim()), i};
+            weights[i] = Double.parseDouble(parts[1].trim());
+        }
+        Arrays.sort(pairs, (x, y) -> Long.compare(x[0], y[0]));
+
+        long[] bounds = new long[entries.length];
+        double[] cumulative = new double[entries.length];
+        double total = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            bounds[i] = pairs[i][0];
+            total += weights[(int) pairs[i][1]];
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("히스토그램 가중치 합은 0보다 커야 합니다: " + spec);
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new SimulatedDistribution(Type.HISTOGRAM, 0, 0, bounds, cumulative);
+    }
+
+    /**
+     * {prefix}.type 과 타입별 파라미터로 분포 생성, type 이 없으면 기본 분포 반환
+     */
+    static SimulatedDistribution from(Environment environment, String prefix, SimulatedDistribution defaultValue) {
+        String type = environment.getProperty(prefix + ".type");
+        if (type == null) {
+            return defaultValue;
+        }
+
+        return switch (Type.valueOf(type.trim().toUpperCase(Locale.ROOT).replace('-', '_'))) {
+            case FIXED -> fixed(required(environment, prefix, "value"));
+            case UNIFORM -> uniform(required(environment, prefix, "min"), required(environment, prefix, "max"));
+            case NORMAL -> normal(required(environment, prefix, "mean"),
+                environment.getProperty(prefix + ".stddev", Double.class, 0.0));
+            case LOG_NORMAL -> logNormal(required(environment, prefix, "median"),
+                environment.getProperty(prefix + ".sigma", Double.class, 0.5));
+            case HISTOGRAM -> {
+                String spec = environment.getProperty(prefix + ".histogram");
+                if (spec == null || spec.isBlank()) {
+                    throw new IllegalArgumentException(prefix + ".histogram 설정이 필요합니다.");
+                }
+                yield histogram(spec);
+            }
+        };
+    }
+
+    private static long required(Environment environment, String prefix, String key) {
+        Double value = environment.getProperty(prefix + "." + key, Double.class);
+        if (value == null) {
+            throw new IllegalArgumentException(prefix + "." + key + " 설정이 필요합니다.");
+        }
+        return Math.round(value);
+    }
+
+    /**
+     * 분포에서 값 하나를 뽑음 (음수는 0 으로 보정)
+     */
+    long sample(RandomGenerator random) {
+        double value = switch (type) {
+            case FIXED -> a;
+            case UNIFORM -> a + random.nextDouble() * (b - a);
+            case NORMAL -> a + random.nextGaussian() * b;
+            case LOG_NORMAL -> Math.exp(a + random.nextGaussian() * b);
+            case HISTOGRAM -> sampleHistogram(random);
+        };
+        return Math.max(0, Math.round(value));
+    }
+
+    private double sampleHistogram(RandomGenerator random) {
+        double u = random.nextDouble();
+        int bucket = Arrays.binarySearch(cumulativeWeights, u);
+        if (bucket < 0) {
+            bucket = -bucket - 1;
+        }
+        bucket = Math.min(bucket, bounds.length - 1);
+        long lower = bucket == 0 ? 0 : bounds[bucket - 1];
+        return lower + random.nextDouble() * (bounds[bucket] - lower);
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case FIXED -> "fixed(" + (long) a + ")";
+            case UNIFORM -> "uniform(" + (long) a + ".." + (long) b + ")";
+            case NORMAL -> "normal(mean=" + a + ", stddev=" + b + ")";
+            case LOG_NORMAL -> "log-normal(median=" + Math.round(Math.exp(a)) + ", sigma=" + b + ")";
+            case HISTOGRAM -> "histogram" + Arrays.toString(bounds);
+        };
+    }
+}
@@ -32,6 +32,7 @@ public class AIServiceController {
                 .displayName(entry.getValue().getDisplayName())
                 .defaultModel(entry.getValue().getDefaultModel())
                 .supportedModels(entry.getValue().getSupportedModels())
+                .circuitState(aiServiceFactory.getCircuitState(entry.getKey()))
                 .build())
             .toList();
         
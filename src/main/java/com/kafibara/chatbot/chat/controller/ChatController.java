@@ -2,8 +2,11 @@ package com.kafibara.chatbot.chat.controller;
 
 import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.chat.ratelimit.AdaptiveConcurrencyLimiter;
+import com.kafibara.chatbot.chat.ratelimit.ChatRateLimiter;
 import com.kafibara.chatbot.user.entity.User;
 import com.kafibara.chatbot.chat.service.ChatService;
+import com.kafibara.chatbot.chat.service.ChatStreamRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
@@ -30,21 +34,54 @@ public class ChatController {
     
     private final ChatService chatService;
     
+    private final ChatRateLimiter chatRateLimiter;
+    
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    
+    private final ChatStreamRegistry chatStreamRegistry;
+    
     @PostMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "AI 채팅", description = "스트리밍 방식으로 AI와 대화합니다.")
-    public Flux<String> chat(
+    @Operation(summary = "AI 채팅", description = "스트리밍 방식으로 AI와 대화합니다. Last-Event-ID 헤더로 재연결하면 끊긴 지점부터 이어서 받습니다.")
+    public Flux<ServerSentEvent<String>> chat(
             @Valid @RequestBody ChatRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            log.info("스트리밍 채팅 재개 요청 - 사용자: {}, Last-Event-ID: {}", user.getEmail(), lastEventId);
+            return withErrorEvent(chatStreamRegistry.resume(user.getId(), lastEventId), user);
+        }
         
         log.info("스트리밍 채팅 요청 - 사용자: {}, 서비스: {}, 슽질문: {}",
                 user.getEmail(), request.getAiService(), request.getQuestion());
         
-        return chatService.createStreamingChat(request, user)
-            .doOnComplete(() -> log.info("스트리밍 채팅 완료 - 사용자: {}", user.getEmail()))
-            .onErrorResume(error -> {
-                log.error("스트리밍 채팅 오류 - 사용자: {}, 오류: {}", user.getEmail(), error.getMessage());
-                return Flux.just("data: 죄송합니다. 응답 생성 중 오류가 발생했습니다.\n\n");
-            });
+        // 스트림을 반환하기 전에 동기적으로 확인해야 429/503 응답이 가능
+        chatRateLimiter.checkUser(user);
+        var permit = concurrencyLimiter.acquire();
+        
+        Flux<String> stream;
+        try {
+            stream = chatService.createStreamingChat(request, user);
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+        
+        // 허가는 클라이언트 연결이 아니라 제공자 스트림 수명에 묶음 (재연결 중에도 생성은 계속됨)
+        return withErrorEvent(chatStreamRegistry.start(user.getId(), stream
+            .doOnNext(token -> permit.onFirstResponse())
+            .doFinally(signal -> permit.release())
+            .doOnComplete(() -> log.info("스트리밍 채팅 완료 - 사용자: {}", user.getEmail()))), user);
+    }
+    
+    private Flux<ServerSentEvent<String>> withErrorEvent(Flux<ServerSentEvent<String>> events, User user) {
+        return events.onErrorResume(error -> {
+            log.error("스트리밍 채팅 오류 - 사용자: {}, 오류: {}", user.getEmail(), error.getMessage());
+            return Flux.just(ServerSentEvent.<String>builder()
+                .event("error")
+                .data("죄송합니다. 응답 생성 중 오류가 발생했습니다.")
+                .build());
+        });
     }
     
     @GetMapping
@@ -20,4 +20,7 @@ public class AIServiceInfo {
     private String defaultModel;
     
     private List<String> supportedModels;
+    
+    // 서킷 브레이커 상태 (CLOSED, OPEN, HALF_OPEN)
+    private String circuitState;
 }
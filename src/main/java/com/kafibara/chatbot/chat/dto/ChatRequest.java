@@ -1,6 +1,7 @@
 package com.kafibara.chatbot.chat.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,14 @@ public class ChatRequest {
     
     private String aiService;
     
+    // 출력 토큰 한도 (미지정 시 남은 컨텍스트 윈도우로 산정)
+    @Positive(message = "출력 토큰 한도는 양수여야 합니다.")
+    private Integer maxTokens;
+    
     @Builder.Default
     private Boolean isStreaming = false;
+    
+    // true 면 응답 캐시를 조회하지 않고 제공자를 호출 (새 응답으로 캐시 갱신)
+    @Builder.Default
+    private Boolean noCache = false;
 }
@@ -1,5 +1,6 @@
 package com.kafibara.chatbot.chat.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,5 +24,11 @@ public class ChatResponse {
     
     private String model;
     
+    private boolean truncated;
+    
+    // 제공자가 정상 답변을 끝까지 생성했는지 (대체 문구/차단 안내는 false, 응답 캐시 저장 대상 아님)
+    @JsonIgnore
+    private boolean completed;
+    
     private LocalDateTime createdAt;
 }
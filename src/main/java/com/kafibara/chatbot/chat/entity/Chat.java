@@ -35,6 +35,17 @@ public class Chat {
     @Column(length = 50)
     private String model;
     
+    // 컨텍스트 예산 계산용 토큰 수 (저장 시 한 번만 계산)
+    @Column(name = "question_tokens")
+    private Integer questionTokens;
+    
+    @Column(name = "answer_tokens")
+    private Integer answerTokens;
+    
+    // 클라이언트 연결 종료로 생성이 중단된 부분 답변 여부
+    @Column(name = "truncated")
+    private Boolean truncated;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,147 @@
+package com.kafibara.chatbot.chat.ratelimit;
+
+import com.kafibara.chatbot.config.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 관측 지연 기반 동시 처리 한도 (Gradient2 방식)
+ * 단기 지연(최근 첫 토큰 지연 EWMA)이 장기 기준 지연보다 커지면 한도를 줄이고, 비슷하면 sqrt(limit) 만큼 여유를 두고 늘림
+ * 첫 응답 없이 끝난 요청(타임아웃, 오류, 취소)은 종료까지 걸린 시간을 지연 표본으로 사용
+ * 한도를 넘는 요청은 대기열에 쌓지 않고 즉시 거절
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private LongSupplier nanoClock = System::nanoTime;
+    private volatile double limit;
+
+    private double shortRttNanos = -1;
+    private double longRttNanos = -1;
+
+    private final Counter rejectedCounter;
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${chat.concurrency.enabled:true}") boolean enabled,
+            @Value("${chat.concurrency.initial-limit:50}") int initialLimit,
+            @Value("${chat.concurrency.min-limit:10}") int minLimit,
+            @Value("${chat.concurrency.max-limit:500}") int maxLimit,
+            @Value("${chat.concurrency.tolerance:1.5}") double tolerance,
+            @Value("${chat.concurrency.smoothing:0.2}") double smoothing) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+
+        Gauge.builder("chatbot.chat.concurrency.limit", this, limiter -> limiter.limit)
+            .description("Current adaptive concurrency limit for chat requests")
+            .register(meterRegistry);
+        Gauge.builder("chatbot.chat.concurrency.inflight", inFlight, AtomicInteger::get)
+            .description("Chat requests currently in flight")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("chatbot.chat.concurrency.rejected")
+            .description("Chat requests shed by the adaptive concurrency limit")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 처리 슬롯 획득, 한도 초과 시 ServiceOverloadedException
+     * 반환된 Permit 은 요청 종료 시 반드시 release 해야 함
+     */
+    public Permit acquire() {
+        if (!enabled) {
+            return new Permit(false);
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedCounter.increment();
+                throw new ServiceOverloadedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(true);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        shortRttNanos = shortRttNanos < 0 ? rttNanos : shortRttNanos + 0.2 * (rttNanos - shortRttNanos);
+        longRttNanos = longRttNanos < 0 ? rttNanos : longRttNanos + 0.01 * (rttNanos - longRttNanos);
+
+        // 지연이 크게 줄어든 뒤에는 기준 지연도 빠르게 따라 내려오도록 감쇠
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 상황에서는 지연 정보로 한도를 늘리지 않음
+        if (inFlightAtSample < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * 요청 하나가 점유한 처리 슬롯
+     */
+    public final class Permit {
+
+        private final boolean counted;
+        private final long start = nanoClock.getAsLong();
+        private final AtomicBoolean sampled = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(boolean counted) {
+            this.counted = counted;
+        }
+
+        /**
+         * 첫 응답 시점의 지연을 한도 계산에 반영 (최초 한 번만)
+         * 스트림 전체 길이는 답변 길이에 좌우되므로 첫 토큰 지연을 사용
+         */
+        public void onFirstResponse() {
+            if (counted && sampled.compareAndSet(false, true)) {
+                onSample(nanoClock.getAsLong() - start, inFlight.get());
+            }
+        }
+
+        /**
+         * 슬롯 반환, 첫 응답 없이 끝났다면 종료까지 걸린 시간을 표본으로 반영
+         * 타임아웃처럼 오래 걸린 실패는 단기 지연을 끌어올려 한도를 줄이고, 빠른 실패는 한도를 줄이지 않음
+         */
+        public void release() {
+            if (counted && released.compareAndSet(false, true)) {
+                if (sampled.compareAndSet(false, true)) {
+                    onSample(nanoClock.getAsLong() - start, inFlight.get());
+                }
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
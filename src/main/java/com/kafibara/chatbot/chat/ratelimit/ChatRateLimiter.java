@@ -0,0 +1,127 @@
+package com.kafibara.chatbot.chat.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kafibara.chatbot.config.exception.RateLimitExceededException;
+import com.kafibara.chatbot.user.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 요청 한도 (사용자별, 제공자별 토큰 버킷)
+ * 사용자 한도: chat.rate-limit.roles.{ROLE}.requests-per-minute / burst
+ * 제공자 한도: ai.{provider}.rate-limit.requests-per-minute / burst (미설정 시 제한 없음)
+ */
+@Component
+@Slf4j
+public class ChatRateLimiter {
+
+    private static final String PROVIDER_LIMIT_MESSAGE = "AI 서비스 요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요.";
+
+    private final Environment environment;
+    private final boolean enabled;
+
+    private final Cache<Long, TokenBucket> userBuckets;
+    private final ConcurrentMap<String, TokenBucket> providerBuckets = new ConcurrentHashMap<>();
+
+    private final Counter userRejectedCounter;
+    private final Counter providerRejectedCounter;
+
+    public ChatRateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.enabled = environment.getProperty("chat.rate-limit.enabled", Boolean.class, true);
+
+        // 유휴 사용자의 버킷은 가득 찬 상태와 같으므로 만료시켜도 동작이 바뀌지 않음
+        this.userBuckets = Caffeine.newBuilder()
+            .maximumSize(environment.getProperty("chat.rate-limit.maximum-users", Long.class, 100_000L))
+            .expireAfterAccess(environment.getProperty("chat.rate-limit.idle-expiry", Duration.class, Duration.ofMinutes(10)))
+            .build();
+
+        this.userRejectedCounter = rejectedCounter(meterRegistry, "user");
+        this.providerRejectedCounter = rejectedCounter(meterRegistry, "provider");
+    }
+
+    /**
+     * 사용자 한도 확인 (역할별 한도 적용), 초과 시 RateLimitExceededException
+     */
+    public void checkUser(User user) {
+        checkUser(user.getId(), user.getRole());
+    }
+
+    /**
+     * 엔티티 없이 사용자 ID 와 역할로 한도 확인 (배치 실행처럼 요청 스레드 밖에서 차감할 때)
+     */
+    public void checkUser(Long userId, User.Role role) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        TokenBucket bucket = userBuckets.get(userId, id -> createBucket("chat.rate-limit.roles." + role.name()));
+        acquire(bucket, userRejectedCounter, "요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    /**
+     * 제공자 한도 확인 (전체 사용자 공유 할당량 보호), 초과 시 RateLimitExceededException
+     */
+    public void checkProvider(String provider) {
+        if (!enabled) {
+            return;
+        }
+        acquire(providerBucket(provider), providerRejectedCounter, PROVIDER_LIMIT_MESSAGE);
+    }
+
+    /**
+     * 제공자 한도를 차감하지 않고 남은 토큰이 있는지만 확인, 없으면 RateLimitExceededException
+     * 실제 차감은 캐시/동일 요청 합치기로 해결되지 않아 제공자를 호출할 때 AIServiceGateway 에서 수행
+     */
+    public void ensureProviderCapacity(String provider) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = providerBucket(provider).availableIn(System.nanoTime());
+        if (waitNanos > 0) {
+            throw rateLimited(waitNanos, PROVIDER_LIMIT_MESSAGE);
+        }
+    }
+
+    private TokenBucket providerBucket(String provider) {
+        return providerBuckets.computeIfAbsent(provider, name -> createBucket("ai." + name + ".rate-limit"));
+    }
+
+    private void acquire(TokenBucket bucket, Counter rejectedCounter, String message) {
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            rejectedCounter.increment();
+            throw rateLimited(waitNanos, message);
+        }
+    }
+
+    private static RateLimitExceededException rateLimited(long waitNanos, String message) {
+        // Retry-After 는 초 단위이므로 올림
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new RateLimitExceededException(message, Duration.ofSeconds(seconds));
+    }
+
+    private TokenBucket createBucket(String prefix) {
+        Integer perMinute = environment.getProperty(prefix + ".requests-per-minute", Integer.class);
+        if (perMinute == null || perMinute <= 0) {
+            return TokenBucket.unlimited();
+        }
+        int burst = environment.getProperty(prefix + ".burst", Integer.class, perMinute);
+        return new TokenBucket(perMinute, burst);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("chatbot.ratelimit.rejected")
+            .description("Chat requests rejected by rate limits")
+            .tag("scope", scope)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.kafibara.chatbot.chat.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA 형태)
+ * 남은 토큰 수 대신 "버킷이 다시 가득 차는 시각"(TAT) 하나만 AtomicLong 으로 유지하므로
+ * 요청당 CAS 한 번으로 판정하고 객체 할당이 없음
+ */
+public class TokenBucket {
+
+    private static final TokenBucket UNLIMITED = new TokenBucket();
+
+    private final boolean unlimited;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param permitsPerMinute 분당 보충 토큰 수
+     * @param capacity         버킷 용량 (연속 허용 요청 수)
+     */
+    public TokenBucket(int permitsPerMinute, int capacity) {
+        if (permitsPerMinute <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("permitsPerMinute 와 capacity 는 0보다 커야 합니다.");
+        }
+        this.unlimited = false;
+        this.intervalNanos = Duration.ofMinutes(1).toNanos() / permitsPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    private TokenBucket() {
+        this.unlimited = true;
+        this.intervalNanos = 0;
+        this.burstNanos = 0;
+    }
+
+    /**
+     * 항상 허용하는 버킷 (한도 미설정)
+     */
+    public static TokenBucket unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * 토큰 하나를 소비
+     * @return 허용되면 0, 거절되면 다음 토큰까지 기다려야 하는 나노초
+     */
+    public long tryAcquire(long nowNanos) {
+        if (unlimited) {
+            return 0;
+        }
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat == Long.MIN_VALUE ? nowNanos : tat, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 토큰을 소비하지 않고 지금 하나를 얻을 수 있는지 확인
+     * @return 남은 토큰이 있으면 0, 없으면 다음 토큰까지 기다려야 하는 나노초
+     */
+    public long availableIn(long nowNanos) {
+        if (unlimited) {
+            return 0;
+        }
+        long tat = theoreticalArrival.get();
+        long next = Math.max(tat == Long.MIN_VALUE ? nowNanos : tat, nowNanos) + intervalNanos;
+        return Math.max(0, next - nowNanos - burstNanos);
+    }
+}
@@ -1,7 +1,12 @@
 package com.kafibara.chatbot.chat.service;
 
+import com.kafibara.chatbot.chat.ai.AIService;
 import com.kafibara.chatbot.chat.ai.AIServiceFactory;
+import com.kafibara.chatbot.chat.ai.AIServiceGateway;
 import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.ai.context.ContextWindow;
+import com.kafibara.chatbot.chat.ai.context.ContextWindowManager;
+import com.kafibara.chatbot.chat.ai.context.TokenCounter;
 import com.kafibara.chatbot.chat.dto.ChatRequest;
 import com.kafibara.chatbot.chat.dto.ChatResponse;
 import com.kafibara.chatbot.chat.entity.Chat;
@@ -17,10 +22,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -33,82 +39,136 @@ public class ChatService {
     private final ChatRepository chatRepository;
     private final ThreadRepository threadRepository;
     private final AIServiceFactory aiServiceFactory;
+    private final AIServiceGateway aiServiceGateway;
     private final Counter chatRequestCounter;
+    private final Counter cancelledStreamCounter;
+    private final Counter savedOutputTokensCounter;
     private final Timer aiResponseTimer;
+    private final Scheduler chatPersistenceScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final ConversationHistoryCache historyCache;
+    private final ContextWindowManager contextWindowManager;
+    private final TokenCounter tokenCounter;
     
     private static final int THREAD_TIMEOUT_MINUTES = 30;
     
-    @Transactional
+    /**
+     * 1) 짧은 트랜잭션으로 스레드/히스토리 조회 2) 제공자 호출은 완전히 리액티브 3) 짧은 트랜잭션으로 저장
+     * DB 커넥션은 LLM 왕복 동안 점유되지 않음
+     */
     public Mono<ChatResponse> createChat(ChatRequest request, User user) {
         chatRequestCounter.increment();
         
-        return Mono.fromCallable(() -> {
-            try {
-                var thread = getOrCreateThread(user);
-                var conversationHistory = buildConversationHistory(thread);
-                var aiService = aiServiceFactory.getService(request.getAiService());
-                
-                log.info("사용자 {}가 {} 서비스로 질문: {}", 
-                    user.getEmail(), aiService.getServiceName(), request.getQuestion());
-                
+        var aiService = aiServiceFactory.getService(request.getAiService());
+        
+        log.info("사용자 {}가 {} 서비스로 질문: {}", 
+            user.getEmail(), aiService.getServiceName(), request.getQuestion());
+        
+        return loadChatContext(user)
+            .flatMap(context -> {
+                var window = fitContextWindow(aiService, request, context.history());
                 Timer.Sample sample = Timer.start();
                 
-                // Mono를 동기적으로 처리
-                ChatResponse response = aiService.generateResponse(request, conversationHistory)
+                return aiServiceGateway.generateResponse(aiService, request, window.history())
                     .doOnNext(res -> sample.stop(aiResponseTimer))
-                    .block(); // 동기적으로 대기
-                
-                if (response != null) {
-                    return saveChat(thread, request, response);
-                } else {
-                    throw new RuntimeException("AI 응답 생성 실패");
-                }
-            } catch (Exception e) {
-                log.error("대화 생성 실패 - 사용자: {}, 오류: {}", user.getEmail(), e.getMessage(), e);
-                throw e;
-            }
-        });
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("AI 응답 생성 실패")))
+                    .flatMap(response -> saveChatAsync(context.thread(), request, response, window.questionTokens()));
+            })
+            .doOnError(error -> log.error("대화 생성 실패 - 사용자: {}, 오류: {}", 
+                user.getEmail(), error.getMessage(), error));
     }
     
-    @Transactional
     public Flux<String> createStreamingChat(ChatRequest request, User user) {
         chatRequestCounter.increment();
         
-        try {
-            var thread = getOrCreateThread(user);
-            var conversationHistory = buildConversationHistory(thread);
-            var aiService = aiServiceFactory.getService(request.getAiService());
-            
-            log.info("사용자 {}가 {} 서비스로 스트리밍 질문: {}", 
-                user.getEmail(), aiService.getServiceName(), request.getQuestion());
-            
-            // 동기적으로 응답 생성 및 저장
-            ChatResponse response = aiService.generateResponse(request, conversationHistory).block();
-            
-            if (response != null) {
-                // 응답을 즉시 저장
-                ChatResponse savedResponse = saveChat(thread, request, response);
-                log.info("응답 저장 완료 - Chat ID: {}, 길이: {} 문자", 
-                    savedResponse.getChatId(), response.getAnswer().length());
+        var aiService = aiServiceFactory.getService(request.getAiService());
+        
+        log.info("사용자 {}가 {} 서비스로 스트리밍 질문: {}", 
+            user.getEmail(), aiService.getServiceName(), request.getQuestion());
+        
+        // JPA 조회는 전용 스케줄러에서 수행하고, 토큰은 도착하는 즉시 전달
+        return loadChatContext(user)
+            .flatMapMany(context -> {
+                var window = fitContextWindow(aiService, request, context.history());
+                // 취소 신호는 토큰 전달 스레드와 다른 스레드에서 올 수 있으므로 동기화된 버퍼 사용
+                StringBuffer answer = new StringBuffer();
+                Timer.Sample sample = Timer.start();
                 
-                // 저장된 응답을 스트리밍으로 전송
-                String answer = response.getAnswer();
-                if (answer != null && !answer.isEmpty()) {
-                    String[] words = answer.split(" ");
-                    return Flux.fromArray(words)
-                            .delayElements(Duration.ofMillis(50)) // 50ms 간격으로 단어 전송
-                            .map(word -> word + " ");
-                } else {
-                    return Flux.just("응답을 생성할 수 없습니다.");
-                }
-            } else {
-                return Flux.just("AI 서비스에서 응답을 생성하지 못했습니다.");
-            }
-            
-        } catch (Exception e) {
-            log.error("스트리밍 대화 생성 실패 - 사용자: {}, 오류: {}", user.getEmail(), e.getMessage(), e);
-            return Flux.just("오류가 발생했습니다: " + e.getMessage());
+                // 구독 취소는 게이트웨이를 거쳐 제공자 WebClient 요청까지 전파되어 연결이 닫힘
+                return aiServiceGateway.generateStreamingResponse(aiService, request, window.history())
+                    .doOnNext(answer::append)
+                    .doOnCancel(() -> persistCancelledAnswer(context.thread(), request, aiService,
+                        answer.toString(), window.questionTokens()))
+                    .concatWith(Mono.defer(() -> {
+                        sample.stop(aiResponseTimer);
+                        return persistStreamedAnswer(context.thread(), request, aiService, answer.toString(),
+                            window.questionTokens(), false);
+                    }).then(Mono.<String>empty()));
+            })
+            .doOnError(error -> log.error("스트리밍 대화 생성 실패 - 사용자: {}, 오류: {}", 
+                user.getEmail(), error.getMessage(), error));
+    }
+    
+    /**
+     * 클라이언트 연결 종료로 취소된 스트림의 부분 답변을 truncated 로 저장하고, 생성하지 않은 출력 토큰을 추정해 기록
+     * 취소 신호 이후에는 구독자가 없으므로 저장은 별도로 구독
+     */
+    private void persistCancelledAnswer(Thread thread, ChatRequest request, AIService aiService,
+                                        String answer, int questionTokens) {
+        cancelledStreamCounter.increment();
+        
+        int producedTokens = answer.isEmpty() ? 0 : tokenCounter.count(resolveModel(aiService, request), answer);
+        if (request.getMaxTokens() != null) {
+            savedOutputTokensCounter.increment(Math.max(0, request.getMaxTokens() - producedTokens));
         }
+        log.info("스트리밍 취소 - Thread ID: {}, 생성된 토큰: {}, 출력 한도: {}",
+            thread.getId(), producedTokens, request.getMaxTokens());
+        
+        persistStreamedAnswer(thread, request, aiService, answer, questionTokens, true).subscribe();
+    }
+    
+    /**
+     * 스트림 완료(또는 취소) 후 누적된 답변을 저장
+     */
+    private Mono<ChatResponse> persistStreamedAnswer(Thread thread, ChatRequest request, AIService aiService,
+                                                     String answer, int questionTokens, boolean truncated) {
+        if (answer.isEmpty()) {
+            log.warn("스트리밍 응답이 비어 있어 저장하지 않습니다 - Thread ID: {}", thread.getId());
+            return Mono.empty();
+        }
+        
+        ChatResponse response = ChatResponse.builder()
+            .answer(answer)
+            .model(resolveModel(aiService, request))
+            .truncated(truncated)
+            .build();
+        
+        return saveChatAsync(thread, request, response, questionTokens)
+            .doOnNext(saved -> log.info("응답 저장 완료 - Chat ID: {}, 길이: {} 문자", 
+                saved.getChatId(), answer.length()))
+            .onErrorResume(error -> {
+                // 답변은 이미 전달되었으므로 저장 실패로 스트림을 깨뜨리지 않음
+                log.error("스트리밍 응답 저장 실패 - Thread ID: {}, 오류: {}", thread.getId(), error.getMessage(), error);
+                return Mono.empty();
+            });
+    }
+    
+    /**
+     * 모델별 토큰 예산에 맞게 히스토리를 자르고, 남은 윈도우로 출력 토큰 한도를 설정
+     */
+    private ContextWindow fitContextWindow(AIService aiService, ChatRequest request, List<ChatMessage> history) {
+        var window = contextWindowManager.fit(resolveModel(aiService, request), request.getQuestion(), history);
+        
+        int maxTokens = request.getMaxTokens() != null
+            ? Math.min(request.getMaxTokens(), window.maxOutputTokens())
+            : window.maxOutputTokens();
+        request.setMaxTokens(maxTokens);
+        
+        return window;
+    }
+    
+    private String resolveModel(AIService aiService, ChatRequest request) {
+        return request.getModel() != null ? request.getModel() : aiService.getDefaultModel();
     }
     
     private Mono<String> generateFollowUpQuestion(String previousAnswer, User user, Object aiService) {
@@ -161,9 +221,38 @@ public class ChatService {
         }
         
         threadRepository.delete(thread);
+        historyCache.invalidate(threadId);
         log.info("스레드 삭제 - ID: {}, 사용자: {}", threadId, user.getEmail());
     }
     
+    /**
+     * 스레드 조회/생성과 히스토리 조회를 하나의 짧은 트랜잭션으로 실행
+     */
+    private Mono<ChatContext> loadChatContext(User user) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+                var thread = getOrCreateThread(user);
+                return new ChatContext(thread, buildConversationHistory(thread));
+            }))
+            .subscribeOn(chatPersistenceScheduler);
+    }
+    
+    /**
+     * 대화 저장을 하나의 짧은 트랜잭션으로 실행
+     */
+    private Mono<ChatResponse> saveChatAsync(Thread thread, ChatRequest request, ChatResponse response, int questionTokens) {
+        return Mono.fromCallable(() -> {
+                // 토큰 계산은 트랜잭션 밖에서 수행
+                int answerTokens = tokenCounter.count(response.getModel(), response.getAnswer());
+                ChatResponse saved = transactionTemplate.execute(
+                    status -> saveChat(thread, request, response, questionTokens, answerTokens));
+                // 커밋 이후에만 캐시에 반영
+                historyCache.append(thread.getId(), saved.getChatId(), response.getModel(),
+                    request.getQuestion(), questionTokens, response.getAnswer(), answerTokens);
+                return saved;
+            })
+            .subscribeOn(chatPersistenceScheduler);
+    }
+    
     private Thread getOrCreateThread(User user) {
         // User 엔티티의 threads 컬렉션에 접근하지 않고 직접 Repository로 조회
         var latestThread = threadRepository.findTopByUserIdOrderByUpdatedAtDesc(user.getId());
@@ -186,21 +275,31 @@ public class ChatService {
     }
     
     private List<ChatMessage> buildConversationHistory(Thread thread) {
-        return chatRepository.findByThreadOrderByCreatedAtAsc(thread)
-            .stream()
+        return historyCache.get(thread.getId(), () -> chatRepository.findByThreadOrderByCreatedAtAsc(thread));
+    }
+    
+    /**
+     * 저장된 대화를 시간순 user/assistant 메시지 목록으로 변환
+     */
+    static List<ChatMessage> toConversationHistory(List<Chat> chats) {
+        return chats.stream()
             .flatMap(chat -> List.of(
-                ChatMessage.user(chat.getQuestion()),
-                ChatMessage.assistant(chat.getAnswer())
+                ChatMessage.user(chat.getQuestion(), chat.getQuestionTokens(), chat.getModel()),
+                ChatMessage.assistant(chat.getAnswer(), chat.getAnswerTokens(), chat.getModel())
             ).stream())
             .toList();
     }
     
-    private ChatResponse saveChat(Thread thread, ChatRequest request, ChatResponse response) {
+    private ChatResponse saveChat(Thread thread, ChatRequest request, ChatResponse response,
+                                  int questionTokens, int answerTokens) {
         Chat chat = Chat.builder()
             .thread(thread)
             .question(request.getQuestion())
             .answer(response.getAnswer())
             .model(response.getModel())
+            .questionTokens(questionTokens)
+            .answerTokens(answerTokens)
+            .truncated(response.isTruncated())
             .build();
         
         Chat savedChat = chatRepository.save(chat);
@@ -226,7 +325,14 @@ public class ChatService {
             .question(chat.getQuestion())
             .answer(chat.getAnswer())
             .model(chat.getModel())
+            .truncated(Boolean.TRUE.equals(chat.getTruncated()))
             .createdAt(chat.getCreatedAt())
             .build();
     }
+    
+    /**
+     * AI 호출 전에 준비되는 스레드와 대화 히스토리
+     */
+    private record ChatContext(Thread thread, List<ChatMessage> history) {
+    }
 }
@@ -0,0 +1,209 @@
+package com.kafibara.chatbot.chat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재개 가능한 채팅 SSE 스트림 관리
+ * 제공자 스트림은 클라이언트 연결과 별개로 한 번만 구독하고, 토큰마다 "streamId-seq" 형식의 이벤트 ID 를 부여해
+ * 스트림별 제한된 리플레이 버퍼에 보관함. Last-Event-ID 로 재연결하면 제공자를 다시 호출하지 않고 이어서 전달
+ * 종료된 스트림은 retention 동안 남겨 두어 끝부분을 놓친 클라이언트도 재개할 수 있음
+ * 구독 중인 클라이언트가 모두 끊긴 채 cancel-grace 가 지나면 제공자 호출을 취소해 읽히지 않을 토큰 생성을 중단
+ */
+@Component
+@Slf4j
+public class ChatStreamRegistry {
+
+    private static final ServerSentEvent<String> HEARTBEAT = ServerSentEvent.<String>builder()
+        .comment("heartbeat")
+        .build();
+
+    private final Map<String, ChatStream> streams = new ConcurrentHashMap<>();
+    private final int replaySize;
+    private final Duration retention;
+    private final Duration heartbeatInterval;
+    private final Duration cancelGrace;
+    private final Counter resumedCounter;
+    private final Counter resumeRejectedCounter;
+
+    public ChatStreamRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${chat.stream.replay-size:4096}") int replaySize,
+            @Value("${chat.stream.retention:2m}") Duration retention,
+            @Value("${chat.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${chat.stream.cancel-grace:10s}") Duration cancelGrace) {
+        this.replaySize = replaySize;
+        this.retention = retention;
+        this.heartbeatInterval = heartbeatInterval;
+        this.cancelGrace = cancelGrace;
+
+        Gauge.builder("chatbot.chat.stream.active", streams, Map::size)
+            .description("Chat streams kept for resume")
+            .register(meterRegistry);
+        this.resumedCounter = Counter.builder("chatbot.chat.stream.resume")
+            .description("Chat stream resume attempts")
+            .tag("result", "resumed")
+            .register(meterRegistry);
+        this.resumeRejectedCounter = Counter.builder("chatbot.chat.stream.resume")
+            .description("Chat stream resume attempts")
+            .tag("result", "rejected")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 새 스트림을 등록하고 제공자 스트림 구독을 시작한 뒤, 처음부터의 SSE 이벤트 반환
+     */
+    public Flux<ServerSentEvent<String>> start(Long userId, Flux<String> source) {
+        String streamId = UUID.randomUUID().toString();
+        ChatStream stream = new ChatStream(streamId, userId, Sinks.many().replay().limit(replaySize));
+        streams.put(streamId, stream);
+
+        stream.upstream = source
+            .doFinally(signal -> {
+                stream.terminated = true;
+                Schedulers.parallel().schedule(
+                    () -> streams.remove(streamId, stream), retention.toMillis(), TimeUnit.MILLISECONDS);
+            })
+            .subscribe(stream::emit, stream::fail, stream::complete);
+
+        return events(stream, 0);
+    }
+
+    /**
+     * Last-Event-ID 이후의 이벤트부터 이어서 전달
+     * 스트림이 만료되었거나 리플레이 버퍼 범위를 벗어나면 IllegalArgumentException
+     */
+    public Flux<ServerSentEvent<String>> resume(Long userId, String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        ChatStream stream = separator > 0 ? streams.get(lastEventId.substring(0, separator)) : null;
+        if (stream == null || !Objects.equals(stream.userId, userId)) {
+            resumeRejectedCounter.increment();
+            throw new IllegalArgumentException("재개할 스트림을 찾을 수 없습니다.");
+        }
+
+        long lastSeq;
+        try {
+            lastSeq = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            resumeRejectedCounter.increment();
+            throw new IllegalArgumentException("잘못된 Last-Event-ID 입니다: " + lastEventId);
+        }
+
+        // 버퍼에서 밀려난 이벤트가 있으면 이어 붙일 수 없으므로 새로 요청하도록 거절
+        if (lastSeq + 1 < stream.oldestBufferedSeq(replaySize)) {
+            resumeRejectedCounter.increment();
+            throw new IllegalArgumentException("재개 가능한 범위를 벗어났습니다. 새로 요청해주세요.");
+        }
+
+        resumedCounter.increment();
+        log.info("스트림 재개 - Stream ID: {}, 마지막 이벤트: {}", stream.id, lastSeq);
+        return events(stream, lastSeq);
+    }
+
+    private Flux<ServerSentEvent<String>> events(ChatStream stream, long afterSeq) {
+        Flux<ServerSentEvent<String>> data = stream.sink.asFlux()
+            .filter(event -> event.seq() > afterSeq)
+            .map(event -> ServerSentEvent.builder(event.data())
+                .id(stream.id + "-" + event.seq())
+                .build());
+
+        // 토큰 사이가 길어도 프록시/모바일 망에서 연결이 끊기지 않도록 데이터가 끝날 때까지 주석 이벤트 전송
+        return data.publish(shared -> Flux.merge(
+                shared,
+                Flux.interval(heartbeatInterval)
+                    .map(tick -> HEARTBEAT)
+                    .takeUntilOther(shared.then().onErrorComplete())))
+            .doOnSubscribe(subscription -> stream.attach())
+            .doFinally(signal -> {
+                if (stream.detach()) {
+                    scheduleCancel(stream);
+                }
+            });
+    }
+
+    /**
+     * 마지막 구독자가 끊기면 grace 동안 재연결을 기다린 뒤 제공자 스트림을 취소
+     * 취소된 스트림은 이어 붙일 수 없으므로 바로 제거
+     */
+    private void scheduleCancel(ChatStream stream) {
+        stream.pendingCancel = Schedulers.parallel().schedule(() -> {
+            if (stream.subscribers.get() > 0 || stream.terminated) {
+                return;
+            }
+            log.info("클라이언트 연결 종료로 스트림 취소 - Stream ID: {}, 전달된 이벤트: {}", stream.id, stream.lastSeq);
+            streams.remove(stream.id, stream);
+            stream.upstream.dispose();
+            stream.sink.tryEmitComplete();
+        }, cancelGrace.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private record StreamEvent(long seq, String data) {
+    }
+
+    private static final class ChatStream {
+
+        private final String id;
+        private final Long userId;
+        private final Sinks.Many<StreamEvent> sink;
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private volatile long lastSeq;
+        private volatile boolean terminated;
+        private volatile Disposable upstream;
+        private volatile Disposable pendingCancel;
+
+        ChatStream(String id, Long userId, Sinks.Many<StreamEvent> sink) {
+            this.id = id;
+            this.userId = userId;
+            this.sink = sink;
+        }
+
+        // 업스트림 구독자 하나에서만 호출되므로 순서가 보장됨
+        void emit(String data) {
+            long seq = lastSeq + 1;
+            lastSeq = seq;
+            sink.tryEmitNext(new StreamEvent(seq, data));
+        }
+
+        void fail(Throwable error) {
+            sink.tryEmitError(error);
+        }
+
+        void complete() {
+            sink.tryEmitComplete();
+        }
+
+        void attach() {
+            subscribers.incrementAndGet();
+            Disposable cancel = pendingCancel;
+            if (cancel != null) {
+                cancel.dispose();
+            }
+        }
+
+        // 마지막 구독자가 끊기고 제공자 스트림이 아직 진행 중이면 true
+        boolean detach() {
+            return subscribers.decrementAndGet() == 0 && !terminated;
+        }
+
+        long oldestBufferedSeq(int replaySize) {
+            return Math.max(1, lastSeq - replaySize + 1);
+        }
+    }
+}
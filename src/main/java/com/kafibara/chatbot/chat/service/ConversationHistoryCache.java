@@ -0,0 +1,152 @@
+package com.kafibara.chatbot.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.entity.Chat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 스레드별 대화 히스토리 캐시
+ * 매 요청마다 스레드의 모든 Chat 을 다시 읽지 않도록 ChatMessage 목록을 보관하고, 저장 시 새 턴을 덧붙임
+ * 전체 용량은 메시지 문자 수(weight)로 제한하고, 한 스레드가 너무 크면 캐시하지 않음
+ */
+@Component
+@Slf4j
+public class ConversationHistoryCache {
+
+    // 스레드 ID 해시로 나눈 변경 버전 (로드 도중 append/invalidate 가 있었는지 판별)
+    private static final int VERSION_STRIPES = 64;
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final int maxEntryWeight;
+
+    public ConversationHistoryCache(
+            MeterRegistry meterRegistry,
+            @Value("${chat.history-cache.maximum-weight:20000000}") long maximumWeight,
+            @Value("${chat.history-cache.max-entry-weight:500000}") int maxEntryWeight,
+            @Value("${chat.history-cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.maxEntryWeight = maxEntryWeight;
+        // 스레드 타임아웃(30분)과 같이 마지막 저장 이후 일정 시간이 지나면 만료
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Long threadId, Entry entry) -> weigh(entry.history()))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size 등 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "conversation-history");
+    }
+
+    /**
+     * 캐시된 히스토리 반환, 없으면 loader 로 스레드의 Chat 을 조회해 캐시
+     * DB 조회는 맵 잠금 밖에서 실행하고, 조회 중 같은 스레드에 append/invalidate 가 있었으면 결과를 캐시하지 않음
+     * (커밋 직전 상태를 읽은 로드가 이후 append 를 덮어쓰지 않도록)
+     */
+    public List<ChatMessage> get(Long threadId, Supplier<List<Chat>> loader) {
+        Entry cached = cache.getIfPresent(threadId);
+        if (cached != null) {
+            return cached.history();
+        }
+
+        int stripe = stripe(threadId);
+        long version = versions.get(stripe);
+        List<Chat> chats = loader.get();
+        Entry loaded = new Entry(
+            Collections.unmodifiableList(new ArrayList<>(ChatService.toConversationHistory(chats))),
+            chatIds(chats));
+
+        if (weigh(loaded.history()) > maxEntryWeight) {
+            // 항목 크기 초과로 캐시하지 않은 경우에도 로드 결과는 반환
+            log.debug("히스토리 캐시 항목 크기 초과로 캐시하지 않음 - Thread ID: {}", threadId);
+            return loaded.history();
+        }
+
+        // 잠금 안에서는 버전 비교와 삽입만 수행
+        Entry stored = cache.asMap().compute(threadId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return versions.get(stripe) == version ? loaded : null;
+        });
+        return stored != null ? stored.history() : loaded.history();
+    }
+
+    /**
+     * 저장된 새 턴을 캐시된 히스토리 뒤에 추가 (캐시에 없으면 다음 조회 시 DB 에서 로드)
+     * 커밋 직후 시작된 로드가 이미 같은 Chat 을 읽었다면 다시 붙이지 않음
+     */
+    public void append(Long threadId, Long chatId, String model, String question, Integer questionTokens,
+                       String answer, Integer answerTokens) {
+        versions.incrementAndGet(stripe(threadId));
+        cache.asMap().computeIfPresent(threadId, (id, entry) -> {
+            if (chatId != null && entry.chatIds().contains(chatId)) {
+                return entry;
+            }
+
+            List<ChatMessage> updated = new ArrayList<>(entry.history().size() + 2);
+            updated.addAll(entry.history());
+            updated.add(ChatMessage.user(question, questionTokens, model));
+            updated.add(ChatMessage.assistant(answer, answerTokens, model));
+
+            if (weigh(updated) > maxEntryWeight) {
+                log.debug("히스토리 캐시 항목 크기 초과로 제거 - Thread ID: {}", id);
+                return null;
+            }
+
+            Set<Long> ids = new HashSet<>(entry.chatIds());
+            if (chatId != null) {
+                ids.add(chatId);
+            }
+            return new Entry(Collections.unmodifiableList(updated), Collections.unmodifiableSet(ids));
+        });
+    }
+
+    public void invalidate(Long threadId) {
+        versions.incrementAndGet(stripe(threadId));
+        cache.invalidate(threadId);
+    }
+
+    private static int stripe(Long threadId) {
+        return Long.hashCode(threadId) & (VERSION_STRIPES - 1);
+    }
+
+    private static Set<Long> chatIds(List<Chat> chats) {
+        Set<Long> ids = new HashSet<>();
+        for (Chat chat : chats) {
+            if (chat.getId() != null) {
+                ids.add(chat.getId());
+            }
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    private static int weigh(List<ChatMessage> history) {
+        long weight = 1;
+        for (ChatMessage message : history) {
+            weight += message.content() != null ? message.content().length() : 0;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 캐시된 히스토리와 그 히스토리에 포함된 Chat ID
+     */
+    private record Entry(List<ChatMessage> history, Set<Long> chatIds) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.kafibara.chatbot.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * AI 제공자별 전용 HTTP 클라이언트 설정
+ * 제공자마다 별도 커넥션 풀을 두어 한 제공자의 지연이 다른 제공자의 커넥션을 잠식하지 않도록 함
+ * 설정 키: ai.{provider}.http.* (미설정 시 아래 기본값 사용)
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class AIHttpClientConfig implements DisposableBean {
+
+    private final Environment environment;
+
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public WebClient openaiWebClient() {
+        return createWebClient("openai").build();
+    }
+
+    @Bean
+    public WebClient claudeWebClient() {
+        return createWebClient("claude").build();
+    }
+
+    @Bean
+    public WebClient geminiWebClient() {
+        return createWebClient("gemini")
+            .baseUrl(environment.getProperty("ai.gemini.base-url", "https://generativelanguage.googleapis.com"))
+            .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+
+    private WebClient.Builder createWebClient(String provider) {
+        String prefix = "ai." + provider + ".http.";
+        String baseUrl = environment.getProperty("ai." + provider + ".base-url", "");
+
+        // 풀 메트릭은 reactor.netty.connection.provider.* 에 name={provider} 태그로 노출
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(provider)
+            .maxConnections(environment.getProperty(prefix + "max-connections", Integer.class, 100))
+            .pendingAcquireMaxCount(environment.getProperty(prefix + "pending-acquire-max-count", Integer.class, 500))
+            .pendingAcquireTimeout(duration(prefix + "pending-acquire-timeout", Duration.ofSeconds(5)))
+            .maxIdleTime(duration(prefix + "max-idle-time", Duration.ofSeconds(30)))
+            .maxLifeTime(duration(prefix + "max-life-time", Duration.ofMinutes(5)))
+            .evictInBackground(duration(prefix + "evict-in-background", Duration.ofSeconds(30)))
+            .metrics(true)
+            .build();
+        connectionProviders.add(connectionProvider);
+
+        Duration connectTimeout = duration(prefix + "connect-timeout", Duration.ofSeconds(3));
+        Duration responseTimeout = duration(prefix + "response-timeout", Duration.ofSeconds(60));
+
+        // HTTP/2 는 TLS(ALPN) 협상이 가능한 https 엔드포인트에만 적용 (로컬 스텁 등 평문 http 는 HTTP/1.1)
+        boolean http2 = environment.getProperty(prefix + "http2", Boolean.class, true) && baseUrl.startsWith("https");
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .keepAlive(true)
+            .responseTimeout(responseTimeout)
+            .protocol(http2 ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11} : new HttpProtocol[]{HttpProtocol.HTTP11})
+            // URI 에 API 키가 포함될 수 있으므로 uri 태그는 제공자 이름으로 고정
+            .metrics(true, uri -> provider);
+
+        log.info("{} HTTP 클라이언트 생성 - HTTP/2: {}, 연결 타임아웃: {}, 응답 타임아웃: {}",
+            provider, http2, connectTimeout, responseTimeout);
+
+        // 응답 본문은 DataBuffer 단위로 흘려 파싱하므로 코덱 버퍼 한도(기본 256KB)를 늘리지 않음
+        return WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    private Duration duration(String key, Duration defaultValue) {
+        return environment.getProperty(key, Duration.class, defaultValue);
+    }
+}
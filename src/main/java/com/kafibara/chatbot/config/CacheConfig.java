@@ -1,21 +1,35 @@
 package com.kafibara.chatbot.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
     
+    /**
+     * 크기/TTL 이 제한된 Caffeine 캐시 (recordStats 로 actuator cache.gets 메트릭 노출)
+     */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
+    public CacheManager cacheManager(
+            @Value("${app.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
             "users",
             "ai-services",
             "analytics"
         );
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats());
+        return cacheManager;
     }
 }
@@ -30,6 +30,20 @@ public class MetricsConfig {
             .register(meterRegistry);
     }
     
+    @Bean
+    public Counter cancelledStreamCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("chatbot.chat.stream.cancelled")
+            .description("Streaming chats cancelled after client disconnect")
+            .register(meterRegistry);
+    }
+    
+    @Bean
+    public Counter savedOutputTokensCounter(MeterRegistry meterRegistry) {
+        return Counter.builder("chatbot.chat.stream.saved.tokens")
+            .description("Estimated output tokens not generated due to cancellation")
+            .register(meterRegistry);
+    }
+    
     @Bean
     public Timer aiResponseTimer(MeterRegistry meterRegistry) {
         return Timer.builder("chatbot.ai.response.time")
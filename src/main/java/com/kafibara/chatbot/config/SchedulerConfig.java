@@ -0,0 +1,42 @@
+package com.kafibara.chatbot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SchedulerConfig {
+
+    /**
+     * 블로킹 JPA 작업 전용 스케줄러
+     * 풀 크기는 DB 커넥션 풀(Hikari 기본 10)을 넘지 않도록 맞추고, 큐가 가득 차면 즉시 거절
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler chatPersistenceScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${chat.persistence.pool-size:10}") int poolSize,
+            @Value("${chat.persistence.queue-capacity:500}") int queueCapacity) {
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            poolSize, poolSize,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("chat-jpa-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        // executor.pool.size, executor.queued, executor.active 등 메트릭 노출
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "chat.persistence");
+        return Schedulers.fromExecutorService(monitored, "chat-persistence");
+    }
+}
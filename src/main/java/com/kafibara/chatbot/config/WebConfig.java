@@ -1,22 +0,0 @@
-package com.kafibara.chatbot.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
-
-@Configuration
-public class WebConfig {
-    
-    @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
-            .build();
-    }
-    
-    @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder()
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)); // 10MB
-    }
-}
@@ -0,0 +1,35 @@
+package com.kafibara.chatbot.config.exception;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * AI 제공자 호출 실패 (제공자 응답의 HTTP 상태 코드를 보존해 재시도 여부 판단에 사용)
+ * 4xx 는 같은 요청을 다시 보내도 실패하므로 429 를 제외하면 재시도하지 않음
+ */
+@Getter
+public class AIServiceException extends RuntimeException {
+
+    // 응답을 받지 못한 실패(연결 오류, 타임아웃 등)는 null
+    private final Integer statusCode;
+
+    private final boolean retryable;
+
+    public AIServiceException(String message, Integer statusCode, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.retryable = retryable;
+    }
+
+    /**
+     * 제공자 호출 중 발생한 오류를 상태 코드와 함께 감쌈
+     * 응답 본문 파싱 실패(IllegalArgumentException)는 재시도해도 같은 결과이므로 재시도하지 않음
+     */
+    public static AIServiceException of(String message, Throwable cause) {
+        if (cause instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return new AIServiceException(message, status, status == 429 || status >= 500, cause);
+        }
+        return new AIServiceException(message, null, !(cause instanceof IllegalArgumentException), cause);
+    }
+}
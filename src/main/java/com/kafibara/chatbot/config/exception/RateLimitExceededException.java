@@ -0,0 +1,19 @@
+package com.kafibara.chatbot.config.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 요청 한도 초과 (429 Too Many Requests, Retry-After 헤더로 재시도 시점 안내)
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.kafibara.chatbot.config.exception;
+
+/**
+ * 동시 처리 한도 초과로 요청을 즉시 거절 (503 Service Unavailable)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,212 @@
+package com.kafibara.chatbot.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 로그인과 스트리밍 채팅 호출 (JDK HttpClient, 가상 스레드에서 블로킹 호출)
+ * SSE 는 줄 단위로 읽어 첫 data 이벤트 시각을 TTFT, 스트림 종료 시각을 전체 지연으로 기록
+ */
+final class ChatClient {
+
+    /**
+     * 요청 결과 분류
+     */
+    enum Outcome {
+        SUCCESS,
+        // 2xx 가 아닌 응답 (429 사용자 한도, 503 동시성 한도 등)
+        HTTP_ERROR,
+        // 스트림 안의 error 이벤트 (제공자 실패)
+        STREAM_ERROR,
+        // 정상 종료했지만 data 이벤트가 없음
+        EMPTY,
+        TIMEOUT,
+        CONNECTION_ERROR,
+        // max-in-flight 초과로 보내지 않은 도착
+        DROPPED
+    }
+
+    /**
+     * 요청 하나의 결과 (지연은 예정 도착 시각 기준 나노초, 측정 안 된 값은 -1)
+     */
+    record Result(Outcome outcome, int httpStatus, long ttftNanos, long totalNanos, int events) {
+
+        static Result of(Outcome outcome) {
+            return new Result(outcome, 0, -1, -1, 0);
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 이전 실행에서 캐시된 응답과도 겹치지 않도록 실행마다 다른 값
+    private final String runId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final HttpClient httpClient;
+    private final LoadSettings settings;
+
+    ChatClient(HttpClient httpClient, LoadSettings settings) {
+        this.httpClient = httpClient;
+        this.settings = settings;
+    }
+
+    /**
+     * 로그인해 JWT 반환, 계정이 없으면 회원가입
+     */
+    String authenticate(String email, String password, String name) throws IOException, InterruptedException {
+        ObjectNode login = objectMapper.createObjectNode()
+            .put("email", email)
+            .put("password", password);
+        HttpResponse<String> response = postJson("/api/auth/login", login);
+        if (response.statusCode() != 200) {
+            response = postJson("/api/auth/signup", login.deepCopy().put("name", name));
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("로그인/회원가입 실패 - 이메일: " + email
+                + ", 상태: " + response.statusCode() + ", 본문: " + response.body());
+        }
+
+        JsonNode token = objectMapper.readTree(response.body()).path("token");
+        if (!token.isTextual()) {
+            throw new IllegalStateException("로그인 응답에 token 이 없습니다: " + response.body());
+        }
+        return token.asText();
+    }
+
+    /**
+     * /api/chats 스트리밍 호출, scheduledNanos(예정 도착 시각)부터 지연 측정
+     * 도착이 밀려도 예정 시각 기준으로 재므로 지연이 부하 생성기 쪽 대기에 가려지지 않음
+     * 질문 끝에 실행 ID와 도착 순번을 붙여 요청마다 캐시 키가 달라지게 함
+     * (noCache 로 응답 캐시와 동일 요청 합치기를 모두 우회하지만, 서버 설정과 무관하게 각 요청이 제공자 호출이 되도록)
+     */
+    Result chat(String token, long scheduledNanos, int arrival) {
+        ObjectNode body = objectMapper.createObjectNode()
+            .put("question", settings.question() + " [" + runId + "-" + arrival + "]")
+            .put("aiService", settings.aiService())
+            .put("maxTokens", settings.maxTokens())
+            .put("isStreaming", true)
+            .put("noCache", true);
+        if (settings.model() != null) {
+            body.put("model", settings.model());
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(settings.baseUrl().resolve("/api/chats"))
+            .header("Content-Type", "application/json")
+            .header("Accept", "text/event-stream")
+            .header("Authorization", "Bearer " + token)
+            .timeout(settings.timeout())
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+
+        SseSubscriber sse = new SseSubscriber();
+        CompletableFuture<HttpResponse<Void>> response =
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(sse));
+
+        long deadline = scheduledNanos + settings.timeout().toNanos();
+        try {
+            int status = response.get(remaining(deadline), TimeUnit.NANOSECONDS).statusCode();
+            sse.done.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            long total = System.nanoTime() - scheduledNanos;
+
+            if (status / 100 != 2) {
+                return new Result(Outcome.HTTP_ERROR, status, -1, total, 0);
+            }
+            if (sse.error) {
+                return new Result(Outcome.STREAM_ERROR, status, -1, total, sse.events);
+            }
+            if (sse.firstEventNanos < 0) {
+                return new Result(Outcome.EMPTY, status, -1, total, 0);
+            }
+            return new Result(Outcome.SUCCESS, status, sse.firstEventNanos - scheduledNanos, total, sse.events);
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            sse.cancel();
+            return Result.of(Outcome.TIMEOUT);
+        } catch (ExecutionException e) {
+            return Result.of(e.getCause() instanceof HttpTimeoutException
+                ? Outcome.TIMEOUT : Outcome.CONNECTION_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sse.cancel();
+            return Result.of(Outcome.CONNECTION_ERROR);
+        }
+    }
+
+    private HttpResponse<String> postJson(String path, JsonNode body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(settings.baseUrl().resolve(path))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * SSE 줄 파서: heartbeat 주석(:)은 무시, event: error 뒤의 data 는 오류로 처리
+     */
+    private static final class SseSubscriber implements Flow.Subscriber<String> {
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+        private volatile long firstEventNanos = -1;
+        private volatile int events;
+        private volatile boolean error;
+        private String eventName;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                eventName = null;
+            } else if (line.startsWith("event:")) {
+                eventName = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                if ("error".equals(eventName)) {
+                    error = true;
+                } else {
+                    if (firstEventNanos < 0) {
+                        firstEventNanos = System.nanoTime();
+                    }
+                    events++;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.kafibara.chatbot.perf.load;
+
+import com.kafibara.chatbot.perf.load.ChatClient.Outcome;
+import com.kafibara.chatbot.perf.load.ChatClient.Result;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 스트리밍 채팅 부하 생성기
+ * 요청은 포아송 과정(지수 분포 간격)으로 도착하고 도착마다 가상 스레드 하나가 로그인된 계정으로 /api/chats 를 호출
+ * 응답이 느려져도 도착률은 그대로인 개방형 부하이며, 지연은 예정 도착 시각부터 재므로 coordinated omission 이 없음
+ *
+ * <pre>
+ * ./gradlew perfLoad --args="base-url=http://localhost:8080 rate=20 duration-seconds=120 warmup-seconds=15 users=20 ai-service=mock"
+ * </pre>
+ *
+ * MockAIService 시뮬레이터(ai.mock.simulation.*) 또는 제공자 스텁 서버(application-perf 프로필)와 함께 실행하면
+ * 릴리스마다 같은 조건의 TTFT/전체 지연 백분위와 오류율을 얻을 수 있음
+ *
+ * 모든 요청이 실제 제공자 호출이 되도록 두 가지를 함께 적용
+ * - 질문에 실행 ID와 도착 순번을 붙여 요청마다 응답 캐시/합치기 키가 다름
+ * - noCache=true 로 보내며, 서버는 noCache 요청을 진행 중인 동일 요청에 합치지 않음
+ */
+@Slf4j
+public final class LoadGenerator {
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadSettings settings = LoadSettings.parse(args);
+        if (settings.rate() <= 0) {
+            throw new IllegalArgumentException("rate 는 0보다 커야 합니다: " + settings.rate());
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        // SSE 스트림마다 연결 하나를 쓰도록 HTTP/1.1 고정 (h2c 업그레이드 시도 방지)
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(executor)
+            .build();
+        ChatClient client = new ChatClient(httpClient, settings);
+
+        List<String> tokens = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            tokens.add(client.authenticate(settings.email(i), settings.password(), "부하 테스트 " + i));
+        }
+        log.info("부하 테스트 계정 {}개 로그인 완료 - 대상: {}", tokens.size(), settings.baseUrl());
+
+        LoadReport report = run(settings, client, tokens, executor);
+        report.print(System.out, settings, settings.duration());
+        if (settings.reportDir() != null) {
+            report.save(settings.reportDir());
+            log.info("HdrHistogram 분포 저장 - 경로: {}", settings.reportDir().toAbsolutePath());
+        }
+
+        executor.shutdownNow();
+    }
+
+    /**
+     * 워밍업 + 측정 구간 동안 도착을 발생시키고, 측정 구간에 도착한 요청만 집계
+     */
+    static LoadReport run(LoadSettings settings, ChatClient client, List<String> tokens, ExecutorService executor)
+            throws InterruptedException {
+        LoadReport report = new LoadReport();
+        AtomicInteger inFlight = new AtomicInteger();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+
+        long start = System.nanoTime();
+        long measureStart = start + settings.warmup().toNanos();
+        long end = measureStart + settings.duration().toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL.toNanos();
+        long scheduled = start;
+        int arrival = 0;
+
+        log.info("부하 시작 - 도착률: {}/s, 워밍업: {}s, 측정: {}s, seed: {}",
+            settings.rate(), settings.warmup().toSeconds(), settings.duration().toSeconds(), settings.seed());
+
+        while (true) {
+            // 지수 분포 간격: -ln(U) * 평균 간격
+            scheduled += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            // 예정 시각까지 대기 (늦었으면 즉시 발사, 예정 시각은 그대로 지연 기준으로 사용)
+            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = scheduled >= measureStart;
+            if (inFlight.get() >= settings.maxInFlight()) {
+                if (measured) {
+                    report.record(Result.of(Outcome.DROPPED));
+                }
+            } else {
+                String token = tokens.get(arrival % tokens.size());
+                long arrivalNanos = scheduled;
+                int arrivalIndex = arrival;
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        Result result = client.chat(token, arrivalNanos, arrivalIndex);
+                        if (measured) {
+                            report.record(result);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            arrival++;
+
+            if (scheduled >= nextProgress) {
+                log.info("진행 - 경과: {}s, 도착: {}, 진행 중: {}, 집계: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(scheduled - start), arrival, inFlight.get(), report.requests());
+                nextProgress += PROGRESS_INTERVAL.toNanos();
+            }
+        }
+
+        // 마지막 도착이 끝나길 최대 timeout 만큼 기다림 (요청 자체도 timeout 에서 끝남)
+        long drainDeadline = System.nanoTime() + settings.timeout().plusSeconds(5).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("종료 대기 시간 초과 - 미완료 요청: {}", inFlight.get());
+        }
+        return report;
+    }
+}
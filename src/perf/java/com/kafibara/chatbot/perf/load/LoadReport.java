@@ -0,0 +1,121 @@
+package com.kafibara.chatbot.perf.load;
+
+import com.kafibara.chatbot.perf.load.ChatClient.Outcome;
+import com.kafibara.chatbot.perf.load.ChatClient.Result;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 측정 구간 결과 집계: TTFT/전체 지연 HdrHistogram(마이크로초), 결과 분류별 건수, HTTP 상태별 건수
+ */
+final class LoadReport {
+
+    // 1µs ~ 10분, 유효숫자 3자리
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9, 100};
+
+    private final Histogram ttft = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    private final Map<Integer, LongAdder> httpStatuses = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+
+    LoadReport() {
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    void record(Result result) {
+        outcomes.get(result.outcome()).increment();
+        events.add(result.events());
+        if (result.httpStatus() > 0) {
+            httpStatuses.computeIfAbsent(result.httpStatus(), status -> new LongAdder()).increment();
+        }
+        if (result.outcome() == Outcome.SUCCESS) {
+            ttft.recordValue(toMicros(result.ttftNanos()));
+            total.recordValue(toMicros(result.totalNanos()));
+        }
+    }
+
+    long count(Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    long requests() {
+        return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * 요약 출력 (지연은 성공 요청만, 오류율은 dropped 포함 전체 도착 기준)
+     */
+    void print(PrintStream out, LoadSettings settings, Duration measured) {
+        long requests = requests();
+        long failures = requests - count(Outcome.SUCCESS);
+        double seconds = measured.toMillis() / 1000.0;
+
+        out.println();
+        out.println("=== 부하 테스트 결과 ===");
+        out.printf("대상: %s, 서비스: %s, 목표 도착률: %.1f/s, 측정 구간: %.1fs, 계정: %d%n",
+            settings.baseUrl(), settings.aiService(), settings.rate(), seconds, settings.users());
+        out.printf("요청: %d, 성공: %d, 실제 처리량: %.2f/s, 오류율: %.2f%%, 평균 이벤트 수: %.1f%n",
+            requests, count(Outcome.SUCCESS), count(Outcome.SUCCESS) / seconds,
+            requests == 0 ? 0.0 : failures * 100.0 / requests,
+            requests == 0 ? 0.0 : (double) events.sum() / requests);
+        for (Outcome outcome : Outcome.values()) {
+            if (outcome != Outcome.SUCCESS && count(outcome) > 0) {
+                out.printf("  %-16s %d%n", outcome, count(outcome));
+            }
+        }
+        if (!httpStatuses.isEmpty()) {
+            out.print("HTTP 상태:");
+            httpStatuses.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> out.printf(" %d=%d", entry.getKey(), entry.getValue().sum()));
+            out.println();
+        }
+
+        out.println();
+        out.printf("%-10s %10s %10s%n", "백분위", "TTFT(ms)", "전체(ms)");
+        for (double percentile : PERCENTILES) {
+            out.printf("%-10s %10.1f %10.1f%n", percentile == 100 ? "max" : "p" + format(percentile),
+                ttft.getValueAtPercentile(percentile) / 1000.0, total.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf("%-10s %10.1f %10.1f%n", "mean", ttft.getMean() / 1000.0, total.getMean() / 1000.0);
+    }
+
+    /**
+     * 전체 백분위 분포를 .hgrm 파일로 저장 (HdrHistogram 플로터 등으로 릴리스 간 비교)
+     */
+    void save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        write(ttft, directory.resolve("ttft.hgrm"));
+        write(total, directory.resolve("total.hgrm"));
+    }
+
+    private static void write(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, "UTF-8")) {
+            // 값 단위 µs 를 ms 로 환산해 출력
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
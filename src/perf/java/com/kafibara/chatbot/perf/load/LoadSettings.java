@@ -0,0 +1,82 @@
+package com.kafibara.chatbot.perf.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 생성기 설정 (key=value 인자 또는 -Dload.key=value 시스템 프로퍼티)
+ *
+ * @param baseUrl     애플리케이션 주소
+ * @param rate        초당 평균 요청 도착 수 (포아송 도착, 응답 속도와 무관한 개방형 부하)
+ * @param duration    측정 구간 길이
+ * @param warmup      측정 전 워밍업 구간 (결과에서 제외)
+ * @param users       로그인할 테스트 계정 수 (요청마다 돌아가며 사용)
+ * @param password    테스트 계정 비밀번호 (없는 계정은 회원가입)
+ * @param aiService   ChatRequest.aiService (mock 이면 MockAIService 시뮬레이터 사용)
+ * @param model       ChatRequest.model (없으면 서비스 기본값)
+ * @param question    질문 본문
+ * @param maxTokens   ChatRequest.maxTokens
+ * @param timeout     요청 하나의 전체 제한 시간
+ * @param maxInFlight 동시에 진행 중인 요청 상한 (넘는 도착은 dropped 로 집계)
+ * @param seed        도착 간격 난수 seed (같은 값이면 같은 도착 패턴)
+ * @param reportDir   HdrHistogram 백분위 분포(.hgrm) 저장 경로, 없으면 저장하지 않음
+ */
+public record LoadSettings(URI baseUrl,
+                           double rate,
+                           Duration duration,
+                           Duration warmup,
+                           int users,
+                           String password,
+                           String aiService,
+                           String model,
+                           String question,
+                           int maxTokens,
+                           Duration timeout,
+                           int maxInFlight,
+                           long seed,
+                           Path reportDir) {
+
+    public static LoadSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("load.")) {
+                values.put(key.toString().substring("load.".length()), value.toString());
+            }
+        });
+        for (String arg : args) {
+            String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+            }
+            values.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+        }
+
+        String reportDir = values.get("report-dir");
+        return new LoadSettings(
+            URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+            Double.parseDouble(values.getOrDefault("rate", "10")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10"))),
+            Math.max(1, Integer.parseInt(values.getOrDefault("users", "10"))),
+            values.getOrDefault("password", "load-test-password"),
+            values.getOrDefault("ai-service", "mock"),
+            values.get("model"),
+            values.getOrDefault("question", "성능 테스트용 질문입니다. 스트리밍 응답 지연을 측정합니다."),
+            Integer.parseInt(values.getOrDefault("max-tokens", "200")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout-seconds", "60"))),
+            Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+            Long.parseLong(values.getOrDefault("seed", String.valueOf(System.nanoTime()))),
+            reportDir == null || reportDir.isBlank() ? null : Path.of(reportDir));
+    }
+
+    /**
+     * i 번째 테스트 계정 이메일
+     */
+    public String email(int index) {
+        return "load-user-" + index + "@kafibara.com";
+    }
+}
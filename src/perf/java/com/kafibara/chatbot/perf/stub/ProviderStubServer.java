@@ -0,0 +1,103 @@
+package com.kafibara.chatbot.perf.stub;
+
+import com.kafibara.chatbot.perf.stub.StubResponses.Provider;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 성능 테스트용 OpenAI/Claude/Gemini 호환 스텁 서버 (Reactor Netty)
+ * 실제 제공자와 같은 경로, JSON 형식, SSE 프레이밍으로 응답하고 지연과 처리량은 StubSettings 로 조절
+ * application-perf 프로필이 ai.{provider}.base-url 을 이 서버로 지정하므로 각 서비스의 HTTP/파싱/커넥션 풀 코드가 그대로 실행됨
+ *
+ * <pre>
+ * ./gradlew perfStub --args="port=9090 ttft-ms=300 tokens-per-second=50 output-tokens=200 tokens-per-chunk=1 error-rate=0"
+ * </pre>
+ *
+ * 지원 경로
+ * - POST /v1/chat/completions, /chat/completions (OpenAI, stream 필드로 SSE 여부 결정)
+ * - POST /v1/messages (Claude, stream 필드로 SSE 여부 결정)
+ * - POST /v1beta/models/{model}:generateContent, :streamGenerateContent?alt=sse (Gemini)
+ */
+@Slf4j
+public final class ProviderStubServer {
+
+    private ProviderStubServer() {
+    }
+
+    public static void main(String[] args) {
+        StubSettings settings = StubSettings.parse(args);
+        DisposableServer server = start(settings);
+        log.info("제공자 스텁 서버 시작 - 주소: {}:{}, TTFT: {}ms, 초당 토큰: {}, 출력 토큰: {}, 프레임당 토큰: {}, 오류율: {}",
+            settings.host(), server.port(), settings.ttft().toMillis(), settings.tokensPerSecond(),
+            settings.outputTokens(), settings.tokensPerChunk(), settings.errorRate());
+        server.onDispose().block();
+    }
+
+    public static DisposableServer start(StubSettings settings) {
+        StubResponses responses = new StubResponses(settings);
+        return HttpServer.create()
+            .host(settings.host())
+            .port(settings.port())
+            .handle((request, response) -> handle(request, response, settings, responses))
+            .bindNow();
+    }
+
+    private static Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response,
+                                          StubSettings settings, StubResponses responses) {
+        String path = request.path().startsWith("/") ? request.path() : "/" + request.path();
+        Provider provider = route(path);
+        if (request.method() != HttpMethod.POST || provider == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+            .defaultIfEmpty("")
+            .flatMap(body -> {
+                if (settings.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+                    return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR)
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(responses.error(provider)))
+                        .then();
+                }
+
+                StubResponses.StubRequest stubRequest = responses.parse(provider, path, body);
+                if (stubRequest.stream()) {
+                    return response.header(HttpHeaderNames.CONTENT_TYPE, "text/event-stream")
+                        .header(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+                        .sendString(responses.stream(stubRequest), StandardCharsets.UTF_8)
+                        .then();
+                }
+                return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                    .sendString(responses.complete(stubRequest), StandardCharsets.UTF_8)
+                    .then();
+            })
+            .onErrorResume(IllegalArgumentException.class, e -> response.status(HttpResponseStatus.BAD_REQUEST)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just("{\"error\":{\"message\":\"" + e.getMessage().replace("\"", "'") + "\"}}"))
+                .then());
+    }
+
+    private static Provider route(String path) {
+        if (path.endsWith("/chat/completions")) {
+            return Provider.OPENAI;
+        }
+        if (path.equals("/v1/messages")) {
+            return Provider.CLAUDE;
+        }
+        if (path.contains("/models/") && (path.endsWith(":generateContent") || path.endsWith(":streamGenerateContent"))) {
+            return Provider.GEMINI;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,284 @@
+package com.kafibara.chatbot.perf.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 제공자별 응답 본문과 SSE 프레임 생성
+ * 필드 구성은 각 제공자 API 문서의 응답 예시를 따르며, 서비스 파서가 읽는 필드는 모두 포함
+ */
+final class StubResponses {
+
+    enum Provider {
+        OPENAI, CLAUDE, GEMINI
+    }
+
+    /**
+     * 요청에서 응답 생성에 필요한 값
+     */
+    record StubRequest(Provider provider, String model, boolean stream, boolean includeUsage,
+                       int promptTokens, int outputTokens) {
+    }
+
+    private static final String[] WORDS = {
+        "성능", " 테스트", "용", " 스텁", " 응답", "입니다", ".", " 토큰", "은", " 설정된",
+        " 속도", "로", " 전송", "됩니다", ",", " streaming", " load", " test", " 🚀", "\n"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StubSettings settings;
+
+    StubResponses(StubSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 요청 본문에서 모델, 스트리밍 여부, 출력 한도를 읽고 프롬프트 토큰 수를 대략 추정 (4바이트당 1토큰)
+     */
+    StubRequest parse(Provider provider, String path, String body) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body.isEmpty() ? "{}" : body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("요청 JSON 파싱 실패: " + e.getMessage(), e);
+        }
+
+        String model;
+        boolean stream;
+        boolean includeUsage;
+        int maxTokens;
+        if (provider == Provider.GEMINI) {
+            int start = path.indexOf("/models/") + "/models/".length();
+            model = path.substring(start, path.indexOf(':', start));
+            stream = path.contains(":streamGenerateContent");
+            includeUsage = true;
+            maxTokens = root.path("generationConfig").path("maxOutputTokens").asInt(settings.outputTokens());
+        } else {
+            model = root.path("model").asText("stub-model");
+            stream = root.path("stream").asBoolean(false);
+            // OpenAI 는 stream_options.include_usage 요청 시에만 스트림 끝에 사용량 청크를 보냄 (Claude 는 항상)
+            includeUsage = provider == Provider.CLAUDE
+                || root.path("stream_options").path("include_usage").asBoolean(false);
+            maxTokens = root.path("max_tokens").asInt(settings.outputTokens());
+        }
+
+        return new StubRequest(provider, model, stream, includeUsage, Math.max(1, body.length() / 4),
+            Math.max(1, Math.min(settings.outputTokens(), maxTokens)));
+    }
+
+    /**
+     * 비스트리밍 응답: 전체 생성 시간만큼 기다린 뒤 JSON 한 번에 전송
+     */
+    Mono<String> complete(StubRequest request) {
+        String text = String.join("", tokens(request.outputTokens()));
+        String body = switch (request.provider()) {
+            case OPENAI -> openAICompletion(request, text);
+            case CLAUDE -> claudeMessage(request, text);
+            case GEMINI -> geminiResponse(request, text, true);
+        };
+        return Mono.delay(settings.completionTime(request.outputTokens())).thenReturn(body);
+    }
+
+    /**
+     * 스트리밍 응답: 시작 이벤트 즉시, 첫 토큰은 ttft 뒤, 이후 chunk 간격으로 프레임 전송
+     */
+    Flux<String> stream(StubRequest request) {
+        List<String> chunks = chunks(request.outputTokens());
+        int last = chunks.size() - 1;
+
+        Flux<String> body = Mono.delay(settings.ttft())
+            .thenMany(Flux.interval(Duration.ZERO, settings.chunkInterval()).take(chunks.size()))
+            .map(index -> chunkFrame(request, chunks.get(index.intValue()), index == last));
+
+        return switch (request.provider()) {
+            case OPENAI -> (request.includeUsage() ? body.concatWith(Mono.just(openAIUsageChunk(request))) : body)
+                .concatWith(Mono.just(data("[DONE]")));
+            case CLAUDE -> Flux.just(claudeStart(request), event("content_block_start",
+                    "{\"type\":\"content_block_start\",\"index\":0,\"content_block\":{\"type\":\"text\",\"text\":\"\"}}"))
+                .concatWith(body)
+                .concatWith(Flux.just(
+                    event("content_block_stop", "{\"type\":\"content_block_stop\",\"index\":0}"),
+                    claudeStop(request),
+                    event("message_stop", "{\"type\":\"message_stop\"}")));
+            case GEMINI -> body;
+        };
+    }
+
+    /**
+     * 제공자별 오류 응답 본문
+     */
+    String error(Provider provider) {
+        return switch (provider) {
+            case OPENAI -> "{\"error\":{\"message\":\"stub injected error\",\"type\":\"server_error\",\"code\":null}}";
+            case CLAUDE -> "{\"type\":\"error\",\"error\":{\"type\":\"api_error\",\"message\":\"stub injected error\"}}";
+            case GEMINI -> "{\"error\":{\"code\":500,\"message\":\"stub injected error\",\"status\":\"INTERNAL\"}}";
+        };
+    }
+
+    private String chunkFrame(StubRequest request, String text, boolean last) {
+        return switch (request.provider()) {
+            case OPENAI -> {
+                ObjectNode chunk = openAIBase(request, "chat.completion.chunk");
+                ObjectNode choice = chunk.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("delta").put("content", text);
+                if (last) {
+                    choice.put("finish_reason", "stop");
+                } else {
+                    choice.putNull("finish_reason");
+                }
+                yield data(write(chunk));
+            }
+            case CLAUDE -> {
+                ObjectNode delta = objectMapper.createObjectNode();
+                delta.put("type", "content_block_delta");
+                delta.put("index", 0);
+                delta.putObject("delta").put("type", "text_delta").put("text", text);
+                yield event("content_block_delta", write(delta));
+            }
+            case GEMINI -> data(geminiResponse(request, text, last));
+        };
+    }
+
+    private String openAICompletion(StubRequest request, String text) {
+        ObjectNode root = openAIBase(request, "chat.completion");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", text);
+        choice.put("finish_reason", "stop");
+        ObjectNode usage = root.putObject("usage");
+        usage.put("prompt_tokens", request.promptTokens());
+        usage.put("completion_tokens", request.outputTokens());
+        usage.put("total_tokens", request.promptTokens() + request.outputTokens());
+        usage.putObject("prompt_tokens_details").put("cached_tokens", 0);
+        return write(root);
+    }
+
+    /**
+     * include_usage 마지막 청크: choices 는 비어 있고 usage 만 있음
+     */
+    private String openAIUsageChunk(StubRequest request) {
+        ObjectNode chunk = openAIBase(request, "chat.completion.chunk");
+        chunk.putArray("choices");
+        ObjectNode usage = chunk.putObject("usage");
+        usage.put("prompt_tokens", request.promptTokens());
+        usage.put("completion_tokens", request.outputTokens());
+        usage.put("total_tokens", request.promptTokens() + request.outputTokens());
+        usage.putObject("prompt_tokens_details").put("cached_tokens", 0);
+        return data(write(chunk));
+    }
+
+    private ObjectNode openAIBase(StubRequest request, String object) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", "chatcmpl-" + UUID.randomUUID());
+        root.put("object", object);
+        root.put("created", System.currentTimeMillis() / 1000);
+        root.put("model", request.model());
+        return root;
+    }
+
+    private String claudeMessage(StubRequest request, String text) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", "msg_" + UUID.randomUUID());
+        root.put("type", "message");
+        root.put("role", "assistant");
+        root.put("model", request.model());
+        root.putArray("content").addObject().put("type", "text").put("text", text);
+        root.put("stop_reason", "end_turn");
+        root.putNull("stop_sequence");
+        ObjectNode usage = root.putObject("usage");
+        usage.put("input_tokens", request.promptTokens());
+        usage.put("cache_creation_input_tokens", 0);
+        usage.put("cache_read_input_tokens", 0);
+        usage.put("output_tokens", request.outputTokens());
+        return write(root);
+    }
+
+    private String claudeStart(StubRequest request) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("type", "message_start");
+        ObjectNode message = root.putObject("message");
+        message.put("id", "msg_" + UUID.randomUUID());
+        message.put("type", "message");
+        message.put("role", "assistant");
+        message.put("model", request.model());
+        message.putArray("content");
+        message.putNull("stop_reason");
+        ObjectNode usage = message.putObject("usage");
+        usage.put("input_tokens", request.promptTokens());
+        usage.put("cache_creation_input_tokens", 0);
+        usage.put("cache_read_input_tokens", 0);
+        usage.put("output_tokens", 1);
+        return event("message_start", write(root));
+    }
+
+    private String claudeStop(StubRequest request) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("type", "message_delta");
+        root.putObject("delta").put("stop_reason", "end_turn").putNull("stop_sequence");
+        root.putObject("usage").put("output_tokens", request.outputTokens());
+        return event("message_delta", write(root));
+    }
+
+    private String geminiResponse(StubRequest request, String text, boolean last) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode candidates = root.putArray("candidates");
+        ObjectNode candidate = candidates.addObject();
+        ObjectNode content = candidate.putObject("content");
+        content.putArray("parts").addObject().put("text", text);
+        content.put("role", "model");
+        candidate.put("index", 0);
+        if (last) {
+            candidate.put("finishReason", "STOP");
+            ObjectNode usage = root.putObject("usageMetadata");
+            usage.put("promptTokenCount", request.promptTokens());
+            usage.put("candidatesTokenCount", request.outputTokens());
+            usage.put("totalTokenCount", request.promptTokens() + request.outputTokens());
+        }
+        root.put("modelVersion", request.model());
+        return write(root);
+    }
+
+    private List<String> tokens(int count) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(WORDS[i % WORDS.length]);
+        }
+        return tokens;
+    }
+
+    private List<String> chunks(int tokenCount) {
+        List<String> tokens = tokens(tokenCount);
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i += settings.tokensPerChunk()) {
+            chunks.add(String.join("", tokens.subList(i, Math.min(tokens.size(), i + settings.tokensPerChunk()))));
+        }
+        return chunks;
+    }
+
+    private String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String data(String json) {
+        return "data: " + json + "\n\n";
+    }
+
+    private static String event(String name, String json) {
+        return "event: " + name + "\ndata: " + json + "\n\n";
+    }
+}
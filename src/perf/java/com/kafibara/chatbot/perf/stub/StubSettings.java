@@ -0,0 +1,65 @@
+package com.kafibara.chatbot.perf.stub;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 스텁 서버 설정 (key=value 인자 또는 -Dstub.key=value 시스템 프로퍼티)
+ *
+ * @param host             바인딩 주소
+ * @param port             포트
+ * @param ttft             첫 토큰까지 지연 (비스트리밍은 전체 생성 시간에 포함)
+ * @param tokensPerSecond  첫 토큰 이후 출력 속도
+ * @param outputTokens     응답 토큰 수 (요청의 max_tokens 가 더 작으면 그 값)
+ * @param tokensPerChunk   SSE 프레임 하나에 담을 토큰 수
+ * @param errorRate        500 오류로 응답할 비율
+ */
+public record StubSettings(String host,
+                           int port,
+                           Duration ttft,
+                           double tokensPerSecond,
+                           int outputTokens,
+                           int tokensPerChunk,
+                           double errorRate) {
+
+    public static StubSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("stub.")) {
+                values.put(key.toString().substring("stub.".length()), value.toString());
+            }
+        });
+        for (String arg : args) {
+            String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+            }
+            values.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+        }
+
+        return new StubSettings(
+            values.getOrDefault("host", "0.0.0.0"),
+            Integer.parseInt(values.getOrDefault("port", "9090")),
+            Duration.ofMillis(Long.parseLong(values.getOrDefault("ttft-ms", "300"))),
+            Double.parseDouble(values.getOrDefault("tokens-per-second", "50")),
+            Integer.parseInt(values.getOrDefault("output-tokens", "200")),
+            Math.max(1, Integer.parseInt(values.getOrDefault("tokens-per-chunk", "1"))),
+            Double.parseDouble(values.getOrDefault("error-rate", "0")));
+    }
+
+    /**
+     * SSE 프레임 사이 간격
+     */
+    public Duration chunkInterval() {
+        return Duration.ofNanos((long) (tokensPerChunk * 1_000_000_000L / tokensPerSecond));
+    }
+
+    /**
+     * 비스트리밍 응답까지 걸리는 시간 (첫 토큰 + 나머지 토큰 생성)
+     */
+    public Duration completionTime(int tokens) {
+        return ttft.plusNanos((long) (Math.max(0, tokens - 1) * 1_000_000_000L / tokensPerSecond));
+    }
+}
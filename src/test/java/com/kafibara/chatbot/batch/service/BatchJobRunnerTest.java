@@ -0,0 +1,360 @@
+package com.kafibara.chatbot.batch.service;
+
+import com.kafibara.chatbot.batch.entity.BatchJob;
+import com.kafibara.chatbot.batch.entity.BatchJobItem;
+import com.kafibara.chatbot.batch.repository.BatchJobItemRepository;
+import com.kafibara.chatbot.batch.repository.BatchJobRepository;
+import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIServiceFactory;
+import com.kafibara.chatbot.chat.ai.AIServiceGateway;
+import com.kafibara.chatbot.chat.ai.context.ContextWindow;
+import com.kafibara.chatbot.chat.ai.context.ContextWindowManager;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.chat.ratelimit.ChatRateLimiter;
+import com.kafibara.chatbot.config.exception.AIServiceException;
+import com.kafibara.chatbot.config.exception.RateLimitExceededException;
+import com.kafibara.chatbot.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BatchJobRunner 테스트")
+class BatchJobRunnerTest {
+
+    private static final Long JOB_ID = 1L;
+    private static final Long OWNER_ID = 7L;
+
+    private final Map<Long, BatchJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, BatchJobItem> items = new ConcurrentHashMap<>();
+    private final List<BatchJobItem.Status> statusesAtCall = new CopyOnWriteArrayList<>();
+
+    private BatchJobRepository jobRepository;
+    private BatchJobItemRepository itemRepository;
+    private AIServiceGateway aiServiceGateway;
+    private ChatRateLimiter chatRateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(BatchJobRepository.class);
+        when(jobRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(jobs.get(inv.<Long>getArgument(0))));
+        when(jobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(jobRepository.findByStatusInOrderByCreatedAtAsc(any())).thenAnswer(inv -> {
+            Collection<BatchJob.Status> statuses = inv.getArgument(0);
+            return jobs.values().stream().filter(job -> statuses.contains(job.getStatus())).toList();
+        });
+
+        itemRepository = mock(BatchJobItemRepository.class);
+        when(itemRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(items.get(inv.<Long>getArgument(0))));
+        when(itemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(itemRepository.findIdsByJobIdAndStatusIn(anyLong(), any())).thenAnswer(inv -> {
+            Long jobId = inv.getArgument(0);
+            Collection<BatchJobItem.Status> statuses = inv.getArgument(1);
+            return items.values().stream()
+                .filter(item -> item.getJob().getId().equals(jobId) && statuses.contains(item.getStatus()))
+                .sorted(Comparator.comparing(BatchJobItem::getItemIndex))
+                .map(BatchJobItem::getId)
+                .toList();
+        });
+
+        AIService aiService = mock(AIService.class);
+        when(aiService.getServiceName()).thenReturn("openai");
+        when(aiService.getDefaultModel()).thenReturn("gpt-4o-mini");
+        AIServiceFactory aiServiceFactory = mock(AIServiceFactory.class);
+        when(aiServiceFactory.getService(any())).thenReturn(aiService);
+
+        ContextWindowManager contextWindowManager = mock(ContextWindowManager.class);
+        when(contextWindowManager.fit(any(), any(), any())).thenReturn(new ContextWindow(List.of(), 1, 1, 1000, 0));
+
+        aiServiceGateway = mock(AIServiceGateway.class);
+        respondWith(request -> Mono.just(ChatResponse.builder()
+            .answer("답변: " + request.getQuestion())
+            .model("gpt-4o-mini")
+            .build()));
+
+        chatRateLimiter = mock(ChatRateLimiter.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("batch.retry.max-attempts", "2")
+            .withProperty("batch.retry.min-backoff", "1ms")
+            .withProperty("batch.retry.max-backoff", "5ms");
+        environment.setConversionService(new ApplicationConversionService());
+
+        runner = new BatchJobRunner(jobRepository, itemRepository, aiServiceFactory, aiServiceGateway,
+            contextWindowManager, chatRateLimiter, Schedulers.boundedElastic(),
+            new TransactionTemplate(new NoOpTransactionManager()), environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    private void respondWith(Function<ChatRequest, Mono<ChatResponse>> responder) {
+        doAnswer(inv -> {
+            ChatRequest request = inv.getArgument(1);
+            items.values().stream()
+                .filter(item -> item.getQuestion().equals(request.getQuestion()))
+                .forEach(item -> statusesAtCall.add(item.getStatus()));
+            return responder.apply(request);
+        }).when(aiServiceGateway).generateResponse(any(), any(), any());
+    }
+
+    private BatchJob job(BatchJob.Status status, int totalItems) {
+        User owner = User.builder().id(OWNER_ID).role(User.Role.MEMBER).build();
+        BatchJob job = BatchJob.builder().id(JOB_ID).user(owner).status(status).totalItems(totalItems).build();
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private BatchJobItem item(BatchJob job, long id, BatchJobItem.Status status) {
+        BatchJobItem item = BatchJobItem.builder()
+            .id(id)
+            .job(job)
+            .itemIndex((int) id)
+            .question("질문" + id)
+            .status(status)
+            .build();
+        items.put(id, item);
+        return item;
+    }
+
+    private static AIServiceException providerError(int status) {
+        WebClientResponseException response = WebClientResponseException.create(
+            status, "status " + status, HttpHeaders.EMPTY, new byte[0], null);
+        return AIServiceException.of("AI 서비스 호출 중 오류가 발생했습니다: " + response.getMessage(), response);
+    }
+
+    private double itemCount(String status) {
+        return meterRegistry.get("chatbot.batch.items").tag("status", status).counter().count();
+    }
+
+    @Test
+    @DisplayName("재시작된 작업은 PENDING/RUNNING 항목만 이어서 처리하고 작업을 완료로 저장")
+    void runJob_ResumesUnfinishedItemsAndCompletes() {
+        // Given: 이전 실행에서 1번은 성공, 2번은 처리 도중 중단, 3번은 미처리
+        BatchJob job = job(BatchJob.Status.RUNNING, 3);
+        BatchJobItem done = item(job, 1L, BatchJobItem.Status.SUCCEEDED);
+        done.setAnswer("이전 답변");
+        item(job, 2L, BatchJobItem.Status.RUNNING);
+        item(job, 3L, BatchJobItem.Status.PENDING);
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BatchJob.Status.COMPLETED);
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(items.get(1L).getAnswer()).isEqualTo("이전 답변");
+        assertThat(items.get(2L).getStatus()).isEqualTo(BatchJobItem.Status.SUCCEEDED);
+        assertThat(items.get(3L).getAnswer()).isEqualTo("답변: 질문3");
+        assertThat(items.get(3L).getAttempts()).isEqualTo(1);
+        verify(aiServiceGateway, times(2)).generateResponse(any(), any(), any());
+        assertThat(statusesAtCall).containsOnly(BatchJobItem.Status.RUNNING);
+        assertThat(itemCount("succeeded")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("재시도 한도를 모두 쓰면 항목을 실패로 저장하고 작업은 완료")
+    void runJob_RetryExhausted_ItemFailed() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        respondWith(request -> Mono.error(new IllegalStateException("제공자 오류")));
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then: 최초 1회 + 재시도 2회
+        BatchJobItem failed = items.get(1L);
+        assertThat(failed.getStatus()).isEqualTo(BatchJobItem.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(failed.getErrorMessage()).isEqualTo("제공자 오류");
+        assertThat(job.getStatus()).isEqualTo(BatchJob.Status.COMPLETED);
+        assertThat(itemCount("failed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("제공자 요청 한도 초과는 Retry-After 만큼 기다리고 재시도 횟수에 포함하지 않음")
+    void runJob_RateLimited_WaitsWithoutSpendingRetries() {
+        // Given: 재시도 한도(2회)보다 많이 한도 초과
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        RateLimitExceededException limited = new RateLimitExceededException("한도 초과", Duration.ofMillis(10));
+        doThrow(limited).doThrow(limited).doThrow(limited).doThrow(limited).doNothing()
+            .when(chatRateLimiter).ensureProviderCapacity("openai");
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(items.get(1L).getStatus()).isEqualTo(BatchJobItem.Status.SUCCEEDED);
+        assertThat(items.get(1L).getAttempts()).isEqualTo(1);
+        verify(chatRateLimiter, times(5)).ensureProviderCapacity("openai");
+        verify(aiServiceGateway, times(1)).generateResponse(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("한도 확인 뒤 게이트웨이에서 제공자 한도로 거절되면 기다렸다가 다시 호출하고 시도로 세지 않음")
+    void runJob_RateLimitedAtGateway_WaitsWithoutCountingAttempt() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        AtomicInteger calls = new AtomicInteger();
+        respondWith(request -> calls.incrementAndGet() == 1
+            ? Mono.error(new RateLimitExceededException("한도 초과", Duration.ofMillis(10)))
+            : Mono.just(ChatResponse.builder().answer("답변").model("gpt-4o-mini").build()));
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(items.get(1L).getStatus()).isEqualTo(BatchJobItem.Status.SUCCEEDED);
+        assertThat(items.get(1L).getAttempts()).isEqualTo(1);
+        verify(chatRateLimiter, times(2)).ensureProviderCapacity("openai");
+        verify(aiServiceGateway, times(2)).generateResponse(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("제공자가 400 으로 거절하면 재시도하지 않고 바로 실패로 저장")
+    void runJob_ClientError_NotRetried() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        respondWith(request -> Mono.error(providerError(400)));
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(items.get(1L).getStatus()).isEqualTo(BatchJobItem.Status.FAILED);
+        assertThat(items.get(1L).getAttempts()).isEqualTo(1);
+        verify(aiServiceGateway, times(1)).generateResponse(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("제공자가 429 나 5xx 로 응답하면 백오프 후 재시도")
+    void runJob_TooManyRequestsOrServerError_Retried() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        AtomicInteger calls = new AtomicInteger();
+        respondWith(request -> switch (calls.incrementAndGet()) {
+            case 1 -> Mono.error(providerError(429));
+            case 2 -> Mono.error(providerError(503));
+            default -> Mono.just(ChatResponse.builder().answer("답변").model("gpt-4o-mini").build());
+        });
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(items.get(1L).getStatus()).isEqualTo(BatchJobItem.Status.SUCCEEDED);
+        assertThat(items.get(1L).getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("작업 소유자의 사용자 요청 한도를 항목마다 한 번씩 차감하고, 초과 시 기다렸다가 처리")
+    void runJob_ChargesUserLimitPerItem() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 3);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        item(job, 2L, BatchJobItem.Status.PENDING);
+        item(job, 3L, BatchJobItem.Status.PENDING);
+        RateLimitExceededException limited = new RateLimitExceededException("한도 초과", Duration.ofMillis(10));
+        doThrow(limited).doNothing().when(chatRateLimiter).checkUser(anyLong(), any());
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then: 항목 3개 + 한도 초과로 다시 확인한 1번
+        verify(chatRateLimiter, times(4)).checkUser(OWNER_ID, User.Role.MEMBER);
+        assertThat(items.values()).allMatch(item -> item.getStatus() == BatchJobItem.Status.SUCCEEDED
+            && item.getAttempts() == 1);
+    }
+
+    @Test
+    @DisplayName("작업 실행이 오류로 중단되면 INTERRUPTED 로 저장")
+    void runJob_Error_PersistsInterrupted() {
+        // Given
+        BatchJob job = job(BatchJob.Status.PENDING, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+        doThrow(new IllegalStateException("DB 연결 실패"))
+            .when(itemRepository).findIdsByJobIdAndStatusIn(anyLong(), any());
+
+        // When
+        StepVerifier.create(runner.runJob(JOB_ID)).verifyComplete();
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BatchJob.Status.INTERRUPTED);
+        assertThat(job.getCompletedAt()).isNull();
+        verifyNoInteractions(aiServiceGateway);
+    }
+
+    @Test
+    @DisplayName("시작 시 INTERRUPTED 작업도 다시 큐에 넣어 남은 항목을 처리")
+    void resumeUnfinishedJobs_ResubmitsInterruptedJob() {
+        // Given
+        BatchJob job = job(BatchJob.Status.INTERRUPTED, 1);
+        item(job, 1L, BatchJobItem.Status.PENDING);
+
+        // When
+        runner.resumeUnfinishedJobs();
+
+        // Then
+        verify(jobRepository, timeout(5_000).atLeastOnce())
+            .save(argThat(saved -> saved.getStatus() == BatchJob.Status.COMPLETED));
+        assertThat(items.get(1L).getStatus()).isEqualTo(BatchJobItem.Status.SUCCEEDED);
+    }
+
+    /**
+     * 트랜잭션 경계만 흉내 내는 관리자 (저장소는 메모리 Map)
+     */
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
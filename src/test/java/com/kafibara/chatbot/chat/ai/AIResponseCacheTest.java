@@ -0,0 +1,90 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AIResponseCache 테스트")
+class AIResponseCacheTest {
+
+    private AIResponseCache cache;
+    private AIService openai;
+    private AIService gemini;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AIResponseCache(new SimpleMeterRegistry(), true, 100, Duration.ofHours(1));
+        openai = service("openai", "gpt-4o-mini");
+        gemini = service("gemini", "gemini-2.5-pro");
+    }
+
+    private static AIService service(String name, String defaultModel) {
+        AIService service = mock(AIService.class);
+        when(service.getServiceName()).thenReturn(name);
+        when(service.getDefaultModel()).thenReturn(defaultModel);
+        return service;
+    }
+
+    private static ChatRequest request(String question) {
+        return ChatRequest.builder().question(question).build();
+    }
+
+    @Test
+    @DisplayName("공백/유니코드 정규화 후 같은 질문은 같은 키, 제공자/모델/히스토리가 다르면 다른 키")
+    void key_NormalizesQuestionAndSeparatesContext() {
+        // Given
+        String key = cache.key(openai, request("안녕  하세요"), List.of());
+
+        // When & Then
+        assertThat(cache.key(openai, request("  안녕 하세요\n"), List.of())).isEqualTo(key);
+        assertThat(cache.key(gemini, request("안녕 하세요"), List.of())).isNotEqualTo(key);
+        assertThat(cache.key(openai, ChatRequest.builder().question("안녕 하세요").model("gpt-4o").build(), List.of()))
+            .isNotEqualTo(key);
+        assertThat(cache.key(openai, request("안녕 하세요"), List.of(ChatMessage.user("이전 질문"))))
+            .isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("저장한 답변은 완료된 응답으로 조회")
+    void put_ThenGet_Hit() {
+        // Given
+        String key = cache.key(openai, request("질문"), List.of());
+
+        // When
+        cache.put(key, "답변", "gpt-4o-mini");
+
+        // Then
+        var cached = cache.get(key);
+        assertThat(cached).isNotNull();
+        assertThat(cached.toResponse().getAnswer()).isEqualTo("답변");
+        assertThat(cached.toResponse().getModel()).isEqualTo("gpt-4o-mini");
+        assertThat(cached.toResponse().isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("noCache 요청이나 비활성화 설정이면 조회하지 않고, 빈 답변은 저장하지 않음")
+    void isReadable_NoCacheOrDisabled() {
+        // Given
+        AIResponseCache disabled = new AIResponseCache(new SimpleMeterRegistry(), false, 100, Duration.ofHours(1));
+        ChatRequest fresh = ChatRequest.builder().question("질문").noCache(true).build();
+
+        // When
+        cache.put("empty", "", "gpt-4o-mini");
+        disabled.put("key", "답변", "gpt-4o-mini");
+
+        // Then
+        assertThat(cache.isReadable(request("질문"))).isTrue();
+        assertThat(cache.isReadable(fresh)).isFalse();
+        assertThat(disabled.isReadable(request("질문"))).isFalse();
+        assertThat(cache.get("empty")).isNull();
+        assertThat(disabled.get("key")).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package com.kafibara.chatbot.chat.ai;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AIServiceFactory 라우팅 테스트")
+class AIServiceFactoryTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProviderLatencyTracker latencyTracker;
+    private AIServiceGatewayTest.StubAIService openai;
+    private AIServiceGatewayTest.StubAIService gemini;
+    private AIServiceGatewayTest.StubAIService mock;
+    private AIServiceFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        // 반감기 0 이면 감쇠 없이 기록한 값 그대로 점수 계산
+        latencyTracker = new ProviderLatencyTracker(meterRegistry, 0.2, 5, 0.5, Duration.ZERO);
+        openai = new AIServiceGatewayTest.StubAIService("openai", "gpt-4o-mini");
+        gemini = new AIServiceGatewayTest.StubAIService("gemini", "gemini-2.5-pro");
+        mock = new AIServiceGatewayTest.StubAIService("mock", "mock-model");
+
+        Map<String, AIService> services = Map.of("openai", openai, "gemini", gemini, "mock", mock);
+        AIServiceResilience resilience = new AIServiceResilience(
+            services, circuitBreakerRegistry, BulkheadRegistry.ofDefaults(), meterRegistry);
+        factory = new AIServiceFactory(services, latencyTracker, resilience);
+        ReflectionTestUtils.setField(factory, "fallbackChain", List.of("openai", "gemini", "mock"));
+        ReflectionTestUtils.setField(factory, "routingMode", "latency");
+    }
+
+    private void recordLatency(AIService service, Duration latency, int samples) {
+        for (int i = 0; i < samples; i++) {
+            latencyTracker.recordSuccess(service.getServiceName(), service.getDefaultModel(), latency.toNanos());
+        }
+    }
+
+    private void recordFailures(AIService service, int failures) {
+        for (int i = 0; i < failures; i++) {
+            latencyTracker.recordFailure(service.getServiceName(), service.getDefaultModel());
+        }
+    }
+
+    @Test
+    @DisplayName("정상 제공자가 둘이면 항상 두 제공자를 비교해 점수가 낮은 쪽 선택 (mock 제외)")
+    void latency_PicksLowerScore() {
+        // Given
+        recordLatency(openai, Duration.ofMillis(800), 5);
+        recordLatency(gemini, Duration.ofMillis(200), 5);
+
+        // When & Then
+        for (int i = 0; i < 50; i++) {
+            assertThat(factory.getDefaultService()).isSameAs(gemini);
+        }
+    }
+
+    @Test
+    @DisplayName("오류율이 높아 비정상인 제공자는 지연이 낮아도 선택하지 않음")
+    void latency_SkipsUnhealthyProvider() {
+        // Given: openai 는 더 빠르지만 연속 실패로 오류율 0.59
+        recordLatency(openai, Duration.ofMillis(100), 5);
+        recordLatency(gemini, Duration.ofMillis(400), 5);
+        recordFailures(openai, 4);
+
+        // When & Then
+        assertThat(latencyTracker.isHealthy("openai", "gpt-4o-mini")).isFalse();
+        for (int i = 0; i < 50; i++) {
+            assertThat(factory.getDefaultService()).isSameAs(gemini);
+        }
+    }
+
+    @Test
+    @DisplayName("서킷이 열린 제공자는 후보에서 제외")
+    void latency_SkipsOpenCircuit() {
+        // Given
+        recordLatency(openai, Duration.ofMillis(100), 5);
+        recordLatency(gemini, Duration.ofMillis(400), 5);
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        // When & Then
+        for (int i = 0; i < 50; i++) {
+            assertThat(factory.getDefaultService()).isSameAs(gemini);
+        }
+    }
+
+    @Test
+    @DisplayName("정상 제공자가 없으면 fallback-chain 순서로 대체")
+    void latency_NoHealthyProvider_FallsBackToChain() {
+        // Given: gemini 는 비정상, openai 는 서킷이 열림
+        recordFailures(gemini, 4);
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        // When & Then: 체인에서 호출 가능한 첫 서비스는 mock
+        assertThat(factory.getDefaultService()).isSameAs(mock);
+    }
+
+    @Test
+    @DisplayName("priority 모드는 지연과 관계없이 fallback-chain 순서를 따름")
+    void priority_FollowsFallbackChain() {
+        // Given
+        ReflectionTestUtils.setField(factory, "routingMode", "priority");
+        recordLatency(openai, Duration.ofMillis(800), 5);
+        recordLatency(gemini, Duration.ofMillis(200), 5);
+
+        // When & Then
+        assertThat(factory.getDefaultService()).isSameAs(openai);
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+        assertThat(factory.getDefaultService()).isSameAs(gemini);
+    }
+
+    @Test
+    @DisplayName("헤지 대상은 원 제공자와 mock 을 제외한 정상 제공자 중 점수가 가장 낮은 서비스")
+    void alternate_LowestScoreExceptPrimary() {
+        // Given
+        recordLatency(openai, Duration.ofMillis(200), 5);
+        recordLatency(gemini, Duration.ofMillis(800), 5);
+
+        // When & Then
+        assertThat(factory.getAlternateService(openai)).isSameAs(gemini);
+        assertThat(factory.getAlternateService(gemini)).isSameAs(openai);
+        recordFailures(gemini, 4);
+        assertThat(factory.getAlternateService(openai)).isNull();
+    }
+}
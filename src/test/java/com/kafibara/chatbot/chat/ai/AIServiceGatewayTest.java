@@ -0,0 +1,309 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import com.kafibara.chatbot.chat.ratelimit.ChatRateLimiter;
+import com.kafibara.chatbot.config.exception.RateLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AIServiceGateway 테스트")
+class AIServiceGatewayTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AIResponseCache responseCache;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private ChatRateLimiter chatRateLimiter;
+    private StubAIService openai;
+    private StubAIService gemini;
+    private AIServiceGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new AIResponseCache(meterRegistry, true, 100, Duration.ofHours(1));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        // 제공자당 동시 호출 1개, 대기 없이 거부
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        openai = new StubAIService("openai", "gpt-4o-mini");
+        gemini = new StubAIService("gemini", "gemini-2.5-pro");
+
+        Map<String, AIService> services = Map.of("openai", openai, "gemini", gemini);
+        ProviderLatencyTracker latencyTracker = new ProviderLatencyTracker(meterRegistry, 0.2, 5, 0.5, Duration.ofSeconds(30));
+        AIServiceResilience resilience = new AIServiceResilience(
+            services, circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        AIServiceFactory factory = new AIServiceFactory(services, latencyTracker, resilience);
+        ReflectionTestUtils.setField(factory, "fallbackChain", List.of("openai", "gemini"));
+        ReflectionTestUtils.setField(factory, "routingMode", "priority");
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(latencyTracker, factory, meterRegistry,
+            false, 0.95, 20, Duration.ofMillis(10), Duration.ofMillis(50), false, 0.05, 10);
+
+        chatRateLimiter = mock(ChatRateLimiter.class);
+        gateway = new AIServiceGateway(responseCache, new InFlightRequestCoalescer(meterRegistry, true),
+            latencyTracker, hedgingPolicy, resilience, factory, chatRateLimiter);
+    }
+
+    private static ChatRequest request(String question) {
+        return ChatRequest.builder().question(question).build();
+    }
+
+    @Test
+    @DisplayName("같은 요청의 두 번째 호출은 제공자를 부르지 않고 캐시된 답변 반환")
+    void generateResponse_SecondCallHitsCache() {
+        // Given
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+
+        // When & Then
+        StepVerifier.create(gateway.generateResponse(openai, request("질문"), List.of()))
+            .assertNext(response -> assertThat(response.getAnswer()).isEqualTo("openai 답변 1"))
+            .verifyComplete();
+        assertThat(openai.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("제공자 요청 한도는 캐시 적중 시 차감하지 않고 제공자를 호출할 때만 차감")
+    void generateResponse_ChargesProviderLimitOnlyOnCacheMiss() {
+        // When
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+        gateway.generateStreamingResponse(openai, request("질문"), List.of()).blockLast();
+
+        // Then
+        verify(chatRateLimiter, times(1)).checkProvider("openai");
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 같은 요청은 합쳐진 제공자 호출 한 번만 한도를 차감")
+    void generateResponse_CoalescedRequestsChargeOnce() {
+        // Given
+        openai.delay = Duration.ofMillis(100);
+
+        // When
+        StepVerifier.create(Mono.zip(
+                gateway.generateResponse(openai, request("질문"), List.of()),
+                gateway.generateResponse(openai, request("질문"), List.of())))
+            .assertNext(both -> assertThat(both.getT1().getAnswer()).isEqualTo(both.getT2().getAnswer()))
+            .verifyComplete();
+
+        // Then
+        assertThat(openai.calls).hasValue(1);
+        verify(chatRateLimiter, times(1)).checkProvider("openai");
+    }
+
+    @Test
+    @DisplayName("제공자 요청 한도를 초과하면 제공자를 호출하지 않고 RateLimitExceededException")
+    void generateResponse_ProviderLimitExceeded() {
+        // Given
+        doThrow(new RateLimitExceededException("한도 초과", Duration.ofSeconds(1)))
+            .when(chatRateLimiter).checkProvider("openai");
+
+        // When & Then
+        StepVerifier.create(gateway.generateResponse(openai, request("질문"), List.of()))
+            .expectError(RateLimitExceededException.class)
+            .verify();
+        assertThat(openai.calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("noCache 요청은 캐시를 조회하지 않고 제공자를 호출")
+    void generateResponse_NoCacheBypassesCache() {
+        // Given
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+        ChatRequest fresh = ChatRequest.builder().question("질문").noCache(true).build();
+
+        // When & Then
+        StepVerifier.create(gateway.generateResponse(openai, fresh, List.of()))
+            .assertNext(response -> assertThat(response.getAnswer()).isEqualTo("openai 답변 2"))
+            .verifyComplete();
+        assertThat(openai.calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("제공자의 대체 문구(completed=false)는 캐시하지 않아 다음 요청이 다시 제공자를 호출")
+    void generateResponse_PlaceholderNotCached() {
+        // Given
+        openai.completed = false;
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+
+        // When
+        gateway.generateResponse(openai, request("질문"), List.of()).block();
+
+        // Then
+        assertThat(openai.calls).hasValue(2);
+        assertThat(responseCache.get(responseCache.key(openai, request("질문"), List.of()))).isNull();
+    }
+
+    @Test
+    @DisplayName("정상 완료된 스트림은 캐시되어 다음 요청에서 제공자 호출 없이 재생")
+    void generateStreamingResponse_CompletedStreamReplayed() {
+        // Given
+        StepVerifier.create(gateway.generateStreamingResponse(openai, request("질문"), List.of()))
+            .expectNext("openai ", "스트림")
+            .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(gateway.generateStreamingResponse(openai, request("질문"), List.of()).reduce(String::concat))
+            .expectNext("openai 스트림")
+            .verifyComplete();
+        assertThat(openai.streams).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("제공자가 미완료로 표시한 스트림(차단 안내 등)은 캐시하지 않음")
+    void generateStreamingResponse_IncompleteStreamNotCached() {
+        // Given
+        openai.completed = false;
+        gateway.generateStreamingResponse(openai, request("질문"), List.of()).blockLast();
+
+        // When
+        gateway.generateStreamingResponse(openai, request("질문"), List.of()).blockLast();
+
+        // Then
+        assertThat(openai.streams).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("서킷이 열린 제공자는 호출하지 않고 fallback-chain 의 다음 서비스가 응답")
+    void generateResponse_OpenCircuit_ServedByNextInChain() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        // When & Then
+        StepVerifier.create(gateway.generateResponse(openai, request("질문"), List.of()))
+            .assertNext(response -> {
+                assertThat(response.getAnswer()).isEqualTo("gemini 답변 1");
+                assertThat(response.getModel()).isEqualTo("gemini-2.5-pro");
+            })
+            .verifyComplete();
+        assertThat(openai.calls).hasValue(0);
+        assertThat(responseCache.get(responseCache.key(gemini, request("질문"), List.of()))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("격벽이 가득 찬 제공자는 기다리지 않고 fallback-chain 의 다음 서비스가 응답")
+    void generateResponse_BulkheadFull_ServedByNextInChain() {
+        // Given: openai 의 동시 호출 슬롯을 모두 점유
+        var bulkhead = bulkheadRegistry.bulkhead("openai");
+        assertThat(bulkhead.tryAcquirePermission()).isTrue();
+
+        try {
+            // When & Then
+            StepVerifier.create(gateway.generateResponse(openai, request("질문"), List.of()))
+                .assertNext(response -> assertThat(response.getAnswer()).isEqualTo("gemini 답변 1"))
+                .verifyComplete();
+            assertThat(openai.calls).hasValue(0);
+        } finally {
+            bulkhead.releasePermission();
+        }
+    }
+
+    @Test
+    @DisplayName("체인의 모든 서킷이 열려 있으면 제공자를 호출하지 않고 CallNotPermittedException")
+    void generateResponse_AllCircuitsOpen_Rejected() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+        circuitBreakerRegistry.circuitBreaker("gemini").transitionToOpenState();
+
+        // When & Then
+        StepVerifier.create(gateway.generateResponse(openai, request("질문"), List.of()))
+            .expectError(CallNotPermittedException.class)
+            .verify();
+        assertThat(openai.calls).hasValue(0);
+        assertThat(gemini.calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("서킷이 열려 대체 서비스가 응답하면 대체 서비스의 키로 캐시")
+    void generateStreamingResponse_FallbackAnswerCachedUnderAnsweringProvider() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        // When
+        StepVerifier.create(gateway.generateStreamingResponse(openai, request("질문"), List.of()))
+            .expectNext("gemini ", "스트림")
+            .verifyComplete();
+
+        // Then
+        assertThat(responseCache.get(responseCache.key(openai, request("질문"), List.of()))).isNull();
+        var cached = responseCache.get(responseCache.key(gemini, request("질문"), List.of()));
+        assertThat(cached).isNotNull();
+        assertThat(cached.model()).isEqualTo("gemini-2.5-pro");
+    }
+
+    /**
+     * 호출 횟수를 세는 제공자 스텁 (completed=false 면 대체 문구/차단 안내처럼 응답)
+     */
+    static class StubAIService implements AIService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger streams = new AtomicInteger();
+        volatile boolean completed = true;
+        volatile Duration delay = Duration.ZERO;
+
+        private final String name;
+        private final String defaultModel;
+
+        StubAIService(String name, String defaultModel) {
+            this.name = name;
+            this.defaultModel = defaultModel;
+        }
+
+        @Override
+        public Mono<ChatResponse> generateResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
+            return Mono.fromCallable(() -> ChatResponse.builder()
+                .answer(name + " 답변 " + calls.incrementAndGet())
+                .model(defaultModel)
+                .completed(completed)
+                .build())
+                .delayElement(delay);
+        }
+
+        @Override
+        public Flux<String> generateStreamingResponse(ChatRequest request, List<ChatMessage> conversationHistory) {
+            return Flux.deferContextual(context -> {
+                streams.incrementAndGet();
+                if (!completed) {
+                    StreamCompletion.markIncomplete(context, "SAFETY");
+                }
+                return Flux.just(name + " ", "스트림");
+            });
+        }
+
+        @Override
+        public List<String> getSupportedModels() {
+            return List.of(defaultModel);
+        }
+
+        @Override
+        public String getServiceName() {
+            return name;
+        }
+
+        @Override
+        public String getDefaultModel() {
+            return defaultModel;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kafibara.chatbot.chat.ai;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HedgingPolicy 테스트")
+class HedgingPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderLatencyTracker latencyTracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        latencyTracker = new ProviderLatencyTracker(meterRegistry, 0.2, 5, 0.5, Duration.ofSeconds(30));
+    }
+
+    private HedgingPolicy policy(double budgetRatio) {
+        AIServiceResilience resilience = new AIServiceResilience(
+            Map.of(), CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), meterRegistry);
+        AIServiceFactory factory = new AIServiceFactory(Map.of(), latencyTracker, resilience);
+        return new HedgingPolicy(latencyTracker, factory, meterRegistry,
+            true, 0.95, 20, Duration.ofMillis(10), Duration.ofMillis(50), false, budgetRatio, 10);
+    }
+
+    @Test
+    @DisplayName("첫 토큰이 임계값 안에 오지 않으면 보조 요청 결과를 사용하고 원 요청은 취소")
+    void hedge_SlowPrimary_SecondaryWins() {
+        // Given
+        HedgingPolicy hedgingPolicy = policy(1.0);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        Flux<String> primary = Flux.<String>never().doOnCancel(() -> primaryCancelled.set(true));
+
+        // When & Then
+        StepVerifier.create(hedgingPolicy.hedge("openai", "gpt-4o", true, primary, () -> Flux.just("빠른", " 응답")))
+            .expectNext("빠른", " 응답")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(primaryCancelled).isTrue();
+        assertThat(meterRegistry.get("chatbot.ai.hedge").tag("outcome", "fired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chatbot.ai.hedge").tag("outcome", "won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("원 요청이 임계값 안에 응답하면 보조 요청을 보내지 않음")
+    void hedge_FastPrimary_NoHedge() {
+        // Given
+        HedgingPolicy hedgingPolicy = policy(1.0);
+        AtomicBoolean secondaryCalled = new AtomicBoolean();
+
+        // When & Then
+        StepVerifier.create(hedgingPolicy.hedge("openai", "gpt-4o", true, Flux.just("응답"), () -> {
+                secondaryCalled.set(true);
+                return Flux.just("보조");
+            }))
+            .expectNext("응답")
+            .verifyComplete();
+
+        assertThat(secondaryCalled).isFalse();
+    }
+
+    @Test
+    @DisplayName("헤지 예산이 없으면 보조 요청 없이 원 요청을 기다림")
+    void hedge_BudgetExhausted_WaitsForPrimary() {
+        // Given
+        HedgingPolicy hedgingPolicy = policy(0.05);
+        Flux<String> slowPrimary = Flux.just("느린 응답").delayElements(Duration.ofMillis(200));
+
+        // When & Then
+        StepVerifier.create(hedgingPolicy.hedge("openai", "gpt-4o", true, slowPrimary, () -> Flux.just("보조")))
+            .expectNext("느린 응답")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("chatbot.ai.hedge").tag("outcome", "budget_exhausted").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chatbot.ai.hedge").tag("outcome", "fired").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+package com.kafibara.chatbot.chat.ai;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.dto.ChatResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InFlightRequestCoalescer 테스트")
+class InFlightRequestCoalescerTest {
+
+    private static final String KEY = "key";
+
+    private SimpleMeterRegistry meterRegistry;
+    private InFlightRequestCoalescer coalescer;
+    private Sinks.Many<String> provider;
+    private AtomicInteger subscriptions;
+    private AtomicBoolean cancelled;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new InFlightRequestCoalescer(meterRegistry, true);
+        provider = Sinks.many().unicast().onBackpressureBuffer();
+        subscriptions = new AtomicInteger();
+        cancelled = new AtomicBoolean();
+    }
+
+    private Flux<String> providerStream() {
+        return provider.asFlux()
+            .doOnSubscribe(s -> subscriptions.incrementAndGet())
+            .doOnCancel(() -> cancelled.set(true));
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("chatbot.ai.inflight.shared").gauge().value();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 요청 두 개는 제공자 호출 하나를 공유")
+    void coalesce_SharesUpstreamCall() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Mono<ChatResponse>> call = () -> Mono.fromCallable(() -> ChatResponse.builder()
+                .answer("답변 " + calls.incrementAndGet())
+                .build())
+            .delayElement(Duration.ofMillis(50));
+
+        // When & Then
+        StepVerifier.create(Mono.zip(coalescer.coalesce(KEY, call), coalescer.coalesce(KEY, call)))
+            .assertNext(both -> {
+                assertThat(both.getT1().getAnswer()).isEqualTo("답변 1");
+                assertThat(both.getT2()).isSameAs(both.getT1());
+            })
+            .verifyComplete();
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("chatbot.ai.coalesced").tag("type", "response").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("늦게 합류한 스트리밍 구독자는 이미 나온 토큰을 먼저 받고 이후 실시간 토큰을 받음")
+    void coalesceStream_LateSubscriberReplaysThenLive() {
+        // Given
+        List<String> first = new CopyOnWriteArrayList<>();
+        coalescer.coalesceStream(KEY, this::providerStream).subscribe(first::add);
+        provider.tryEmitNext("안녕");
+        provider.tryEmitNext("하세요");
+
+        // When & Then
+        StepVerifier.create(coalescer.coalesceStream(KEY, this::providerStream))
+            .expectNext("안녕", "하세요")
+            .then(() -> provider.tryEmitNext("!"))
+            .expectNext("!")
+            .then(provider::tryEmitComplete)
+            .verifyComplete();
+        assertThat(first).containsExactly("안녕", "하세요", "!");
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("한 구독자가 취소해도 다른 구독자와 제공자 호출은 유지되고, 마지막 취소 시 제공자 호출 취소")
+    void coalesceStream_CancelIsolation() {
+        // Given
+        Disposable first = coalescer.coalesceStream(KEY, this::providerStream).subscribe();
+
+        // When & Then
+        StepVerifier.create(coalescer.coalesceStream(KEY, this::providerStream))
+            .then(first::dispose)
+            .then(() -> provider.tryEmitNext("토큰"))
+            .expectNext("토큰")
+            .then(() -> assertThat(cancelled).isFalse())
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+        assertThat(cancelled).isTrue();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("완료/오류 후에는 맵에서 제거되어 다음 요청은 새 제공자 호출")
+    void coalesceStream_RemovedOnCompleteAndError() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Flux<String>> completing = () -> Flux.just("토큰").doOnSubscribe(s -> calls.incrementAndGet());
+        Supplier<Flux<String>> failing = () -> Flux.<String>error(new IllegalStateException("제공자 오류"))
+            .doOnSubscribe(s -> calls.incrementAndGet());
+
+        // When & Then
+        StepVerifier.create(coalescer.coalesceStream(KEY, completing)).expectNext("토큰").verifyComplete();
+        assertThat(inFlight()).isZero();
+
+        StepVerifier.create(coalescer.coalesceStream(KEY, failing)).expectError(IllegalStateException.class).verify();
+        assertThat(inFlight()).isZero();
+
+        StepVerifier.create(coalescer.coalesceStream(KEY, completing)).expectNext("토큰").verifyComplete();
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("noCache 요청이나 비활성화 설정이면 합치지 않음")
+    void isApplicable_NoCacheOrDisabled() {
+        // Given
+        ChatRequest normal = ChatRequest.builder().question("질문").build();
+        ChatRequest fresh = ChatRequest.builder().question("질문").noCache(true).build();
+        InFlightRequestCoalescer disabled = new InFlightRequestCoalescer(new SimpleMeterRegistry(), false);
+
+        // When & Then
+        assertThat(coalescer.isApplicable(normal)).isTrue();
+        assertThat(coalescer.isApplicable(fresh)).isFalse();
+        assertThat(disabled.isApplicable(normal)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.kafibara.chatbot.chat.ai.context;
+
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ContextWindowManager 테스트")
+class ContextWindowManagerTest {
+
+    private static final String QUESTION = "질문";
+    private static final int QUESTION_INPUT_TOKENS = 2 + TokenCounter.MESSAGE_OVERHEAD_TOKENS;
+
+    /**
+     * 문자 수를 토큰 수로 세는 결정적 카운터
+     */
+    private final TokenCounter tokenCounter = new TokenCounter() {
+        @Override
+        public int count(String model, String text) {
+            return text == null ? 0 : text.length();
+        }
+    };
+
+    private ContextWindowManager manager(int maxHistoryTokens, int trimStep) {
+        return new ContextWindowManager(tokenCounter, maxHistoryTokens, 50, 10, trimStep);
+    }
+
+    /**
+     * user/assistant 가 번갈아 나오는 히스토리 (메시지마다 16 토큰 + 오버헤드 4)
+     */
+    private static List<ChatMessage> history(int size) {
+        List<ChatMessage> history = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            history.add(i % 2 == 0 ? ChatMessage.user("m" + i, 16) : ChatMessage.assistant("m" + i, 16));
+        }
+        return history;
+    }
+
+    @Test
+    @DisplayName("잘라낼 시작 위치를 trimStep 배수로 올려 다음 턴에도 같은 접두사를 유지")
+    void fit_RoundsTrimToStep() {
+        // Given: 예산 100 토큰이면 최근 5개(20 x 5)까지 들어감
+        ContextWindowManager manager = manager(100, 4);
+
+        // When
+        ContextWindow first = manager.fit("gpt-4o", QUESTION, history(10));
+        ContextWindow next = manager.fit("gpt-4o", QUESTION, history(12));
+
+        // Then: 5 -> 8, 7 -> 8 로 올림
+        assertThat(first.droppedMessages()).isEqualTo(8);
+        assertThat(first.history()).extracting(ChatMessage::content).containsExactly("m8", "m9");
+        assertThat(first.inputTokens()).isEqualTo(QUESTION_INPUT_TOKENS + 40);
+        assertThat(next.droppedMessages()).isEqualTo(8);
+        assertThat(next.history().get(0).content()).isEqualTo("m8");
+    }
+
+    @Test
+    @DisplayName("잘린 히스토리는 user 메시지로 시작")
+    void fit_StartsOnUserMessage() {
+        // Given: 예산 60 토큰이면 최근 3개가 들어가 assistant(m3) 부터 시작하게 됨
+        ContextWindowManager manager = manager(60, 1);
+
+        // When
+        ContextWindow window = manager.fit("gpt-4o", QUESTION, history(6));
+
+        // Then
+        assertThat(window.history()).extracting(ChatMessage::content).containsExactly("m4", "m5");
+        assertThat(window.history().get(0).role()).isEqualTo("user");
+        assertThat(window.droppedMessages()).isEqualTo(4);
+        assertThat(window.inputTokens()).isEqualTo(QUESTION_INPUT_TOKENS + 40);
+    }
+
+    @Test
+    @DisplayName("질문이 남은 윈도우보다 크면 히스토리를 모두 제외하고 최소 출력 한도를 사용")
+    void fit_QuestionLargerThanWindow() {
+        // Given: gpt-4 윈도우 8,192 토큰
+        ContextWindowManager manager = manager(8000, 1);
+        String question = "가".repeat(9_000);
+
+        // When
+        ContextWindow window = manager.fit("gpt-4", question, history(2));
+
+        // Then
+        assertThat(window.history()).isEmpty();
+        assertThat(window.droppedMessages()).isEqualTo(2);
+        assertThat(window.inputTokens()).isEqualTo(9_000 + TokenCounter.MESSAGE_OVERHEAD_TOKENS);
+        assertThat(window.maxOutputTokens()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("출력 한도는 모델 최대 출력과 남은 윈도우 중 작은 값")
+    void fit_SizesMaxOutputTokens() {
+        // Given
+        ContextWindowManager manager = manager(10_000, 1);
+        String longQuestion = "가".repeat(7_000);
+        List<ChatMessage> history = List.of(ChatMessage.user("q", 500), ChatMessage.assistant("a", 500));
+
+        // When
+        ContextWindow small = manager.fit("gpt-4", QUESTION, List.of());
+        ContextWindow nearlyFull = manager.fit("gpt-4", longQuestion, history);
+
+        // Then: 8,192 - (7,004 + 1,008) - 여유분 10 = 170
+        assertThat(small.maxOutputTokens()).isEqualTo(1_000);
+        assertThat(nearlyFull.history()).hasSize(2);
+        assertThat(nearlyFull.inputTokens()).isEqualTo(8_012);
+        assertThat(nearlyFull.maxOutputTokens()).isEqualTo(170);
+    }
+
+    @Test
+    @DisplayName("다른 계열 모델 기준으로 저장된 토큰 수는 보정 계수로 환산하거나 다시 계산")
+    void fit_ConvertsStoredTokensAcrossModelFamilies() {
+        // Given
+        ContextWindowManager manager = manager(8000, 1);
+        List<ChatMessage> fromClaude = List.of(
+            ChatMessage.user("가나다", 120, "claude-3-5-sonnet"),
+            ChatMessage.assistant("라마바", 100, "gemini-2.5-pro"));
+        List<ChatMessage> fromGpt4 = List.of(
+            ChatMessage.user("가나다", 1_000, "gpt-4"),
+            ChatMessage.assistant("라마바", 50, "gpt-4o-mini"));
+
+        // When
+        ContextWindow gemini = manager.fit("gemini-2.5-pro", QUESTION, fromClaude);
+        ContextWindow gpt4o = manager.fit("gpt-4o", QUESTION, fromGpt4);
+
+        // Then: 같은 토크나이저면 120 x 1.1 / 1.2 = 110, 다른 토크나이저(cl100k -> o200k)면 다시 세어 3
+        assertThat(gemini.inputTokens()).isEqualTo(QUESTION_INPUT_TOKENS + (110 + 4) + (100 + 4));
+        assertThat(gpt4o.inputTokens()).isEqualTo(QUESTION_INPUT_TOKENS + (3 + 4) + (50 + 4));
+    }
+}
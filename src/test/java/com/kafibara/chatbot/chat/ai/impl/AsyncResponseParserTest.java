@@ -0,0 +1,236 @@
+package com.kafibara.chatbot.ai.impl;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AsyncResponseParser 테스트")
+class AsyncResponseParserTest {
+
+    private final NettyDataBufferFactory bufferFactory =
+        new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+
+    private static final String OPENAI_BODY = """
+        {"id":"chatcmpl-1","object":"chat.completion","model":"gpt-4o-mini",
+         "choices":[{"index":0,"message":{"role":"assistant","content":"안녕\\n\\"하세요\\" \\u00e9"},"finish_reason":"stop"}],
+         "usage":{"prompt_tokens":1234,"completion_tokens":56,"prompt_tokens_details":{"cached_tokens":1024}}}
+        """;
+
+    /**
+     * UTF-8 바이트를 주어진 위치에서 잘라 DataBuffer 여러 개로 만듦
+     */
+    private List<DataBuffer> split(String json, int... offsets) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        int start = 0;
+        for (int offset : offsets) {
+            buffers.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, start, offset)));
+            start = offset;
+        }
+        buffers.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, start, bytes.length)));
+        return buffers;
+    }
+
+    private static int byteOffsetOf(String json, String marker, int shift) {
+        int index = json.indexOf(marker);
+        assertThat(index).as("marker %s", marker).isNotNegative();
+        return json.substring(0, index).getBytes(StandardCharsets.UTF_8).length + shift;
+    }
+
+    private static void assertOpenAIResult(AsyncResponseParser.Result result) {
+        assertThat(result.text()).isEqualTo("안녕\n\"하세요\" é");
+        assertThat(result.model()).isEqualTo("gpt-4o-mini");
+        assertThat(result.finishReason()).isEqualTo("stop");
+        assertThat(result.inputTokens()).isEqualTo(1234);
+        assertThat(result.outputTokens()).isEqualTo(56);
+        assertThat(result.cacheReadTokens()).isEqualTo(1024);
+        assertThat(result.cacheWriteTokens()).isNull();
+    }
+
+    private static boolean released(DataBuffer buffer) {
+        return ((NettyDataBuffer) buffer).getNativeBuffer().refCnt() == 0;
+    }
+
+    @Test
+    @DisplayName("문자열 중간(멀티바이트 문자 내부 포함)에서 나뉜 버퍼를 이어서 파싱")
+    void parse_SplitMidString() {
+        // Given: '녕' 의 UTF-8 바이트 한가운데와 모델 이름 중간에서 자름
+        List<DataBuffer> buffers = split(OPENAI_BODY,
+            byteOffsetOf(OPENAI_BODY, "gpt-4o", 3),
+            byteOffsetOf(OPENAI_BODY, "녕", 1));
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .assertNext(AsyncResponseParserTest::assertOpenAIResult)
+            .verifyComplete();
+        assertThat(buffers).allMatch(AsyncResponseParserTest::released);
+    }
+
+    @Test
+    @DisplayName("이스케이프 시퀀스 중간에서 나뉜 버퍼를 이어서 파싱")
+    void parse_SplitMidEscape() {
+        // Given: "\n" 의 역슬래시 뒤, "é" 의 u 뒤에서 자름
+        List<DataBuffer> buffers = split(OPENAI_BODY,
+            byteOffsetOf(OPENAI_BODY, "\\n", 1),
+            byteOffsetOf(OPENAI_BODY, "\\u00e9", 2));
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .assertNext(AsyncResponseParserTest::assertOpenAIResult)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("숫자 중간에서 나뉜 버퍼를 이어서 파싱")
+    void parse_SplitMidNumber() {
+        // Given: 1234 를 12 / 34 로 자름
+        List<DataBuffer> buffers = split(OPENAI_BODY, byteOffsetOf(OPENAI_BODY, "1234", 2));
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .assertNext(AsyncResponseParserTest::assertOpenAIResult)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("1바이트씩 도착해도 결과가 같음")
+    void parse_OneBytePerBuffer() {
+        // Given
+        int length = OPENAI_BODY.getBytes(StandardCharsets.UTF_8).length;
+        int[] offsets = new int[length - 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i + 1;
+        }
+        List<DataBuffer> buffers = split(OPENAI_BODY, offsets);
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .assertNext(AsyncResponseParserTest::assertOpenAIResult)
+            .verifyComplete();
+        assertThat(buffers).allMatch(AsyncResponseParserTest::released);
+    }
+
+    @Test
+    @DisplayName("Claude 응답의 text 블록은 순서대로 이어 붙이고 다른 블록의 text 필드는 무시")
+    void parse_ClaudeMultipleContentBlocks() {
+        // Given
+        String body = """
+            {"id":"msg_1","type":"message","role":"assistant","model":"claude-sonnet-4-5",
+             "content":[
+               {"type":"thinking","thinking":"생각 중","signature":"sig"},
+               {"type":"text","text":"첫 블록. "},
+               {"type":"tool_use","id":"toolu_1","name":"search","input":{"text":"도구 입력"}},
+               {"type":"text","text":"둘째 블록."}],
+             "stop_reason":"end_turn",
+             "usage":{"input_tokens":2048,"output_tokens":12,
+                      "cache_read_input_tokens":1800,"cache_creation_input_tokens":200}}
+            """;
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(split(body, byteOffsetOf(body, "블록.", 2))),
+                ClaudeService.RESPONSE_FIELDS))
+            .assertNext(result -> {
+                assertThat(result.text()).isEqualTo("첫 블록. 둘째 블록.");
+                assertThat(result.model()).isEqualTo("claude-sonnet-4-5");
+                assertThat(result.finishReason()).isEqualTo("end_turn");
+                assertThat(result.inputTokens()).isEqualTo(2048);
+                assertThat(result.outputTokens()).isEqualTo(12);
+                assertThat(result.cacheReadTokens()).isEqualTo(1800);
+                assertThat(result.cacheWriteTokens()).isEqualTo(200);
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Gemini 프롬프트 차단 응답은 본문 없이 promptFeedback.blockReason 을 반환")
+    void parse_GeminiPromptFeedback() {
+        // Given
+        String body = """
+            {"promptFeedback":{"blockReason":"SAFETY",
+               "safetyRatings":[{"category":"HARM_CATEGORY_HARASSMENT","probability":"HIGH"}]},
+             "usageMetadata":{"promptTokenCount":9,"totalTokenCount":9},
+             "modelVersion":"gemini-2.5-pro"}
+            """;
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(split(body)), GeminiService.RESPONSE_FIELDS))
+            .assertNext(result -> {
+                assertThat(result.text()).isNull();
+                assertThat(result.blockReason()).isEqualTo("SAFETY");
+                assertThat(result.inputTokens()).isEqualTo(9);
+                assertThat(result.outputTokens()).isNull();
+                assertThat(result.model()).isEqualTo("gemini-2.5-pro");
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Gemini usageMetadata 가 null 이거나 없으면 사용량은 null")
+    void parse_GeminiNullOrMissingUsage() {
+        // Given
+        String nullUsage = """
+            {"candidates":[{"content":{"parts":[{"text":"안녕"},{"text":"하세요"}],"role":"model"},"finishReason":"STOP"}],
+             "usageMetadata":{"promptTokenCount":null,"candidatesTokenCount":null}}
+            """;
+        String missingUsage = """
+            {"candidates":[{"content":{"parts":[{"text":"안녕하세요"}],"role":"model"},"finishReason":"STOP"}]}
+            """;
+
+        // When & Then
+        for (String body : List.of(nullUsage, missingUsage)) {
+            StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(split(body)), GeminiService.RESPONSE_FIELDS))
+                .assertNext(result -> {
+                    assertThat(result.text()).isEqualTo("안녕하세요");
+                    assertThat(result.finishReason()).isEqualTo("STOP");
+                    assertThat(result.inputTokens()).isNull();
+                    assertThat(result.outputTokens()).isNull();
+                    assertThat(result.cacheReadTokens()).isNull();
+                    assertThat(result.blockReason()).isNull();
+                })
+                .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("중간 버퍼에서 파싱이 실패해도 이미 받은 버퍼는 모두 해제하고 오류로 종료")
+    void parse_MalformedMidway_ReleasesBuffers() {
+        // Given: 두 번째 버퍼가 잘못된 JSON
+        List<DataBuffer> buffers = List.of(
+            bufferFactory.wrap("{\"model\":\"gpt-4o\",".getBytes(StandardCharsets.UTF_8)),
+            bufferFactory.wrap("\"choices\":[}".getBytes(StandardCharsets.UTF_8)),
+            bufferFactory.wrap("]}".getBytes(StandardCharsets.UTF_8)));
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .expectErrorSatisfies(error -> assertThat(error)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("AI 응답 JSON 파싱 실패"))
+            .verify();
+        assertThat(buffers.subList(0, 2)).allMatch(AsyncResponseParserTest::released);
+    }
+
+    @Test
+    @DisplayName("본문이 JSON 중간에서 끝나면 오류로 종료")
+    void parse_TruncatedBody() {
+        // Given
+        List<DataBuffer> buffers = split(OPENAI_BODY.substring(0, OPENAI_BODY.indexOf("\"usage\"")));
+
+        // When & Then
+        StepVerifier.create(AsyncResponseParser.parse(Flux.fromIterable(buffers), OpenAIService.RESPONSE_FIELDS))
+            .expectError()
+            .verify();
+        assertThat(buffers).allMatch(AsyncResponseParserTest::released);
+    }
+}
@@ -0,0 +1,119 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.support.SseStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClaudeService 프롬프트 캐시 테스트")
+class ClaudeServicePromptCacheTest {
+
+    private static final String RESPONSE = """
+        {"id":"msg_1","type":"message","role":"assistant","model":"claude-3-haiku-20240307",
+         "content":[{"type":"text","text":"캐시된 "},{"type":"text","text":"응답"}],
+         "stop_reason":"end_turn",
+         "usage":{"input_tokens":20,"cache_read_input_tokens":1800,"cache_creation_input_tokens":0,"output_tokens":5}}
+        """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SseStubServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+    private ClaudeService claudeService;
+    private ChatRequest request;
+
+    @BeforeEach
+    void setUp() {
+        stubServer = SseStubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        claudeService = new ClaudeService(WebClient.create(), new AIUsageMetrics(meterRegistry));
+        ReflectionTestUtils.setField(claudeService, "apiKey", "test-claude-key");
+        ReflectionTestUtils.setField(claudeService, "baseUrl", stubServer.baseUrl());
+        ReflectionTestUtils.setField(claudeService, "promptCacheEnabled", true);
+
+        request = ChatRequest.builder()
+            .question("세 번째 질문")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    @DisplayName("마지막 히스토리 메시지에만 ephemeral 캐시 브레이크포인트를 지정")
+    void request_MarksLastHistoryMessage() throws Exception {
+        // Given
+        stubServer.respondJson("/v1/messages", RESPONSE);
+        List<ChatMessage> history = List.of(
+            ChatMessage.user("첫 질문"), ChatMessage.assistant("첫 답변"),
+            ChatMessage.user("두 번째 질문"), ChatMessage.assistant("두 번째 답변"));
+
+        // When
+        StepVerifier.create(claudeService.generateResponse(request, history))
+            .assertNext(response -> assertThat(response.getAnswer()).isEqualTo("캐시된 응답"))
+            .verifyComplete();
+
+        // Then
+        JsonNode messages = objectMapper.readTree(stubServer.requestBodies().get(0)).get("messages");
+        assertThat(messages).hasSize(5);
+        assertThat(messages.get(0).get("content").isTextual()).isTrue();
+        assertThat(messages.get(2).get("content").isTextual()).isTrue();
+
+        JsonNode cached = messages.get(3).get("content").get(0);
+        assertThat(cached.get("text").asText()).isEqualTo("두 번째 답변");
+        assertThat(cached.get("cache_control").get("type").asText()).isEqualTo("ephemeral");
+
+        assertThat(messages.get(4).get("content").asText()).isEqualTo("세 번째 질문");
+    }
+
+    @Test
+    @DisplayName("히스토리가 없으면 브레이크포인트 없이 전송")
+    void request_NoHistory() throws Exception {
+        // Given
+        stubServer.respondJson("/v1/messages", RESPONSE);
+
+        // When
+        StepVerifier.create(claudeService.generateResponse(request, List.of()))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        // Then
+        assertThat(stubServer.requestBodies().get(0)).doesNotContain("cache_control");
+    }
+
+    @Test
+    @DisplayName("캐시 읽기 토큰을 전체 프롬프트 토큰과 함께 기록")
+    void response_RecordsCacheUsage() {
+        // Given
+        stubServer.respondJson("/v1/messages", RESPONSE);
+
+        // When
+        StepVerifier.create(claudeService.generateResponse(request, List.of(ChatMessage.user("이전 질문"))))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.tokens").tag("type", "prompt").counter().count())
+            .isEqualTo(1820);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.tokens").tag("type", "read").counter().count())
+            .isEqualTo(1800);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.requests").tag("result", "hit").counter().count())
+            .isEqualTo(1);
+    }
+}
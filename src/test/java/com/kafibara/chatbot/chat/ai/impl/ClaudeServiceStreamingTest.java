@@ -0,0 +1,109 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.support.SseStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClaudeService 스트리밍 테스트")
+class ClaudeServiceStreamingTest {
+
+    private SseStubServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+    private ClaudeService claudeService;
+    private ChatRequest request;
+
+    @BeforeEach
+    void setUp() {
+        stubServer = SseStubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        claudeService = new ClaudeService(WebClient.create(), new AIUsageMetrics(meterRegistry));
+        ReflectionTestUtils.setField(claudeService, "apiKey", "test-claude-key");
+        ReflectionTestUtils.setField(claudeService, "baseUrl", stubServer.baseUrl());
+
+        request = ChatRequest.builder()
+            .question("안녕")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    @DisplayName("content_block_delta 텍스트를 도착 순서대로 전달")
+    void streaming_EmitsTextDeltas() {
+        // Given
+        stubServer.replay("/v1/messages", "sse/claude-text.txt");
+
+        // When & Then
+        StepVerifier.create(claudeService.generateStreamingResponse(request, List.of(ChatMessage.user("이전 질문"))))
+            .expectNext("안녕하세요", ", 무엇을", " 도와드릴까요?")
+            .verifyComplete();
+
+        assertThat(stubServer.requestBodies()).hasSize(1);
+        assertThat(stubServer.requestBodies().get(0)).contains("\"stream\":true");
+    }
+
+    @Test
+    @DisplayName("API 키는 Bearer 토큰이 아닌 x-api-key 헤더로 전송")
+    void streaming_SendsApiKeyHeader() {
+        // Given
+        stubServer.replay("/v1/messages", "sse/claude-text.txt");
+
+        // When
+        StepVerifier.create(claudeService.generateStreamingResponse(request, List.of()))
+            .expectNextCount(3)
+            .verifyComplete();
+
+        // Then
+        assertThat(stubServer.requestHeaders()).hasSize(1);
+        var headers = stubServer.requestHeaders().get(0);
+        assertThat(headers.getFirst("x-api-key")).isEqualTo("test-claude-key");
+        assertThat(headers.getFirst("anthropic-version")).isEqualTo("2023-06-01");
+        assertThat(headers.containsKey("Authorization")).isFalse();
+    }
+
+    @Test
+    @DisplayName("스트림 종료 시 사용량과 종료 사유 기록")
+    void streaming_RecordsUsageAndStopReason() {
+        // Given
+        stubServer.replay("/v1/messages", "sse/claude-text.txt");
+
+        // When
+        StepVerifier.create(claudeService.generateStreamingResponse(request, List.of()))
+            .expectNextCount(3)
+            .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("type", "input").counter().count()).isEqualTo(25);
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("type", "output").counter().count()).isEqualTo(12);
+        assertThat(meterRegistry.get("chatbot.ai.stop.reason").tag("reason", "end_turn").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("error 이벤트는 오류 신호로 전달")
+    void streaming_ErrorEvent() {
+        // Given
+        stubServer.replay("/v1/messages", "sse/claude-overloaded.txt");
+
+        // When & Then
+        StepVerifier.create(claudeService.generateStreamingResponse(request, List.of()))
+            .expectNext("부분")
+            .expectErrorSatisfies(error -> assertThat(error).hasMessageContaining("Overloaded"))
+            .verify();
+    }
+}
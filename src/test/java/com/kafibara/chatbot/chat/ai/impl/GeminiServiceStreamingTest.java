@@ -0,0 +1,137 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.support.SseStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GeminiService 스트리밍 테스트")
+class GeminiServiceStreamingTest {
+
+    private static final String STREAM_PATH = "/v1beta/models/gemini-2.5-pro:streamGenerateContent";
+
+    private SseStubServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiService geminiService;
+    private ChatRequest request;
+
+    @BeforeEach
+    void setUp() {
+        stubServer = SseStubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        geminiService = new GeminiService(WebClient.create(stubServer.baseUrl()),
+            new AIUsageMetrics(meterRegistry));
+        ReflectionTestUtils.setField(geminiService, "apiKey", "test-gemini-key");
+
+        request = ChatRequest.builder()
+            .question("안녕")
+            .model("gemini-2.5-pro")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    @DisplayName("후보의 text part 를 청크마다 이어 붙여 전달하고 text 가 아닌 part 는 무시")
+    void streaming_ConcatenatesTextParts() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-multipart.txt");
+
+        // When & Then
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .expectNext("안녕하세요", ", 무엇을 도와드릴까요?")
+            .verifyComplete();
+
+        assertThat(stubServer.requestBodies()).hasSize(1);
+        assertThat(stubServer.requestBodies().get(0)).contains("\"safetySettings\"");
+    }
+
+    @Test
+    @DisplayName("promptFeedback.blockReason 으로 프롬프트가 차단되면 안내 문구 하나로 종료")
+    void streaming_PromptBlocked() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-prompt-blocked.txt");
+
+        // When & Then
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .assertNext(text -> assertThat(text).contains("안전 정책"))
+            .verifyComplete();
+
+        assertThat(meterRegistry.get("chatbot.ai.stop.reason").tag("reason", "SAFETY").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("finishReason=SAFETY 로 후보가 차단되면 안내 문구 뒤 이후 청크를 읽지 않고 종료")
+    void streaming_CandidateBlockedBySafety() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-safety-blocked.txt");
+
+        // When & Then
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .expectNext("부분 응답")
+            .assertNext(text -> assertThat(text).contains("안전 정책"))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("candidates 가 없는 청크는 텍스트 없이 건너뜀")
+    void streaming_SkipsChunkWithoutCandidates() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-no-candidates.txt");
+
+        // When & Then
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .expectNext("안녕하세요", "!")
+            .verifyComplete();
+
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("type", "output").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("파싱할 수 없는 청크를 받으면 답변 일부를 빠뜨리지 않고 스트림을 오류로 종료")
+    void streaming_FailsOnMalformedChunk() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-malformed.txt");
+
+        // When & Then
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .expectNext("안녕")
+            .expectErrorSatisfies(error -> assertThat(error).hasMessageContaining("Gemini 스트리밍 청크 파싱 실패"))
+            .verify();
+    }
+
+    @Test
+    @DisplayName("스트림 종료 시 마지막 청크의 usageMetadata 로 사용량과 프롬프트 캐시 적중 기록")
+    void streaming_RecordsUsageAndPromptCache() {
+        // Given
+        stubServer.replay(STREAM_PATH, "sse/gemini-usage.txt");
+
+        // When
+        StepVerifier.create(geminiService.generateStreamingResponse(request, List.of()))
+            .expectNext("안녕하세요", ", 무엇을 도와드릴까요?")
+            .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("type", "input").counter().count()).isEqualTo(1500);
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("type", "output").counter().count()).isEqualTo(8);
+        assertThat(meterRegistry.get("chatbot.ai.stop.reason").tag("reason", "STOP").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.tokens").tag("type", "read").counter().count())
+            .isEqualTo(1024);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.requests").tag("result", "hit").counter().count())
+            .isEqualTo(1);
+    }
+}
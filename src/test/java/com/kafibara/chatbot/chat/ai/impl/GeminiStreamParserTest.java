@@ -0,0 +1,90 @@
+package com.kafibara.chatbot.ai.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GeminiStreamParser 테스트")
+class GeminiStreamParserTest {
+
+    private final GeminiStreamParser parser = new GeminiStreamParser();
+
+    @Test
+    @DisplayName("첫 후보의 text part 를 모두 이어 붙이고 다른 후보는 무시")
+    void parse_ConcatenatesFirstCandidateParts() {
+        // Given
+        String data = """
+            {"candidates":[
+               {"content":{"parts":[{"text":"안녕\\n"},{"text":"하세요"}],"role":"model"},"finishReason":"STOP","index":0},
+               {"content":{"parts":[{"text":"다른 후보"}],"role":"model"},"index":1}],
+             "modelVersion":"gemini-2.5-pro"}
+            """;
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.text()).isEqualTo("안녕\n하세요");
+        assertThat(chunk.finishReason()).isEqualTo("STOP");
+        assertThat(chunk.model()).isEqualTo("gemini-2.5-pro");
+        assertThat(chunk.isBlocked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("promptFeedback.blockReason 은 후보 없이도 차단으로 처리")
+    void parse_PromptBlocked() {
+        // Given
+        String data = "{\"promptFeedback\":{\"blockReason\":\"SAFETY\"},\"usageMetadata\":{\"promptTokenCount\":7}}";
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.isBlocked()).isTrue();
+        assertThat(chunk.blockReason()).isEqualTo("SAFETY");
+        assertThat(chunk.hasText()).isFalse();
+        assertThat(chunk.promptTokens()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("텍스트 없이 안전 정책 사유로 끝난 후보는 차단으로 처리")
+    void parse_CandidateBlockedBySafety() {
+        // Given
+        String data = "{\"candidates\":[{\"finishReason\":\"SAFETY\",\"index\":0}]}";
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.blockReason()).isEqualTo("SAFETY");
+    }
+
+    @Test
+    @DisplayName("최상위 usageMetadata 의 토큰 수만 추출")
+    void parse_UsageMetadata() {
+        // Given
+        String data = """
+            {"candidates":[{"content":{"parts":[{"text":"끝"}]},"finishReason":"STOP","index":0,
+               "citationMetadata":{"promptTokenCount":999}}],
+             "usageMetadata":{"promptTokenCount":1500,"candidatesTokenCount":8,"cachedContentTokenCount":1024,
+               "promptTokensDetails":[{"modality":"TEXT","tokenCount":1500}]}}
+            """;
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.promptTokens()).isEqualTo(1500);
+        assertThat(chunk.outputTokens()).isEqualTo(8);
+        assertThat(chunk.cachedTokens()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("잘린 JSON 은 IllegalArgumentException")
+    void parse_Malformed() {
+        assertThatThrownBy(() -> parser.parse("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"잘린"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Gemini 스트리밍 청크 파싱 실패");
+    }
+}
@@ -0,0 +1,105 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MockAIService 시뮬레이션 테스트")
+class MockAIServiceSimulationTest {
+
+    private final ChatRequest request = ChatRequest.builder()
+        .question("질문")
+        .build();
+
+    private MockEnvironment fastEnvironment() {
+        return new MockEnvironment()
+            .withProperty("ai.mock.simulation.ttft.type", "fixed")
+            .withProperty("ai.mock.simulation.ttft.value", "1")
+            .withProperty("ai.mock.simulation.inter-token.type", "fixed")
+            .withProperty("ai.mock.simulation.inter-token.value", "1");
+    }
+
+    @Test
+    @DisplayName("같은 seed 면 요청 순번별로 같은 응답을 재현")
+    void seed_Reproducible() {
+        // Given
+        MockEnvironment environment = fastEnvironment()
+            .withProperty("ai.mock.simulation.seed", "42")
+            .withProperty("ai.mock.simulation.output-tokens.type", "uniform")
+            .withProperty("ai.mock.simulation.output-tokens.min", "5")
+            .withProperty("ai.mock.simulation.output-tokens.max", "50");
+        MockAIService first = new MockAIService(environment);
+        MockAIService second = new MockAIService(environment);
+
+        // When
+        List<String> firstRun = first.generateStreamingResponse(request, List.of()).collectList().block();
+        List<String> secondRun = second.generateStreamingResponse(request, List.of()).collectList().block();
+
+        // Then
+        assertThat(firstRun).hasSizeBetween(5, 50);
+        assertThat(secondRun).isEqualTo(firstRun);
+    }
+
+    @Test
+    @DisplayName("출력 토큰 분포만큼 토큰을 스트리밍")
+    void outputTokens_Fixed() {
+        // Given
+        MockAIService mockAIService = new MockAIService(fastEnvironment()
+            .withProperty("ai.mock.simulation.output-tokens.type", "fixed")
+            .withProperty("ai.mock.simulation.output-tokens.value", "12"));
+
+        // When & Then
+        StepVerifier.create(mockAIService.generateStreamingResponse(request, List.of()))
+            .expectNextCount(12)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("오류율 1이면 첫 토큰 시점에 오류, 타임아웃율 1이면 설정된 시간 뒤 타임아웃")
+    void injectedFailures() {
+        // Given
+        MockAIService failing = new MockAIService(fastEnvironment()
+            .withProperty("ai.mock.simulation.error-rate", "1.0"));
+        MockAIService hanging = new MockAIService(fastEnvironment()
+            .withProperty("ai.mock.simulation.timeout-rate", "1.0")
+            .withProperty("ai.mock.simulation.timeout", "50ms"));
+
+        // When & Then
+        StepVerifier.create(failing.generateResponse(request, List.of()))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+        StepVerifier.create(hanging.generateStreamingResponse(request, List.of()))
+            .expectError(TimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("히스토그램 분포는 설정한 상한 안에서 가중치대로 샘플링")
+    void histogram_SamplesWithinBounds() {
+        // Given
+        SimulatedDistribution distribution = SimulatedDistribution.histogram("100:0.9, 1000:0.1");
+        SplittableRandom random = new SplittableRandom(7);
+
+        // When
+        int below = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long value = distribution.sample(random);
+            assertThat(value).isBetween(0L, 1000L);
+            if (value <= 100) {
+                below++;
+            }
+        }
+
+        // Then
+        assertThat(below).isBetween(8_700, 9_300);
+    }
+}
@@ -0,0 +1,87 @@
+package com.kafibara.chatbot.ai.impl;
+
+import com.kafibara.chatbot.chat.ai.AIUsageMetrics;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.support.SseStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OpenAIService 스트리밍 테스트")
+class OpenAIServiceStreamingTest {
+
+    private static final String MODEL = "gpt-4o-mini-2024-07-18";
+
+    private SseStubServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+    private OpenAIService openAIService;
+    private ChatRequest request;
+
+    @BeforeEach
+    void setUp() {
+        stubServer = SseStubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        openAIService = new OpenAIService(WebClient.create(), new AIUsageMetrics(meterRegistry));
+        ReflectionTestUtils.setField(openAIService, "apiKey", "test-openai-key");
+        ReflectionTestUtils.setField(openAIService, "baseUrl", stubServer.baseUrl());
+
+        request = ChatRequest.builder()
+            .question("안녕")
+            .model("gpt-4o-mini")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    @DisplayName("include_usage 를 요청하고, finish_reason 이후 사용량 청크까지 읽은 뒤 완료")
+    void streaming_RequestsUsageAndEmitsContent() {
+        // Given
+        stubServer.replay("/chat/completions", "sse/openai-usage.txt");
+
+        // When & Then
+        StepVerifier.create(openAIService.generateStreamingResponse(request, List.of()))
+            .expectNext("안녕하세요", ", 무엇을 도와드릴까요?")
+            .verifyComplete();
+
+        assertThat(stubServer.requestBodies()).hasSize(1);
+        assertThat(stubServer.requestBodies().get(0))
+            .contains("\"stream\":true")
+            .contains("\"stream_options\":{\"include_usage\":true}");
+    }
+
+    @Test
+    @DisplayName("스트림 종료 시 사용량, 종료 사유, 프롬프트 캐시 적중 기록")
+    void streaming_RecordsUsageAndPromptCache() {
+        // Given
+        stubServer.replay("/chat/completions", "sse/openai-usage.txt");
+
+        // When
+        StepVerifier.create(openAIService.generateStreamingResponse(request, List.of()))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("model", MODEL).tag("type", "input").counter().count())
+            .isEqualTo(1200);
+        assertThat(meterRegistry.get("chatbot.ai.tokens").tag("model", MODEL).tag("type", "output").counter().count())
+            .isEqualTo(9);
+        assertThat(meterRegistry.get("chatbot.ai.stop.reason").tag("reason", "stop").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.tokens").tag("type", "read").counter().count())
+            .isEqualTo(1024);
+        assertThat(meterRegistry.get("chatbot.ai.prompt.cache.requests").tag("result", "hit").counter().count())
+            .isEqualTo(1);
+    }
+}
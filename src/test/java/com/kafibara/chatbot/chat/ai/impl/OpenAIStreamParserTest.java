@@ -0,0 +1,108 @@
+package com.kafibara.chatbot.ai.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OpenAIStreamParser 테스트")
+class OpenAIStreamParserTest {
+
+    private final OpenAIStreamParser parser = new OpenAIStreamParser();
+
+    @Test
+    @DisplayName("delta.content 추출")
+    void parse_DeltaContent() {
+        // Given
+        String data = """
+            {"id":"chatcmpl-1","object":"chat.completion.chunk","model":"gpt-4o-mini",
+             "choices":[{"index":0,"delta":{"content":"안녕\\n하세요"},"logprobs":null,"finish_reason":null}]}
+            """;
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.content()).isEqualTo("안녕\n하세요");
+        assertThat(chunk.hasContent()).isTrue();
+        assertThat(chunk.isFinished()).isFalse();
+    }
+
+    @Test
+    @DisplayName("role만 있는 첫 청크는 content 없음")
+    void parse_RoleOnlyChunk() {
+        // Given
+        String data = "{\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"\"},\"finish_reason\":null}]}";
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.hasContent()).isFalse();
+        assertThat(chunk.isFinished()).isFalse();
+    }
+
+    @Test
+    @DisplayName("finish_reason 추출")
+    void parse_FinishReason() {
+        // Given
+        String data = "{\"choices\":[{\"index\":0,\"delta\":{},\"finish_reason\":\"stop\"}]}";
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.hasContent()).isFalse();
+        assertThat(chunk.finishReason()).isEqualTo("stop");
+        assertThat(chunk.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("두 번째 choice와 중첩 필드의 content는 무시")
+    void parse_IgnoresOtherChoicesAndNestedFields() {
+        // Given
+        String data = """
+            {"choices":[
+               {"index":0,"delta":{"tool_calls":[{"function":{"content":"x"}}],"content":"A"}},
+               {"index":1,"delta":{"content":"B"},"finish_reason":"length"}
+             ],
+             "content":"root"}
+            """;
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.content()).isEqualTo("A");
+        assertThat(chunk.isFinished()).isFalse();
+    }
+
+    @Test
+    @DisplayName("include_usage 마지막 청크의 usage 와 캐시 적중 토큰 추출")
+    void parse_UsageChunk() {
+        // Given
+        String data = """
+            {"id":"chatcmpl-1","object":"chat.completion.chunk","model":"gpt-4o-mini-2024-07-18","choices":[],
+             "usage":{"prompt_tokens":1200,"completion_tokens":35,"total_tokens":1235,
+                      "prompt_tokens_details":{"cached_tokens":1024},"completion_tokens_details":{"reasoning_tokens":0}}}
+            """;
+
+        // When
+        var chunk = parser.parse(data);
+
+        // Then
+        assertThat(chunk.hasContent()).isFalse();
+        assertThat(chunk.hasUsage()).isTrue();
+        assertThat(chunk.model()).isEqualTo("gpt-4o-mini-2024-07-18");
+        assertThat(chunk.promptTokens()).isEqualTo(1200);
+        assertThat(chunk.completionTokens()).isEqualTo(35);
+        assertThat(chunk.cachedTokens()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("잘못된 JSON은 예외 발생")
+    void parse_InvalidJson() {
+        assertThatThrownBy(() -> parser.parse("{\"choices\":["))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
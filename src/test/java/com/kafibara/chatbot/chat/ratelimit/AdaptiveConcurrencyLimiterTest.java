@@ -0,0 +1,111 @@
+package com.kafibara.chatbot.chat.ratelimit;
+
+import com.kafibara.chatbot.config.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter 테스트")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration LOW_LATENCY = Duration.ofMillis(200);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true, 20, 5, 200, 1.5, 0.2);
+        ReflectionTestUtils.setField(limiter, "nanoClock", (LongSupplier) now::get);
+    }
+
+    /**
+     * 한도만큼 요청을 채운 뒤 latency 만큼 시간을 보내고, 첫 응답을 받거나(firstResponse) 받지 못한 채 모두 종료
+     */
+    private void fullRound(Duration latency, boolean firstResponse) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        int limit = limiter.getLimit();
+        for (int i = 0; i < limit; i++) {
+            permits.add(limiter.acquire());
+        }
+        now.addAndGet(latency.toNanos());
+        if (firstResponse) {
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::onFirstResponse);
+        }
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+    }
+
+    @Test
+    @DisplayName("지연이 낮게 유지되면 한도를 늘림")
+    void limit_GrowsUnderLowLatency() {
+        // When
+        for (int round = 0; round < 5; round++) {
+            fullRound(LOW_LATENCY, true);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("첫 응답 없이 타임아웃으로 끝나는 요청이 이어지면 한도를 줄임")
+    void limit_ShrinksUnderTimeouts() {
+        // Given: 낮은 지연으로 기준 지연을 잡음
+        for (int round = 0; round < 3; round++) {
+            fullRound(LOW_LATENCY, true);
+        }
+        int before = limiter.getLimit();
+
+        // When
+        fullRound(TIMEOUT, false);
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("첫 응답 지연이 급증하면 한도를 줄임")
+    void limit_ShrinksUnderLatencySpike() {
+        // Given
+        for (int round = 0; round < 3; round++) {
+            fullRound(LOW_LATENCY, true);
+        }
+        int before = limiter.getLimit();
+
+        // When
+        fullRound(LOW_LATENCY.multipliedBy(20), true);
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("한도만큼 처리 중이면 추가 요청을 즉시 거절하고, 반환 후 다시 허용")
+    void acquire_RejectsOverLimit() {
+        // Given
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limiter.acquire());
+        }
+
+        // When & Then
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ServiceOverloadedException.class);
+        now.addAndGet(LOW_LATENCY.toNanos());
+        permits.get(0).release();
+        permits.get(0).release();
+        assertThatCode(limiter::acquire).doesNotThrowAnyException();
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ServiceOverloadedException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.kafibara.chatbot.chat.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucket 테스트")
+class TokenBucketTest {
+
+    private static final long NOW = Duration.ofHours(1).toNanos();
+
+    @Test
+    @DisplayName("용량만큼 연속 허용 후 다음 토큰까지 대기 시간 반환")
+    void tryAcquire_BurstThenReject() {
+        // Given: 분당 20개(3초마다 1개), 용량 5
+        TokenBucket bucket = new TokenBucket(20, 5);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(NOW)).isZero();
+        }
+        assertThat(bucket.tryAcquire(NOW)).isEqualTo(Duration.ofSeconds(3).toNanos());
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 보충된 만큼 다시 허용")
+    void tryAcquire_RefillsOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(20, 1);
+        assertThat(bucket.tryAcquire(NOW)).isZero();
+        assertThat(bucket.tryAcquire(NOW)).isPositive();
+
+        // When & Then
+        assertThat(bucket.tryAcquire(NOW + Duration.ofSeconds(3).toNanos())).isZero();
+    }
+
+    @Test
+    @DisplayName("남은 토큰 확인은 토큰을 소비하지 않음")
+    void availableIn_DoesNotConsume() {
+        // Given
+        TokenBucket bucket = new TokenBucket(20, 1);
+
+        // When & Then
+        assertThat(bucket.availableIn(NOW)).isZero();
+        assertThat(bucket.availableIn(NOW)).isZero();
+        assertThat(bucket.tryAcquire(NOW)).isZero();
+        assertThat(bucket.availableIn(NOW)).isEqualTo(Duration.ofSeconds(3).toNanos());
+        assertThat(bucket.availableIn(NOW + Duration.ofSeconds(3).toNanos())).isZero();
+    }
+
+    @Test
+    @DisplayName("한도 미설정 버킷은 항상 허용")
+    void unlimited_AlwaysAllows() {
+        TokenBucket bucket = TokenBucket.unlimited();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bucket.tryAcquire(NOW)).isZero();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.kafibara.chatbot.chat.service;
+
+import com.kafibara.chatbot.chat.ai.AIService;
+import com.kafibara.chatbot.chat.ai.AIServiceFactory;
+import com.kafibara.chatbot.chat.ai.AIServiceGateway;
+import com.kafibara.chatbot.chat.ai.context.ContextWindowManager;
+import com.kafibara.chatbot.chat.ai.context.TokenCounter;
+import com.kafibara.chatbot.chat.dto.ChatRequest;
+import com.kafibara.chatbot.chat.entity.Chat;
+import com.kafibara.chatbot.chat.entity.Thread;
+import com.kafibara.chatbot.chat.repository.ChatRepository;
+import com.kafibara.chatbot.chat.repository.ThreadRepository;
+import com.kafibara.chatbot.config.MetricsConfig;
+import com.kafibara.chatbot.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ChatService 테스트")
+class ChatServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Sinks.Many<String> tokens = Sinks.many().unicast().onBackpressureBuffer();
+
+    private ChatRepository chatRepository;
+    private ChatService chatService;
+    private User user;
+    private ChatRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@example.com").role(User.Role.MEMBER).build();
+        Thread thread = Thread.builder().id(10L).user(user).updatedAt(LocalDateTime.now()).build();
+
+        ThreadRepository threadRepository = mock(ThreadRepository.class);
+        when(threadRepository.findTopByUserIdOrderByUpdatedAtDesc(anyLong())).thenReturn(Optional.of(thread));
+        when(threadRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        AtomicLong chatIds = new AtomicLong();
+        chatRepository = mock(ChatRepository.class);
+        when(chatRepository.findByThreadOrderByCreatedAtAsc(any())).thenReturn(List.of());
+        when(chatRepository.save(any())).thenAnswer(inv -> {
+            Chat chat = inv.getArgument(0);
+            chat.setId(chatIds.incrementAndGet());
+            return chat;
+        });
+
+        AIService aiService = mock(AIService.class);
+        when(aiService.getServiceName()).thenReturn("openai");
+        when(aiService.getDefaultModel()).thenReturn("gpt-4o");
+        AIServiceFactory aiServiceFactory = mock(AIServiceFactory.class);
+        when(aiServiceFactory.getService(any())).thenReturn(aiService);
+
+        AIServiceGateway aiServiceGateway = mock(AIServiceGateway.class);
+        when(aiServiceGateway.generateStreamingResponse(any(), any(), any())).thenReturn(tokens.asFlux());
+
+        // 문자 수를 토큰 수로 세는 결정적 카운터
+        TokenCounter tokenCounter = new TokenCounter() {
+            @Override
+            public int count(String model, String text) {
+                return text == null ? 0 : text.length();
+            }
+        };
+
+        MetricsConfig metrics = new MetricsConfig();
+        chatService = new ChatService(
+            chatRepository,
+            threadRepository,
+            aiServiceFactory,
+            aiServiceGateway,
+            metrics.chatRequestCounter(meterRegistry),
+            metrics.cancelledStreamCounter(meterRegistry),
+            metrics.savedOutputTokensCounter(meterRegistry),
+            metrics.aiResponseTimer(meterRegistry),
+            Schedulers.boundedElastic(),
+            new TransactionTemplate(new NoOpTransactionManager()),
+            new ConversationHistoryCache(meterRegistry, 1_000_000L, 100_000, Duration.ofMinutes(30)),
+            new ContextWindowManager(tokenCounter, 8000, 256, 256, 1),
+            tokenCounter);
+
+        request = ChatRequest.builder()
+            .question("인사해 주세요")
+            .maxTokens(100)
+            .build();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("스트림이 중간에 취소되면 부분 답변을 truncated 로 저장하고 취소/절약 토큰 지표를 기록")
+    void streaming_Cancelled_SavesTruncatedAnswer() {
+        // When: 토큰 두 개를 받은 뒤 클라이언트가 연결을 끊음
+        StepVerifier.create(chatService.createStreamingChat(request, user))
+            .then(() -> tokens.tryEmitNext("안녕"))
+            .expectNext("안녕")
+            .then(() -> tokens.tryEmitNext("하세요"))
+            .expectNext("하세요")
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        // Then
+        verify(chatRepository, timeout(5_000)).save(argThat(chat ->
+            Boolean.TRUE.equals(chat.getTruncated()) && "안녕하세요".equals(chat.getAnswer())));
+        verify(chatRepository, after(200).times(1)).save(any());
+        assertThat(counter("chatbot.chat.stream.cancelled")).isEqualTo(1);
+        // 출력 한도 100 - 생성된 5 토큰
+        assertThat(counter("chatbot.chat.stream.saved.tokens")).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("스트림이 정상 완료되면 전체 답변을 한 번만 저장하고 취소 지표는 기록하지 않음")
+    void streaming_Completed_SavesOnce() {
+        // When
+        StepVerifier.create(chatService.createStreamingChat(request, user))
+            .then(() -> tokens.tryEmitNext("안녕"))
+            .expectNext("안녕")
+            .then(() -> {
+                tokens.tryEmitNext("하세요");
+                tokens.tryEmitComplete();
+            })
+            .expectNext("하세요")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        // Then: 완료 후 저장까지 마친 뒤에 스트림이 끝남
+        verify(chatRepository, times(1)).save(argThat(chat ->
+            !Boolean.TRUE.equals(chat.getTruncated()) && "안녕하세요".equals(chat.getAnswer())));
+        verify(chatRepository, after(200).times(1)).save(any());
+        assertThat(counter("chatbot.chat.stream.cancelled")).isZero();
+        assertThat(counter("chatbot.chat.stream.saved.tokens")).isZero();
+    }
+
+    /**
+     * 트랜잭션 경계만 흉내 내는 관리자 (저장소는 Mock)
+     */
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
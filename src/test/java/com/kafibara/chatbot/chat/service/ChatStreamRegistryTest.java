@@ -0,0 +1,136 @@
+package com.kafibara.chatbot.chat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChatStreamRegistry 테스트")
+class ChatStreamRegistryTest {
+
+    private ChatStreamRegistry registry;
+    private Sinks.Many<String> provider;
+    private AtomicInteger subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ChatStreamRegistry(new SimpleMeterRegistry(), 3,
+            Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(100));
+        provider = Sinks.many().unicast().onBackpressureBuffer();
+        subscriptions = new AtomicInteger();
+    }
+
+    private Flux<String> source() {
+        return provider.asFlux().doOnSubscribe(s -> subscriptions.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("토큰마다 streamId-순번 형식의 증가하는 이벤트 ID 부여")
+    void start_AssignsSequentialIds() {
+        // Given
+        Flux<ServerSentEvent<String>> events = registry.start(1L, source());
+
+        // When
+        provider.tryEmitNext("안녕");
+        provider.tryEmitNext("하세요");
+        provider.tryEmitComplete();
+
+        // Then
+        List<ServerSentEvent<String>> received = events.collectList().block(Duration.ofSeconds(5));
+        assertThat(received).extracting(ServerSentEvent::data).containsExactly("안녕", "하세요");
+        assertThat(received.get(0).id()).endsWith("-1");
+        assertThat(received.get(1).id()).endsWith("-2");
+        assertThat(received.get(0).id()).startsWith(received.get(1).id().substring(0, received.get(1).id().lastIndexOf('-')));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 이후 이벤트만 다시 전달하고 제공자는 다시 구독하지 않음")
+    void resume_ContinuesWithoutResubscribing() {
+        // Given
+        Flux<ServerSentEvent<String>> events = registry.start(1L, source());
+        provider.tryEmitNext("a");
+        provider.tryEmitNext("b");
+        String firstId = events.blockFirst(Duration.ofSeconds(5)).id();
+
+        // When
+        provider.tryEmitNext("c");
+        provider.tryEmitComplete();
+
+        // Then
+        StepVerifier.create(registry.resume(1L, firstId).map(ServerSentEvent::data))
+            .expectNext("b", "c")
+            .verifyComplete();
+        assertThat(subscriptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 사용자, 알 수 없는 스트림, 버퍼에서 밀려난 위치는 재개 거절")
+    void resume_Rejected() {
+        // Given
+        Flux<ServerSentEvent<String>> events = registry.start(1L, source());
+        for (String token : List.of("a", "b", "c", "d", "e")) {
+            provider.tryEmitNext(token);
+        }
+        provider.tryEmitComplete();
+        String lastId = events.take(3).blockLast(Duration.ofSeconds(5)).id();
+        String streamId = lastId.substring(0, lastId.lastIndexOf('-'));
+
+        // When & Then
+        assertThatThrownBy(() -> registry.resume(2L, lastId))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.resume(1L, "unknown-1"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.resume(1L, streamId + "-0"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("범위");
+    }
+
+    @Test
+    @DisplayName("모든 클라이언트가 끊긴 채 grace 가 지나면 제공자 스트림 취소")
+    void disconnect_CancelsProviderAfterGrace() throws InterruptedException {
+        // Given
+        Flux<ServerSentEvent<String>> events = registry.start(1L, source());
+        provider.tryEmitNext("a");
+        String firstId = events.blockFirst(Duration.ofSeconds(5)).id();
+
+        // When
+        Thread.sleep(500);
+
+        // Then
+        assertThat(provider.currentSubscriberCount()).isZero();
+        assertThatThrownBy(() -> registry.resume(1L, firstId))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("grace 안에 재연결하면 제공자 스트림 유지")
+    void reconnectWithinGrace_KeepsProvider() throws InterruptedException {
+        // Given
+        Flux<ServerSentEvent<String>> events = registry.start(1L, source());
+        provider.tryEmitNext("a");
+        String firstId = events.blockFirst(Duration.ofSeconds(5)).id();
+
+        // When
+        Flux<String> resumed = registry.resume(1L, firstId).map(ServerSentEvent::data);
+        StepVerifier.create(resumed)
+            .then(() -> {
+                provider.tryEmitNext("b");
+                provider.tryEmitComplete();
+            })
+            .expectNext("b")
+            .verifyComplete();
+
+        // Then
+        assertThat(subscriptions.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,170 @@
+package com.kafibara.chatbot.chat.service;
+
+import com.kafibara.chatbot.chat.ai.ChatMessage;
+import com.kafibara.chatbot.chat.entity.Chat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConversationHistoryCache 테스트")
+class ConversationHistoryCacheTest {
+
+    private static final long THREAD_ID = 1L;
+
+    private ConversationHistoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConversationHistoryCache(new SimpleMeterRegistry(), 1_000_000L, 1_000, Duration.ofMinutes(30));
+    }
+
+    private static Chat chat(long id, String question, String answer) {
+        return Chat.builder()
+            .id(id)
+            .question(question)
+            .answer(answer)
+            .questionTokens(3)
+            .answerTokens(3)
+            .build();
+    }
+
+    private static List<Chat> firstTurn() {
+        return List.of(chat(1L, "질문1", "답변1"));
+    }
+
+    @Test
+    @DisplayName("캐시 적중 시 loader 를 다시 호출하지 않고, append 한 턴을 이어서 반환")
+    void get_HitAndAppend() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(THREAD_ID, () -> {
+            loads.incrementAndGet();
+            return firstTurn();
+        });
+
+        // When
+        cache.append(THREAD_ID, 2L, "gpt-4o", "질문2", 3, "답변2", 3);
+        List<ChatMessage> history = cache.get(THREAD_ID, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(history).extracting(ChatMessage::content).containsExactly("질문1", "답변1", "질문2", "답변2");
+    }
+
+    @Test
+    @DisplayName("로드 중에 다른 요청이 같은 키를 append 해도 로드 완료를 기다리지 않음")
+    void append_DuringLoad_NotBlocked() throws Exception {
+        // Given: 로드가 loader 안에서 멈춰 있음
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<ChatMessage>> load = CompletableFuture.supplyAsync(() -> cache.get(THREAD_ID, () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return firstTurn();
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When & Then: append 는 맵 잠금을 기다리지 않고 바로 끝남
+            CompletableFuture.runAsync(() -> cache.append(THREAD_ID, 2L, "gpt-4o", "질문2", 3, "답변2", 3))
+                .get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        assertThat(load.get(5, TimeUnit.SECONDS)).extracting(ChatMessage::content).containsExactly("질문1", "답변1");
+    }
+
+    @Test
+    @DisplayName("로드 중에 커밋된 턴이 있으면 오래된 로드 결과를 캐시하지 않아 다음 조회에서 다시 읽음")
+    void append_DuringLoad_NotLost() throws Exception {
+        // Given: 로드가 새 턴 커밋 이전 상태를 읽고 멈춰 있음
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<ChatMessage>> load = CompletableFuture.supplyAsync(() -> cache.get(THREAD_ID, () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return firstTurn();
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: 다른 요청이 새 턴을 커밋하고 append
+        cache.append(THREAD_ID, 2L, "gpt-4o", "질문2", 3, "답변2", 3);
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        // Then
+        List<ChatMessage> history = cache.get(THREAD_ID,
+            () -> List.of(chat(1L, "질문1", "답변1"), chat(2L, "질문2", "답변2")));
+        assertThat(history).extracting(ChatMessage::content).containsExactly("질문1", "답변1", "질문2", "답변2");
+    }
+
+    @Test
+    @DisplayName("로드가 이미 읽은 Chat 은 append 로 중복 추가하지 않음")
+    void append_AlreadyLoaded_NotDuplicated() {
+        // Given
+        cache.get(THREAD_ID, ConversationHistoryCacheTest::firstTurn);
+
+        // When
+        cache.append(THREAD_ID, 1L, "gpt-4o", "질문1", 3, "답변1", 3);
+
+        // Then
+        assertThat(cache.get(THREAD_ID, List::of)).extracting(ChatMessage::content).containsExactly("질문1", "답변1");
+    }
+
+    @Test
+    @DisplayName("같은 질문과 답변이 연속으로 저장되어도 Chat ID 가 다르면 둘 다 추가")
+    void append_SameTextDifferentChat_Appended() {
+        // Given
+        cache.get(THREAD_ID, ConversationHistoryCacheTest::firstTurn);
+
+        // When
+        cache.append(THREAD_ID, 2L, "gpt-4o", "질문1", 3, "답변1", 3);
+
+        // Then
+        assertThat(cache.get(THREAD_ID, List::of)).extracting(ChatMessage::content)
+            .containsExactly("질문1", "답변1", "질문1", "답변1");
+    }
+
+    @Test
+    @DisplayName("항목 크기 한도를 넘는 히스토리는 반환하지만 캐시하지 않음")
+    void get_OversizedEntry_NotCached() {
+        // Given
+        List<Chat> large = List.of(chat(1L, "가".repeat(2_000), "답변"));
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        List<ChatMessage> first = cache.get(THREAD_ID, () -> {
+            loads.incrementAndGet();
+            return large;
+        });
+        cache.get(THREAD_ID, () -> {
+            loads.incrementAndGet();
+            return large;
+        });
+
+        // Then
+        assertThat(first).extracting(ChatMessage::content).containsExactly("가".repeat(2_000), "답변");
+        assertThat(loads).hasValue(2);
+    }
+}
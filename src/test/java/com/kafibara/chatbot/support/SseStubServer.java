@@ -0,0 +1,119 @@
+package com.kafibara.chatbot.support;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 녹화된 SSE 이벤트 시퀀스를 재생하는 로컬 스텁 서버 (테스트용)
+ * 이벤트는 빈 줄 단위로 나누어 한 개씩 flush 하므로 실제 스트리밍과 같은 프레이밍을 재현
+ */
+public class SseStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private final List<Headers> requestHeaders = new CopyOnWriteArrayList<>();
+
+    private SseStubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static SseStubServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.start();
+            return new SseStubServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 지정한 경로로 들어온 요청에 classpath 리소스의 SSE 이벤트를 재생
+     */
+    public SseStubServer replay(String path, String resource) {
+        String recorded = readResource(resource);
+        server.createContext(path, exchange -> {
+            record(exchange);
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String event : recorded.split("\n\n")) {
+                    if (event.isBlank()) {
+                        continue;
+                    }
+                    out.write((event.strip() + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 지정한 경로로 들어온 요청에 JSON 본문을 응답
+     */
+    public SseStubServer respondJson(String path, String json) {
+        server.createContext(path, exchange -> {
+            record(exchange);
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<String> requestBodies() {
+        return requestBodies;
+    }
+
+    /**
+     * 받은 요청의 헤더 (이름은 대소문자 구분 없이 조회)
+     */
+    public List<Headers> requestHeaders() {
+        return requestHeaders;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void record(HttpExchange exchange) throws IOException {
+        requestHeaders.add(exchange.getRequestHeaders());
+        requestBodies.add(readBody(exchange));
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String readResource(String resource) {
+        try (InputStream in = SseStubServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("리소스를 찾을 수 없습니다: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}